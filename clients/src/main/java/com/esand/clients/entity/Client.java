@@ -9,8 +9,14 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.io.Serializable;
+import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Getter
 @Setter
@@ -18,7 +24,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(name = "client", indexes = @Index(name = "idx_client_create_date", columnList = "create_date, id"))
 public class Client implements Serializable {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TERM_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -49,6 +60,48 @@ public class Client implements Serializable {
     @Column(name = "create_date")
     private LocalDateTime createDate;
 
+    /**
+     * The name from each of its words to the end, accent-folded and lowercased, so a name search is an indexed
+     * prefix lookup: "João da Silva" is found by "joao", "Jo", "da silva" or "SILV".
+     */
+    @ElementCollection
+    @CollectionTable(name = "client_name_search", joinColumns = @JoinColumn(name = "client_id"),
+            indexes = @Index(name = "idx_client_name_search", columnList = "term, client_id"))
+    private Set<ClientNameTerm> nameSearch = new HashSet<>();
+
+    public void setName(String name) {
+        this.name = name;
+        nameSearch.clear();
+        searchTerms(name).forEach(term -> nameSearch.add(new ClientNameTerm(term)));
+    }
+
+    @PrePersist
+    private void indexName() {
+        setName(name);
+    }
+
+    /**
+     * Folds a name or a search for one to lowercase words without accents, separated by single spaces.
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static Set<String> searchTerms(String name) {
+        Set<String> terms = new LinkedHashSet<>();
+        String term = normalizeName(name);
+        while (!term.isEmpty()) {
+            terms.add(term.length() > TERM_LENGTH ? term.substring(0, TERM_LENGTH) : term);
+            int space = term.indexOf(' ');
+            term = space < 0 ? "" : term.substring(space + 1);
+        }
+        return terms;
+    }
+
     public enum Gender {
         M, F
     }
@@ -3,29 +3,47 @@ package com.esand.clients.repository;
 import com.esand.clients.entity.Client;
 import com.esand.clients.repository.pagination.ClientDtoPagination;
 import com.esand.clients.web.dto.PageableDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
-    Page<ClientDtoPagination> findByNameIgnoreCaseContaining(String name, Pageable pageable);
+    Page<ClientDtoPagination> findDistinctByNameSearchTermStartingWith(String name, Pageable pageable);
+
+    Window<ClientDtoPagination> findDistinctByNameSearchTermStartingWith(String name, ScrollPosition position, Limit limit, Sort sort);
 
     Optional<Client> findByCpf(String cpf);
 
+    List<Client> findByCpfIn(Collection<String> cpfs);
+
     @Query("SELECT c FROM Client c")
     Page<ClientDtoPagination> findAllPageable(Pageable pageable);
 
+    Window<ClientDtoPagination> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     Page<ClientDtoPagination> findByCreateDateAfter(LocalDateTime date, Pageable pageable);
 
+    Window<ClientDtoPagination> findByCreateDateAfter(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ClientDtoPagination> findByCreateDateBefore(LocalDateTime date, Pageable pageable);
 
+    Window<ClientDtoPagination> findByCreateDateBefore(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ClientDtoPagination> findByCreateDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, Pageable pageable);
 
+    Window<ClientDtoPagination> findByCreateDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, ScrollPosition position, Limit limit, Sort sort);
+
     void deleteByCpf(String cpf);
 
     boolean existsByCpf(String cpf);
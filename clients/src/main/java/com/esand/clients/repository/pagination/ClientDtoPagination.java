@@ -1,10 +1,13 @@
 package com.esand.clients.repository.pagination;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDate;
 
 public interface ClientDtoPagination {
+    @JsonIgnore
+    Long getId();
     String getName();
     String getCpf();
     String getPhone();
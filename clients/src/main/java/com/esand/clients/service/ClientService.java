@@ -4,6 +4,9 @@ import com.esand.clients.entity.Client;
 import com.esand.clients.exception.CpfUniqueViolationException;
 import com.esand.clients.exception.EntityNotFoundException;
 import com.esand.clients.repository.ClientRepository;
+import com.esand.clients.repository.pagination.ClientDtoPagination;
+import com.esand.clients.repository.pagination.Keyset;
+import com.esand.clients.web.dto.ClientBatchResponseDto;
 import com.esand.clients.web.dto.ClientCreateDto;
 import com.esand.clients.web.dto.ClientResponseDto;
 import com.esand.clients.web.dto.ClientUpdateDto;
@@ -11,15 +14,29 @@ import com.esand.clients.web.dto.PageableDto;
 import com.esand.clients.web.mapper.ClientMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class ClientService {
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_DATE = Sort.by("createDate", "id");
+
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
 
@@ -34,8 +51,8 @@ public class ClientService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAll(Pageable pageable) {
-        PageableDto dto = clientMapper.toPageableDto(clientRepository.findAllPageable(pageable));
+    public PageableDto findAll(Pageable pageable, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, clientRepository::findAllPageable, clientRepository::findAllBy);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No customers found");
         }
@@ -43,8 +60,13 @@ public class ClientService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findByName(Pageable pageable, String name) {
-        PageableDto dto = clientMapper.toPageableDto(clientRepository.findByNameIgnoreCaseContaining(name, pageable));
+    public PageableDto findByName(Pageable pageable, String name, String token, boolean count) {
+        String term = Client.normalizeName(name);
+        if (term.isEmpty()) {
+            throw new EntityNotFoundException("Customer not found by name");
+        }
+        PageableDto dto = page(pageable, token, count, BY_ID, page -> clientRepository.findDistinctByNameSearchTermStartingWith(term, page),
+                (position, limit, sort) -> clientRepository.findDistinctByNameSearchTermStartingWith(term, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("Customer not found by name");
         }
@@ -57,14 +79,42 @@ public class ClientService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findClientsByDate(String afterDate, String beforeDate, Pageable pageable) {
+    public ClientBatchResponseDto findByCpfs(Collection<String> cpfs) {
+        Set<String> requested = new LinkedHashSet<>(cpfs);
+        ClientBatchResponseDto dto = new ClientBatchResponseDto();
+        if (requested.isEmpty()) {
+            return dto;
+        }
+
+        Map<String, Client> clients = clientRepository.findByCpfIn(requested).stream()
+                .collect(Collectors.toMap(Client::getCpf, Function.identity()));
+        for (String cpf : requested) {
+            Client client = clients.get(cpf);
+            if (client == null) {
+                dto.getMissing().add(cpf);
+            } else {
+                dto.getFound().put(cpf, clientMapper.toDto(client));
+            }
+        }
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public PageableDto findClientsByDate(String afterDate, String beforeDate, Pageable pageable, String token, boolean count) {
         PageableDto dto;
         if (afterDate != null && beforeDate != null) {
-            dto = clientMapper.toPageableDto(clientRepository.findByCreateDateBetween(LocalDate.parse(afterDate).atStartOfDay(), LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> clientRepository.findByCreateDateBetween(after, before, page),
+                    (position, limit, sort) -> clientRepository.findByCreateDateBetween(after, before, position, limit, sort));
         } else if (afterDate != null) {
-            dto = clientMapper.toPageableDto(clientRepository.findByCreateDateAfter(LocalDate.parse(afterDate).atStartOfDay(), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            dto = page(pageable, token, count, BY_DATE, page -> clientRepository.findByCreateDateAfter(after, page),
+                    (position, limit, sort) -> clientRepository.findByCreateDateAfter(after, position, limit, sort));
         } else if (beforeDate != null) {
-            dto = clientMapper.toPageableDto(clientRepository.findByCreateDateBefore(LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> clientRepository.findByCreateDateBefore(before, page),
+                    (position, limit, sort) -> clientRepository.findByCreateDateBefore(before, position, limit, sort));
         } else {
             throw new EntityNotFoundException("No date parameters provided");
         }
@@ -95,4 +145,25 @@ public class ClientService {
                 () -> new EntityNotFoundException("Customer not found by CPF")
         );
     }
+
+    /**
+     * Reads one page of a listing. Without a token it is the usual offset page, with its total count unless
+     * {@code count} is false, in which case it only reports whether a next page exists. With a token it is a keyset
+     * page that seeks past the previous page on {@code keys} and returns the token of the next one.
+     */
+    private PageableDto page(Pageable pageable, String token, boolean count, Sort keys,
+                             Function<Pageable, Page<ClientDtoPagination>> offset,
+                             Keyset.Query<ClientDtoPagination> scroll) {
+        int size = pageable.getPageSize();
+        if (token != null) {
+            return clientMapper.toPageableDto(scroll.scroll(Keyset.decode(token, keys), Limit.of(size), keys), size, token.isEmpty());
+        }
+        if (count) {
+            return clientMapper.toPageableDto(offset.apply(pageable));
+        }
+        ScrollPosition position = pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+        PageableDto dto = clientMapper.toPageableDto(scroll.scroll(position, Limit.of(size), pageable.getSortOr(keys)), size, pageable.getOffset() == 0);
+        dto.setNumber(pageable.getPageNumber());
+        return dto;
+    }
 }
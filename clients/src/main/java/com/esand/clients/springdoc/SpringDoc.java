@@ -1,5 +1,6 @@
 package com.esand.clients.springdoc;
 
+import com.esand.clients.web.dto.ClientBatchResponseDto;
 import com.esand.clients.web.dto.ClientCreateDto;
 import com.esand.clients.web.dto.ClientResponseDto;
 import com.esand.clients.web.dto.ClientUpdateDto;
@@ -20,6 +21,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 @Tag(name = "Clients", description = "Contains all operations related to resources for registration, searching, correcting data, and updating status")
 public interface SpringDoc {
     @Operation(summary = "Register a new customer",
@@ -44,22 +47,32 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No customers found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                        @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                        @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for customers by name",
-            description = "Endpoint to search for customers by name.")
+            description = "Endpoint to search for customers by name. Accents and case are ignored, and the search matches the start of any word of the name, so \"joao\", \"da silva\" or \"silv\" all find \"João da Silva\".")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customers found successfully by name",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No customers found by name",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findByName(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String name);
+    ResponseEntity<PageableDto> findByName(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String name,
+                                           @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                           @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for customer by CPF",
             description = "Endpoint to search for a customer by CPF.")
@@ -73,6 +86,24 @@ public interface SpringDoc {
     })
     ResponseEntity<ClientResponseDto> findByCpf(@PathVariable String cpf);
 
+    @Operation(summary = "Search for customers by a list of CPFs",
+            description = "Endpoint to resolve many CPFs with a single query. Returns a map of CPF to customer plus the unknown CPFs.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CPFs resolved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ClientBatchResponseDto.class)))
+    })
+    ResponseEntity<ClientBatchResponseDto> findByCpfs(@RequestParam("cpfs") List<String> cpfs);
+
+    @Operation(summary = "Search for customers by a list of CPFs sent in the body",
+            description = "Same as the GET variant, for CPF lists too long to fit in a query string.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CPFs resolved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ClientBatchResponseDto.class)))
+    })
+    ResponseEntity<ClientBatchResponseDto> searchByCpfs(@RequestBody List<String> cpfs);
+
     @Operation(summary = "Search for customers by date",
             description = "Endpoint to search for customers by date range.")
     @ApiResponses(value = {
@@ -80,12 +111,17 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No customers found by date",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
     ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                            @RequestParam(value = "afterDate", required = false) String afterDate,
-                                           @RequestParam(value = "beforeDate", required = false) String beforeDate);
+                                           @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                           @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                           @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Update a customer's data",
             description = "Endpoint that updates the data of an existing customer by CPF.")
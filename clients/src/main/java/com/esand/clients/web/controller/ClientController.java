@@ -2,6 +2,7 @@ package com.esand.clients.web.controller;
 
 import com.esand.clients.service.ClientService;
 import com.esand.clients.springdoc.SpringDoc;
+import com.esand.clients.web.dto.ClientBatchResponseDto;
 import com.esand.clients.web.dto.ClientCreateDto;
 import com.esand.clients.web.dto.ClientResponseDto;
 import com.esand.clients.web.dto.ClientUpdateDto;
@@ -15,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("api/v1/clients")
@@ -27,13 +30,17 @@ public class ClientController implements SpringDoc {
     }
 
     @GetMapping
-    public ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(clientService.findAll(pageable));
+    public ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                               @RequestParam(value = "token", required = false) String token,
+                                               @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(clientService.findAll(pageable, token, count));
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<PageableDto> findByName(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String name) {
-        return ResponseEntity.ok(clientService.findByName(pageable, name));
+    public ResponseEntity<PageableDto> findByName(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String name,
+                                                  @RequestParam(value = "token", required = false) String token,
+                                                  @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(clientService.findByName(pageable, name, token, count));
     }
 
     @GetMapping("/cpf/{cpf}")
@@ -41,11 +48,23 @@ public class ClientController implements SpringDoc {
         return ResponseEntity.ok(clientService.findByCpf(cpf));
     }
 
+    @GetMapping("/cpf/batch")
+    public ResponseEntity<ClientBatchResponseDto> findByCpfs(@RequestParam("cpfs") List<String> cpfs) {
+        return ResponseEntity.ok(clientService.findByCpfs(cpfs));
+    }
+
+    @PostMapping("/cpf/batch")
+    public ResponseEntity<ClientBatchResponseDto> searchByCpfs(@RequestBody List<String> cpfs) {
+        return ResponseEntity.ok(clientService.findByCpfs(cpfs));
+    }
+
     @GetMapping("/date")
     public ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                               @RequestParam(value = "afterDate", required = false) String afterDate,
-                                              @RequestParam(value = "beforeDate", required = false) String beforeDate) {
-        return ResponseEntity.ok(clientService.findClientsByDate(afterDate, beforeDate, pageable));
+                                              @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                              @RequestParam(value = "token", required = false) String token,
+                                              @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(clientService.findClientsByDate(afterDate, beforeDate, pageable, token, count));
     }
 
     @PatchMapping("/edit/{cpf}")
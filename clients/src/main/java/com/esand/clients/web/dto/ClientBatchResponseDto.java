@@ -0,0 +1,20 @@
+package com.esand.clients.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientBatchResponseDto {
+    private Map<String, ClientResponseDto> found = new LinkedHashMap<>();
+    private List<String> missing = new ArrayList<>();
+}
@@ -1,5 +1,6 @@
 package com.esand.clients.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
@@ -18,6 +19,10 @@ public class PageableDto {
     private int size;
     @JsonProperty("pageElements")
     private int numberOfElements;
-    private int totalPages;
-    private int totalElements;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalElements;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
 }
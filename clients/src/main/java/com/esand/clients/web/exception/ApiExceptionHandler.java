@@ -2,6 +2,7 @@ package com.esand.clients.web.exception;
 
 import com.esand.clients.exception.CpfUniqueViolationException;
 import com.esand.clients.exception.EntityNotFoundException;
+import com.esand.clients.exception.InvalidTokenException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,6 +25,15 @@ public class ApiExceptionHandler {
                 .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
+    @ExceptionHandler(InvalidTokenException.class)
+    public final ResponseEntity<ErrorMessage> InvalidTokenException(InvalidTokenException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
     @ExceptionHandler(CpfUniqueViolationException.class)
     public final ResponseEntity<ErrorMessage> CpfUniqueViolationException(CpfUniqueViolationException ex, HttpServletRequest request) {
         log.error("API Error", ex);
@@ -1,25 +1,42 @@
 package com.esand.clients.web.mapper;
 
 import com.esand.clients.entity.Client;
+import com.esand.clients.repository.pagination.Keyset;
 import com.esand.clients.web.dto.ClientCreateDto;
 import com.esand.clients.web.dto.ClientResponseDto;
 import com.esand.clients.web.dto.ClientUpdateDto;
 import com.esand.clients.web.dto.PageableDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface ClientMapper {
     ClientMapper INSTANCE = Mappers.getMapper(ClientMapper.class);
 
+    @Mapping(target = "nameSearch", ignore = true)
     Client toClient(ClientCreateDto dto);
 
     ClientResponseDto toDto(Client client);
 
+    @Mapping(target = "nameSearch", ignore = true)
     void updateClient(ClientUpdateDto dto, @MappingTarget Client client);
 
+    @Mapping(target = "next", ignore = true)
     PageableDto toPageableDto(Page page);
+
+    default PageableDto toPageableDto(Window<?> window, int size, boolean first) {
+        PageableDto dto = new PageableDto();
+        dto.setContent(window.getContent());
+        dto.setFirst(first);
+        dto.setLast(!window.hasNext());
+        dto.setSize(size);
+        dto.setNumberOfElements(window.size());
+        dto.setNext(Keyset.encode(window));
+        return dto;
+    }
 }
@@ -0,0 +1,74 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the accent-folded name search terms of the clients and fills them in for the existing rows. The database
+ * cannot reproduce the folding, so this is a Java migration. The folding is a copy of
+ * {@link com.esand.clients.entity.Client#searchTerms(String)} as it was when this migration was written, so later
+ * changes to the entity do not change what this version writes; a change to the folding ships its own migration.
+ */
+public class V3__client_name_search extends BaseJavaMigration {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TERM_LENGTH = 100;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table client_name_search (
+                        client_id bigint not null,
+                        term varchar(100) not null,
+                        primary key (client_id, term),
+                        foreign key (client_id) references client (id)
+                    )""");
+            statement.execute("create index idx_client_name_search on client_name_search (term, client_id)");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet clients = select.executeQuery("select id, name from client");
+             PreparedStatement insert = connection.prepareStatement("insert into client_name_search (client_id, term) values (?, ?)")) {
+            while (clients.next()) {
+                for (String term : searchTerms(clients.getString("name"))) {
+                    insert.setLong(1, clients.getLong("id"));
+                    insert.setString(2, term);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static Set<String> searchTerms(String name) {
+        Set<String> terms = new LinkedHashSet<>();
+        String term = normalizeName(name);
+        while (!term.isEmpty()) {
+            terms.add(term.length() > TERM_LENGTH ? term.substring(0, TERM_LENGTH) : term);
+            int space = term.indexOf(' ');
+            term = space < 0 ? "" : term.substring(space + 1);
+        }
+        return terms;
+    }
+
+    private static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,12 @@
+create table client (
+    id bigint generated by default as identity,
+    name varchar(100) not null,
+    cpf varchar(11) not null unique,
+    phone varchar(20),
+    email varchar(100),
+    address varchar(200) not null,
+    birth_date date,
+    gender enum ('F','M') not null,
+    create_date timestamp(6),
+    primary key (id)
+);
@@ -0,0 +1 @@
+create index idx_client_create_date on client (create_date, id);
@@ -1,9 +1,11 @@
 package com.esand.clients;
 
+import com.esand.clients.entity.Client;
 import com.esand.clients.entity.EntityMock;
 import com.esand.clients.repository.ClientRepository;
 import com.esand.clients.web.dto.ClientCreateDto;
 import com.esand.clients.web.dto.ClientUpdateDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +18,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.http.MediaType;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -102,6 +108,87 @@ class ClientIntegrationTests {
 				.andExpect(jsonPath("$.message").value("No customers found"));
 	}
 
+	List<String> scroll(String uri) throws Exception {
+		List<String> cpfs = new ArrayList<>();
+		String token = "";
+		boolean last = false;
+		while (!last) {
+			String body = mockMvc.perform(MockMvcRequestBuilders.get(uri)
+							.param("size", "2")
+							.param("token", token)
+							.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.totalElements").doesNotExist())
+					.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			JsonNode page = objectMapper.readTree(body);
+			page.get("content").forEach(client -> cpfs.add(client.get("cpf").asText()));
+			last = page.get("last").asBoolean();
+			token = page.path("next").asText(null);
+			assertEquals(last, token == null);
+		}
+		return cpfs;
+	}
+
+	List<String> createClients(int count) {
+		List<String> cpfs = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Client client = EntityMock.client();
+			client.setId(null);
+			client.setCpf("0702105007" + i);
+			cpfs.add(clientRepository.save(client).getCpf());
+		}
+		return cpfs;
+	}
+
+	@Test
+	void testFindAllClientsKeysetSuccess() throws Exception {
+		List<String> cpfs = createClients(5);
+
+		assertEquals(cpfs, scroll("/api/v1/clients"));
+	}
+
+	@Test
+	void testFindClientsByDateKeysetSuccess() throws Exception {
+		List<String> cpfs = createClients(5);
+
+		assertEquals(cpfs, scroll("/api/v1/clients/date?afterDate=" + LocalDate.now().minusDays(1)));
+	}
+
+	@Test
+	void testFindAllClientsWithoutCount() throws Exception {
+		List<String> cpfs = createClients(5);
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients")
+						.param("count", "false")
+						.param("page", "1")
+						.param("size", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].cpf").value(cpfs.get(2)))
+				.andExpect(jsonPath("$.content[1].cpf").value(cpfs.get(3)))
+				.andExpect(jsonPath("$.last").value(false))
+				.andExpect(jsonPath("$.totalElements").doesNotExist());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients")
+						.param("count", "false")
+						.param("page", "2")
+						.param("size", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].cpf").value(cpfs.get(4)))
+				.andExpect(jsonPath("$.last").value(true));
+	}
+
+	@Test
+	void testFindAllClientsInvalidToken() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients")
+						.param("token", "not-a-token")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid continuation token"));
+	}
+
 	@Test
 	void testFindClientByNameSuccess() throws Exception {
 		createClient();
@@ -110,6 +197,91 @@ class ClientIntegrationTests {
 				.andExpect(status().isOk());
 	}
 
+	List<String> createClients(String... names) {
+		List<String> cpfs = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			Client client = EntityMock.client();
+			client.setId(null);
+			client.setName(names[i]);
+			client.setCpf("0702105007" + i);
+			cpfs.add(clientRepository.save(client).getCpf());
+		}
+		return cpfs;
+	}
+
+	@Test
+	void testFindClientByNameIgnoringAccentsAndCase() throws Exception {
+		List<String> cpfs = createClients("João da Silva", "Joana Conceição", "Maria José");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/joao")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(1))
+				.andExpect(jsonPath("$.content[0].cpf").value(cpfs.get(0)))
+				.andExpect(jsonPath("$.content[0].name").value("João da Silva"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/CONCEICAO")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(1))
+				.andExpect(jsonPath("$.content[0].cpf").value(cpfs.get(1)));
+	}
+
+	@Test
+	void testFindClientByNameWordPrefixes() throws Exception {
+		List<String> cpfs = createClients("João da Silva", "Joana Conceição", "Maria José", "Davi Dantas");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/jo")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(3));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/da")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(2))
+				.andExpect(jsonPath("$.content[0].cpf").value(cpfs.get(0)))
+				.andExpect(jsonPath("$.content[1].cpf").value(cpfs.get(3)));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/da silv")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(1))
+				.andExpect(jsonPath("$.content[0].cpf").value(cpfs.get(0)));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/ilva")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testFindClientByNameKeysetSuccess() throws Exception {
+		List<String> cpfs = createClients("Ana Dantas", "Dalva Dias", "Davi da Silva", "Paulo Souza", "Diana Damasceno");
+
+		assertEquals(List.of(cpfs.get(0), cpfs.get(1), cpfs.get(2), cpfs.get(4)), scroll("/api/v1/clients/name/da"));
+	}
+
+	@Test
+	void testFindClientByNameAfterRename() throws Exception {
+		createClient();
+		ClientUpdateDto dto = new ClientUpdateDto();
+		dto.setName("Conceição Araújo");
+
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/clients/edit/" + EntityMock.client().getCpf())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(dto)))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/araujo")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].name").value("Conceição Araújo"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/" + EntityMock.client().getName())
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound());
+	}
+
 	@Test
 	void testFindClientByNameEntityNotFoundException() throws Exception {
 		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/name/Teste")
@@ -126,6 +298,27 @@ class ClientIntegrationTests {
 				.andExpect(status().isOk());
 	}
 
+	@Test
+	void testFindClientsByCpfsSuccess() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/cpf/batch")
+						.param("cpfs", "07021050070", "11111111111")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.found.07021050070.cpf").value("07021050070"))
+				.andExpect(jsonPath("$.missing[0]").value("11111111111"));
+	}
+
+	@Test
+	void testSearchClientsByCpfsSuccess() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/clients/cpf/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(List.of("07021050070", "11111111111"))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.missing[0]").value("11111111111"));
+	}
+
 	@Test
 	void testFindClientByCpfNotFound() throws Exception {
 		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/clients/cpf/07021050070")
@@ -12,7 +12,9 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class EntityMock {
     public static ClientCreateDto createDto() {
@@ -36,7 +38,8 @@ public class EntityMock {
                 "Address1",
                 LocalDate.of(2024, 8, 7),
                 Client.Gender.M,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                new HashSet<>(Set.of(new ClientNameTerm("test")))
         );
     }
 
@@ -56,6 +59,7 @@ public class EntityMock {
         Pageable pageable = PageRequest.of(0, 10);
         List<ClientDtoPagination> content = List.of(
                 new ClientDtoPagination() {
+                    public Long getId() { return 1L; }
                     public String getName() { return "Test"; }
                     public String getCpf() { return "07021050070"; }
                     public String getPhone() { return "55210568972"; }
@@ -71,6 +75,7 @@ public class EntityMock {
     public static PageableDto pageableDto() {
         List<ClientDtoPagination> content = List.of(
                 new ClientDtoPagination() {
+                    public Long getId() { return 1L; }
                     public String getName() { return "Test"; }
                     public String getCpf() { return "07021050070"; }
                     public String getPhone() { return "55210568972"; }
@@ -6,6 +6,7 @@ import com.esand.clients.exception.CpfUniqueViolationException;
 import com.esand.clients.exception.EntityNotFoundException;
 import com.esand.clients.repository.ClientRepository;
 import com.esand.clients.repository.pagination.ClientDtoPagination;
+import com.esand.clients.web.dto.ClientBatchResponseDto;
 import com.esand.clients.web.dto.ClientCreateDto;
 import com.esand.clients.web.dto.ClientResponseDto;
 import com.esand.clients.web.dto.ClientUpdateDto;
@@ -21,11 +22,15 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ClientServiceTest {
@@ -86,7 +91,7 @@ class ClientServiceTest {
         when(clientRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = clientService.findAll(page.getPageable());
+        PageableDto response = clientService.findAll(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -102,7 +107,7 @@ class ClientServiceTest {
         when(clientRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> clientService.findAll(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> clientService.findAll(page.getPageable(), null, true));
     }
 
     @Test
@@ -110,10 +115,10 @@ class ClientServiceTest {
         Page<ClientDtoPagination> page = EntityMock.page();
         PageableDto pageableDto = EntityMock.pageableDto();
 
-        when(clientRepository.findByNameIgnoreCaseContaining(any(String.class), any(Pageable.class))).thenReturn(page);
+        when(clientRepository.findDistinctByNameSearchTermStartingWith(eq("test"), any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = clientService.findByName(page.getPageable(), "Test");
+        PageableDto response = clientService.findByName(page.getPageable(), "Test", null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -126,10 +131,30 @@ class ClientServiceTest {
         Page<ClientDtoPagination> page = EntityMock.pageEmpty();
         PageableDto pageableDto = EntityMock.pageableDtoEmpty();
 
-        when(clientRepository.findByNameIgnoreCaseContaining(any(String.class), any(Pageable.class))).thenReturn(page);
+        when(clientRepository.findDistinctByNameSearchTermStartingWith(eq("test"), any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> clientService.findByName(page.getPageable(), "Test"));
+        assertThrows(EntityNotFoundException.class, () -> clientService.findByName(page.getPageable(), "Test", null, true));
+    }
+
+    @Test
+    void testFindByNameFoldsAccentsAndCase() {
+        Page<ClientDtoPagination> page = EntityMock.page();
+
+        when(clientRepository.findDistinctByNameSearchTermStartingWith(eq("joao da sil"), any(Pageable.class))).thenReturn(page);
+        when(clientMapper.toPageableDto(any(Page.class))).thenReturn(EntityMock.pageableDto());
+
+        PageableDto response = clientService.findByName(page.getPageable(), "  JOÃO  da Sil", null, true);
+
+        assertEquals(1, response.getContent().size());
+    }
+
+    @Test
+    void testFindByNameWithoutWords() {
+        Page<ClientDtoPagination> page = EntityMock.page();
+
+        assertThrows(EntityNotFoundException.class, () -> clientService.findByName(page.getPageable(), " - ", null, true));
+        verify(clientRepository, never()).findDistinctByNameSearchTermStartingWith(any(String.class), any(Pageable.class));
     }
 
     @Test
@@ -159,6 +184,27 @@ class ClientServiceTest {
         assertThrows(EntityNotFoundException.class, () -> clientService.findByCpf("07021050070"));
     }
 
+    @Test
+    void testFindByCpfsSuccess() {
+        when(clientRepository.findByCpfIn(any())).thenReturn(List.of(EntityMock.client()));
+        when(clientMapper.toDto(any(Client.class))).thenReturn(EntityMock.clientResponseDto());
+
+        ClientBatchResponseDto response = clientService.findByCpfs(List.of("07021050070", "11111111111"));
+
+        assertEquals(1, response.getFound().size());
+        assertEquals("07021050070", response.getFound().get("07021050070").getCpf());
+        assertEquals(List.of("11111111111"), response.getMissing());
+    }
+
+    @Test
+    void testFindByCpfsEmpty() {
+        ClientBatchResponseDto response = clientService.findByCpfs(List.of());
+
+        assertTrue(response.getFound().isEmpty());
+        assertTrue(response.getMissing().isEmpty());
+        verify(clientRepository, never()).findByCpfIn(any());
+    }
+
     @Test
     void findClientsByDateBetweenSuccess() {
         Page<ClientDtoPagination> page = EntityMock.page();
@@ -167,7 +213,7 @@ class ClientServiceTest {
         when(clientRepository.findByCreateDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = clientService.findClientsByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = clientService.findClientsByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -183,7 +229,7 @@ class ClientServiceTest {
         when(clientRepository.findByCreateDateAfter(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = clientService.findClientsByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable());
+        PageableDto response = clientService.findClientsByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -199,7 +245,7 @@ class ClientServiceTest {
         when(clientRepository.findByCreateDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = clientService.findClientsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = clientService.findClientsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -209,7 +255,7 @@ class ClientServiceTest {
 
     @Test
     void testFindClientsByDateNoDateParametersProvided() {
-        assertThrows(EntityNotFoundException.class, () -> clientService.findClientsByDate(null, null, EntityMock.page().getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> clientService.findClientsByDate(null, null, EntityMock.page().getPageable(), null, true));
     }
 
     @Test
@@ -220,7 +266,7 @@ class ClientServiceTest {
         when(clientRepository.findByCreateDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(clientMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> clientService.findClientsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> clientService.findClientsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true));
     }
 
     @Test
@@ -64,9 +64,9 @@ class ClientControllerTest {
         PageableDto pageableDto = new PageableDto();
         pageableDto.setContent(List.of(createDto));
 
-        when(clientService.findAll(pageable)).thenReturn(pageableDto);
+        when(clientService.findAll(pageable, null, true)).thenReturn(pageableDto);
 
-        ResponseEntity<PageableDto> response = clientController.findAll(pageable);
+        ResponseEntity<PageableDto> response = clientController.findAll(pageable, null, true);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -81,9 +81,9 @@ class ClientControllerTest {
         PageableDto pageableDto = new PageableDto();
         pageableDto.setContent(List.of(createDto));
 
-        when(clientService.findByName(pageable, "Test")).thenReturn(pageableDto);
+        when(clientService.findByName(pageable, "Test", null, true)).thenReturn(pageableDto);
 
-        ResponseEntity<PageableDto> response = clientController.findByName(pageable, "Test");
+        ResponseEntity<PageableDto> response = clientController.findByName(pageable, "Test", null, true);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -117,9 +117,9 @@ class ClientControllerTest {
         PageableDto pageableDto = new PageableDto();
         pageableDto.setContent(List.of(createDto));
 
-        when(clientService.findClientsByDate("2024-08-08", "2024-08-08", pageable)).thenReturn(pageableDto);
+        when(clientService.findClientsByDate("2024-08-08", "2024-08-08", pageable, null, true)).thenReturn(pageableDto);
 
-        ResponseEntity<PageableDto> response = clientController.findByDate(pageable, "2024-08-08", "2024-08-08");
+        ResponseEntity<PageableDto> response = clientController.findByDate(pageable, "2024-08-08", "2024-08-08", null, true);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -1,40 +1,147 @@
 package com.esand.delivery.config;
 
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.converter.JsonMessageConverter;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+@Log4j2
 @RequiredArgsConstructor
 @Configuration
 public class Consumer {
 
+    @Value("${topic_name}")
+    private String topicName;
+    @Value("${topic_name}-failed-dlt")
+    private String deadLetterTopic;
+    @Value("${topic_partitions:2}")
+    private int topicPartitions;
+    @Value("${listener.concurrency:0}")
+    private int listenerConcurrency;
+    @Value("${listener.discover-partitions:true}")
+    private boolean discoverPartitions;
     private final KafkaProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ListenerMetrics listenerMetrics;
 
+    /**
+     * Order events are decoded once, straight into {@link DeliverySaveDto}. A record that cannot be decoded
+     * reaches the listener as a null value instead of failing the whole poll.
+     */
     @Bean
-    public ConsumerFactory<String, Object> jsonConsumerFactory() {
-        var configs = new HashMap<String, Object>();
-        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
-        configs.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        return new DefaultKafkaConsumerFactory<>(configs);
+    public ConsumerFactory<String, DeliverySaveDto> orderEventConsumerFactory() {
+        Map<String, Object> configs = properties.buildConsumerProperties(null);
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        var factory = new DefaultKafkaConsumerFactory<>(
+                configs,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new OrderEventDeserializer())
+        );
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory jsonContainerFactory(
-            ConsumerFactory<String, Object> jsonConsumerFactory
+    public ConcurrentKafkaListenerContainerFactory batchContainerFactory(
+            ConsumerFactory<String, DeliverySaveDto> orderEventConsumerFactory,
+            KafkaTemplate<String, byte[]> deadLetterKafkaTemplate,
+            KafkaTemplate<String, DeliverySaveDto> orderEventKafkaTemplate
     ) {
-        var factory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
-        factory.setConsumerFactory(jsonConsumerFactory);
-        factory.setRecordMessageConverter(new JsonMessageConverter());
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, DeliverySaveDto>();
+        factory.setConsumerFactory(orderEventConsumerFactory);
+        factory.setConcurrency(concurrency());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                deadLetterRecoverer(deadLetterKafkaTemplate, orderEventKafkaTemplate), redeliveryBackOff()));
+        factory.setBatchInterceptor(listenerMetrics);
         return factory;
     }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory retryContainerFactory(
+            ConsumerFactory<String, DeliverySaveDto> orderEventConsumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, DeliverySaveDto>();
+        factory.setConsumerFactory(orderEventConsumerFactory);
+        return factory;
+    }
+
+    /**
+     * The listener reports a record that could not be decoded by its index in the batch. That record is not
+     * retryable, so it goes straight to the dead-letter topic as its original bytes, and the records before it
+     * are committed.
+     */
+    private DeadLetterPublishingRecoverer deadLetterRecoverer(KafkaTemplate<String, byte[]> deadLetterKafkaTemplate,
+                                                              KafkaTemplate<String, DeliverySaveDto> orderEventKafkaTemplate) {
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, deadLetterKafkaTemplate);
+        templates.put(DeliverySaveDto.class, orderEventKafkaTemplate);
+        return new DeadLetterPublishingRecoverer(templates, (record, e) -> new TopicPartition(deadLetterTopic, -1));
+    }
+
+    /**
+     * A batch only fails as a whole when its failed records could not be handed to the retry topic, which means
+     * Kafka itself is unreachable. The batch is then redelivered with growing pauses and never skipped.
+     */
+    private ExponentialBackOff redeliveryBackOff() {
+        var backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(60000L);
+        return backOff;
+    }
+
+    /**
+     * One consumer thread per partition of the topic, capped by {@code listener.concurrency} when it is set.
+     * Threads beyond the partition count would sit idle, so the actual partition count is looked up at startup
+     * and {@code topic_partitions} is only used when the broker cannot be reached.
+     */
+    private int concurrency() {
+        int partitions = discoverPartitions ? partitionCount() : topicPartitions;
+        int concurrency = listenerConcurrency > 0 ? Math.min(listenerConcurrency, partitions) : partitions;
+        log.info("Consuming topic {} with {} threads for {} partitions", topicName, concurrency, partitions);
+        return Math.max(concurrency, 1);
+    }
+
+    private int partitionCount() {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, properties.buildConsumerProperties(null).get(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
+        configs.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, 5000);
+        configs.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
+        try (AdminClient admin = AdminClient.create(configs)) {
+            return admin.describeTopics(List.of(topicName)).allTopicNames()
+                    .get(5, TimeUnit.SECONDS)
+                    .get(topicName)
+                    .partitions()
+                    .size();
+        } catch (Exception e) {
+            log.warn("Could not describe topic {}, assuming {} partitions", topicName, topicPartitions);
+            return topicPartitions;
+        }
+    }
 }
@@ -2,25 +2,151 @@ package com.esand.delivery.config;
 
 import com.esand.delivery.service.DeliveryService;
 import com.esand.delivery.web.dto.DeliverySaveDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Log4j2
 @Component
 @RequiredArgsConstructor
 public class Listener {
 
+    public static final String GROUP_ID = "result-group";
+    private static final LogAccessor LOG = new LogAccessor(Listener.class);
+
+    @Value("${topic_name}")
+    private String topicName;
+    @Value("${topic_name}-failed")
+    private String retryTopic;
     private final DeliveryService deliveryService;
+    private final MeterRegistry meterRegistry;
+    private final KafkaTemplate<String, DeliverySaveDto> orderEventKafkaTemplate;
+    private final Map<Integer, Counter> consumedByPartition = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the batch up to the first record that could not be decoded, then reports that record by its index so
+     * the error handler commits what came before it, moves it to the dead-letter topic and redelivers the rest.
+     */
+    @KafkaListener(id = ListenerBackpressure.LISTENER_ID, idIsGroup = false, topics = "${topic_name}",
+            groupId = GROUP_ID, containerFactory = "batchContainerFactory")
+    public void consumer(List<ConsumerRecord<String, DeliverySaveDto>> records) {
+        List<DeliverySaveDto> dtos = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, DeliverySaveDto> record = records.get(i);
+            consumedByPartition.computeIfAbsent(record.partition(), this::consumedCounter).increment();
+            if (record.value() != null) {
+                dtos.add(record.value());
+                continue;
+            }
+            DeserializationException error = SerializationUtils.getExceptionFromHeader(
+                    record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG);
+            if (error != null) {
+                saveAll(dtos);
+                log.error("Order record at offset {} of partition {} could not be decoded, moving it to the dead-letter topic",
+                        record.offset(), record.partition());
+                throw new BatchListenerFailedException("Order record could not be decoded", error, i);
+            }
+        }
+        saveAll(dtos);
+    }
+
+    private void saveAll(List<DeliverySaveDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        try {
+            deliveryService.saveAll(dtos);
+            log.info("{} orders successfully saved in the database", dtos.size());
+        } catch (Exception e) {
+            log.warn("Batch of {} orders could not be inserted, saving them one by one: {}", dtos.size(), e.getMessage());
+            List<DeliverySaveDto> failed = dtos.stream().filter(dto -> !save(dto)).toList();
+            if (!failed.isEmpty()) {
+                forwardToRetry(failed);
+            }
+        }
+    }
+
+    /**
+     * Records that failed on the Orders topic are retried here, on their own topics with growing delays, so they
+     * never hold back the partition they came from. Once the attempts are used up they land on the dead-letter
+     * topic, where they stay until replayed.
+     */
+    @RetryableTopic(
+            attempts = "${listener.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${listener.retry.delay-ms:1000}",
+                    multiplierExpression = "${listener.retry.multiplier:2}",
+                    maxDelayExpression = "${listener.retry.max-delay-ms:60000}"
+            ),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            autoCreateTopics = "${listener.retry.auto-create-topics:true}",
+            kafkaTemplate = "orderEventKafkaTemplate"
+    )
+    @KafkaListener(topics = "${topic_name}-failed", groupId = "result-retry-group", containerFactory = "retryContainerFactory")
+    public void retry(DeliverySaveDto dto) {
+        if (deliveryService.save(dto)) {
+            log.info("Order nº {} successfully saved in the database on retry", dto.getId());
+        }
+    }
+
+    @DltHandler
+    public void deadLetter(DeliverySaveDto dto, @Header(KafkaHeaders.EXCEPTION_MESSAGE) String error) {
+        log.error("Order nº {} moved to the dead-letter topic after failing every retry: {}", dto.getId(), error);
+    }
+
+    private Counter consumedCounter(Integer partition) {
+        return Counter.builder("delivery.orders.consumed")
+                .description("Order records consumed by the delivery listener")
+                .tag("topic", topicName)
+                .tag("partition", String.valueOf(partition))
+                .register(meterRegistry);
+    }
 
-    @KafkaListener(topics = "Orders", groupId = "result-group", containerFactory = "jsonContainerFactory")
-    public void consumer(DeliverySaveDto dto) {
+    private boolean save(DeliverySaveDto dto) {
         try {
-            deliveryService.save(dto);
-            log.info("Order nº {} successfully saved in the database", dto.getId());
+            if (deliveryService.save(dto)) {
+                log.info("Order nº {} successfully saved in the database", dto.getId());
+            } else {
+                log.info("Order nº {} has already been saved, skipping replay", dto.getId());
+            }
+            return true;
         } catch (Exception e) {
-            log.error("Error saving order nº {} in the database:", dto.getId(), e);
+            log.error("Error saving order nº {} in the database: {}", dto.getId(), e.getMessage());
+            return false;
         }
     }
+
+    /**
+     * Waits until every failed record is on the retry topic. If any send fails the exception reaches the
+     * container, which redelivers the whole batch instead of committing past records that were never stored.
+     */
+    private void forwardToRetry(List<DeliverySaveDto> failed) {
+        CompletableFuture.allOf(failed.stream()
+                .map(dto -> orderEventKafkaTemplate.send(retryTopic, String.valueOf(dto.getId()), dto))
+                .toArray(CompletableFuture[]::new)
+        ).join();
+        log.warn("{} orders sent to {} to be retried", failed.size(), retryTopic);
+    }
 }
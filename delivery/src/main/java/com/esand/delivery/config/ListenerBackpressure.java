@@ -0,0 +1,110 @@
+package com.esand.delivery.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Pauses the orders listener while the database is struggling, either because the connection pool is close to
+ * exhausted or because batches take longer than the configured latency, and resumes it once the pool has drained.
+ * Pausing keeps the consumer in its group, so partitions are not rebalanced away while the listener waits.
+ * Resuming needs the pool to fall below a lower threshold and a minimum pause, so the listener does not flap.
+ */
+@Log4j2
+@Component
+public class ListenerBackpressure {
+
+    public static final String LISTENER_ID = "orders-listener";
+
+    @Value("${listener.backpressure.enabled:true}")
+    private boolean enabled;
+    @Value("${listener.backpressure.max-pool-usage:0.9}")
+    private double maxPoolUsage;
+    @Value("${listener.backpressure.resume-pool-usage:0.5}")
+    private double resumePoolUsage;
+    @Value("${listener.backpressure.max-batch-latency-ms:5000}")
+    private double maxBatchLatencyMs;
+    @Value("${listener.backpressure.min-pause-ms:5000}")
+    private long minPauseMs;
+    private final KafkaListenerEndpointRegistry registry;
+    private final ListenerMetrics listenerMetrics;
+    private final HikariDataSource hikariDataSource;
+    private final Counter pauses;
+    private volatile long pausedAt;
+    private volatile boolean paused;
+
+    public ListenerBackpressure(KafkaListenerEndpointRegistry registry, ListenerMetrics listenerMetrics,
+                                DataSource dataSource, MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.listenerMetrics = listenerMetrics;
+        this.hikariDataSource = unwrap(dataSource);
+        this.pauses = Counter.builder("delivery.listener.pauses")
+                .description("Times the orders listener was paused to relieve the database")
+                .register(meterRegistry);
+        Gauge.builder("delivery.listener.paused", this, backpressure -> backpressure.paused ? 1 : 0)
+                .description("Whether the orders listener is currently paused")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${listener.backpressure.check-interval-ms:1000}")
+    public void check() {
+        MessageListenerContainer container = registry.getListenerContainer(LISTENER_ID);
+        if (!enabled || container == null || !container.isRunning()) {
+            return;
+        }
+
+        double poolUsage = poolUsage();
+        double latency = listenerMetrics.batchLatencyMs();
+        if (!paused) {
+            if (poolUsage >= maxPoolUsage || latency >= maxBatchLatencyMs) {
+                container.pause();
+                paused = true;
+                pausedAt = System.currentTimeMillis();
+                pauses.increment();
+                log.warn("Pausing orders listener: pool usage {}%, batch latency {} ms",
+                        Math.round(poolUsage * 100), Math.round(latency));
+            }
+        } else if (poolUsage <= resumePoolUsage && System.currentTimeMillis() - pausedAt >= minPauseMs) {
+            listenerMetrics.resetBatchLatency();
+            container.resume();
+            paused = false;
+            log.info("Resuming orders listener: pool usage {}%", Math.round(poolUsage * 100));
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Share of the pool that is busy, counting threads still waiting for a connection, so a saturated pool
+     * reports more than 100%. Returns 0 when the pool is not a Hikari pool or has not started yet.
+     */
+    private double poolUsage() {
+        if (hikariDataSource == null || hikariDataSource.getHikariPoolMXBean() == null) {
+            return 0;
+        }
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+                / hikariDataSource.getMaximumPoolSize();
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.esand.delivery.config;
+
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the orders listener: how long each batch takes, and how far each partition is behind the end of the
+ * log. Lag is the end offset minus the offset committed by the listener's group, read on a schedule so it keeps
+ * growing while the listener is paused or stuck. It also keeps a smoothed batch latency that
+ * {@link ListenerBackpressure} uses to decide when to pause the listener.
+ */
+@Log4j2
+@Component
+public class ListenerMetrics implements BatchInterceptor<String, DeliverySaveDto>, DisposableBean {
+
+    private static final double SMOOTHING = 0.3;
+    private static final int ADMIN_TIMEOUT_MS = 5000;
+
+    @Value("${topic_name}")
+    private String topicName;
+    @Value("${listener.lag.enabled:true}")
+    private boolean lagEnabled;
+    private final MeterRegistry meterRegistry;
+    private final KafkaProperties properties;
+    private final Timer processing;
+    private final Map<TopicPartition, AtomicLong> lagByPartition = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> batchStart = new ThreadLocal<>();
+    private final AtomicLong batchLatencyMs = new AtomicLong(Double.doubleToLongBits(0));
+    private Admin admin;
+
+    public ListenerMetrics(MeterRegistry meterRegistry, KafkaProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.processing = Timer.builder("delivery.orders.processing")
+                .description("Time spent by the delivery listener on a batch of order records")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConsumerRecords<String, DeliverySaveDto> intercept(ConsumerRecords<String, DeliverySaveDto> records,
+                                                              Consumer<String, DeliverySaveDto> consumer) {
+        batchStart.set(System.nanoTime());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<String, DeliverySaveDto> records, Consumer<String, DeliverySaveDto> consumer) {
+        finish();
+    }
+
+    @Override
+    public void failure(ConsumerRecords<String, DeliverySaveDto> records, Exception exception,
+                        Consumer<String, DeliverySaveDto> consumer) {
+        finish();
+    }
+
+    public double batchLatencyMs() {
+        return Double.longBitsToDouble(batchLatencyMs.get());
+    }
+
+    public void resetBatchLatency() {
+        batchLatencyMs.set(Double.doubleToLongBits(0));
+    }
+
+    @Scheduled(fixedDelayString = "${listener.lag.refresh-interval-ms:10000}")
+    public void refreshLag() {
+        if (!lagEnabled) {
+            return;
+        }
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = admin().listConsumerGroupOffsets(Listener.GROUP_ID)
+                    .partitionsToOffsetAndMetadata()
+                    .get(ADMIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            committed.forEach((partition, offset) -> {
+                if (offset != null && partition.topic().equals(topicName)) {
+                    latest.put(partition, OffsetSpec.latest());
+                }
+            });
+            if (latest.isEmpty()) {
+                return;
+            }
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = admin().listOffsets(latest).all()
+                    .get(ADMIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            ends.forEach((partition, end) -> lagByPartition.computeIfAbsent(partition, this::lagGauge)
+                    .set(Math.max(end.offset() - committed.get(partition).offset(), 0)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not read the lag of topic {}: {}", topicName, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (admin != null) {
+            admin.close();
+        }
+    }
+
+    private void finish() {
+        Long start = batchStart.get();
+        batchStart.remove();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        processing.record(elapsed, TimeUnit.NANOSECONDS);
+        double elapsedMs = elapsed / 1_000_000.0;
+        batchLatencyMs.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            return Double.doubleToLongBits(current == 0 ? elapsedMs : current + SMOOTHING * (elapsedMs - current));
+        });
+    }
+
+    private synchronized Admin admin() {
+        if (admin == null) {
+            Map<String, Object> configs = properties.buildAdminProperties(null);
+            configs.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, ADMIN_TIMEOUT_MS);
+            configs.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, ADMIN_TIMEOUT_MS);
+            admin = Admin.create(configs);
+        }
+        return admin;
+    }
+
+    private AtomicLong lagGauge(TopicPartition partition) {
+        AtomicLong lag = new AtomicLong();
+        Gauge.builder("delivery.orders.lag", lag, AtomicLong::get)
+                .description("Order records not yet committed by the delivery listener")
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .register(meterRegistry);
+        return lag;
+    }
+}
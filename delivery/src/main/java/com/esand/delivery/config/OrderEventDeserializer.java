@@ -0,0 +1,100 @@
+package com.esand.delivery.config;
+
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decodes the order-submitted event written by the orders service's {@code OrderEventSerializer} straight into a
+ * {@link DeliverySaveDto}. The record starts with a magic byte and a schema version; versions this class does
+ * not know are rejected rather than guessed at. Records that do not start with the magic byte are the JSON
+ * payloads published before the binary layout, still on the topic or sent by an orders instance not yet
+ * upgraded, and are decoded as JSON; unknown JSON properties are ignored.
+ *
+ * <pre>
+ * version 1
+ *   magic     byte     'O'
+ *   version   byte     1
+ *   id        int64
+ *   name      string
+ *   cpf       string
+ *   title     string
+ *   sku       string
+ *   price     optional float64
+ *   quantity  optional int32
+ *   total     optional float64
+ *   date      optional int64 epoch seconds (UTC) + int32 nanos
+ *
+ * string   = int32 byte length (-1 for null) + UTF-8 bytes
+ * optional = byte 1 followed by the value, or byte 0 for null
+ * </pre>
+ */
+public class OrderEventDeserializer implements Deserializer<DeliverySaveDto> {
+
+    public static final byte MAGIC = 'O';
+    public static final byte VERSION = 1;
+    private static final ObjectMapper JSON = JacksonUtils.enhancedObjectMapper();
+
+    @Override
+    public DeliverySaveDto deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] != MAGIC) {
+            return deserializeJson(topic, data);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            in.readByte();
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported order event version " + version);
+            }
+
+            DeliverySaveDto dto = new DeliverySaveDto();
+            dto.setId(in.readLong());
+            dto.setName(readString(in));
+            dto.setCpf(readString(in));
+            dto.setTitle(readString(in));
+            dto.setSku(readString(in));
+            dto.setPrice(in.readBoolean() ? in.readDouble() : null);
+            dto.setQuantity(in.readBoolean() ? in.readInt() : null);
+            dto.setTotal(in.readBoolean() ? in.readDouble() : null);
+            dto.setDate(in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null);
+            return dto;
+        } catch (IOException e) {
+            throw new SerializationException("Truncated order event on topic " + topic, e);
+        }
+    }
+
+    private DeliverySaveDto deserializeJson(String topic, byte[] data) {
+        try {
+            return JSON.readValue(data, DeliverySaveDto.class);
+        } catch (IOException e) {
+            throw new SerializationException("Record on topic " + topic + " is not an order event", e);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new EOFException("String of " + length + " bytes runs past the end of the record");
+        }
+        byte[] encoded = new byte[length];
+        in.readFully(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package com.esand.delivery.config;
+
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Writes a {@link DeliverySaveDto} in the order event layout described on {@link OrderEventDeserializer}, so
+ * records forwarded to the retry and dead-letter topics are read back by the same deserializer as the Orders topic.
+ */
+public class OrderEventSerializer implements Serializer<DeliverySaveDto> {
+
+    @Override
+    public byte[] serialize(String topic, DeliverySaveDto dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(OrderEventDeserializer.MAGIC);
+            out.writeByte(OrderEventDeserializer.VERSION);
+            out.writeLong(dto.getId());
+            writeString(out, dto.getName());
+            writeString(out, dto.getCpf());
+            writeString(out, dto.getTitle());
+            writeString(out, dto.getSku());
+            writeDouble(out, dto.getPrice());
+            writeInt(out, dto.getQuantity());
+            writeDouble(out, dto.getTotal());
+            writeDate(out, dto.getDate());
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Error serializing order nº" + dto.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private void writeDate(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.esand.delivery.config;
+
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Configuration
+public class Producer {
+
+    private final KafkaProperties properties;
+
+    @Bean
+    public ProducerFactory<String, DeliverySaveDto> orderEventProducerFactory() {
+        Map<String, Object> configs = properties.buildProducerProperties(null);
+        return new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new OrderEventSerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, DeliverySaveDto> orderEventKafkaTemplate(
+            ProducerFactory<String, DeliverySaveDto> orderEventProducerFactory
+    ) {
+        return new KafkaTemplate<>(orderEventProducerFactory);
+    }
+
+    /**
+     * Outbox payloads are stored as JSON, so they go out through a plain string producer without being parsed.
+     */
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory() {
+        Map<String, Object> configs = properties.buildProducerProperties(null);
+        return new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new StringSerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate(ProducerFactory<String, String> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+
+    /**
+     * Order records that could not be decoded are moved to the dead-letter topic as the bytes they arrived with.
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> deadLetterProducerFactory() {
+        Map<String, Object> configs = properties.buildProducerProperties(null);
+        return new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterKafkaTemplate(ProducerFactory<String, byte[]> deadLetterProducerFactory) {
+        return new KafkaTemplate<>(deadLetterProducerFactory);
+    }
+}
@@ -5,8 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -15,9 +14,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@EntityListeners(AuditingEntityListener.class)
-@Table(name = "orders")
-public class Delivery {
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status", columnList = "status, id"),
+        @Index(name = "idx_orders_date", columnList = "date, id")
+})
+public class Delivery implements Persistable<Long> {
     @Id
     @Column(name = "id", nullable = false)
     private Long id;
@@ -43,10 +44,23 @@ public class Delivery {
     @Enumerated(EnumType.STRING)
     private Status status = Status.PROCESSING;
 
-    @CreatedDate
     @Column(name = "date", nullable = false)
     private LocalDateTime date;
 
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
     public enum Status {
         PROCESSING,
         SHIPPED,
@@ -0,0 +1,10 @@
+package com.esand.delivery.exception;
+
+import lombok.Getter;
+
+@Getter
+public class BulkLimitExceededException extends RuntimeException {
+    public BulkLimitExceededException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.esand.delivery.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message){
+        super(message);
+    }
+}
@@ -2,26 +2,74 @@ package com.esand.delivery.repository;
 
 import com.esand.delivery.entity.Delivery;
 import com.esand.delivery.repository.pagination.DeliveryDtoPagination;
+import com.esand.delivery.repository.projection.DeliveryStatusView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
-    void deleteAllByStatus(Delivery.Status status);
+    @Query("SELECT d.id FROM Delivery d WHERE d.status = :status ORDER BY d.id")
+    List<Long> findIdsByStatus(@Param("status") Delivery.Status status, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Delivery d WHERE d.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT p FROM Delivery p")
     Page<DeliveryDtoPagination> findAllPageable(Pageable pageable);
 
+    Window<DeliveryDtoPagination> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     Page<DeliveryDtoPagination> findAllByStatus(Pageable pageable, Delivery.Status status);
 
+    Window<DeliveryDtoPagination> findAllByStatus(Delivery.Status status, ScrollPosition position, Limit limit, Sort sort);
+
     Page<DeliveryDtoPagination> findByDateAfter(LocalDateTime date, Pageable pageable);
 
+    Window<DeliveryDtoPagination> findByDateAfter(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<DeliveryDtoPagination> findByDateBefore(LocalDateTime date, Pageable pageable);
 
+    Window<DeliveryDtoPagination> findByDateBefore(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<DeliveryDtoPagination> findByDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, Pageable pageable);
 
+    Window<DeliveryDtoPagination> findByDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, ScrollPosition position, Limit limit, Sort sort);
+
     boolean existsByStatus(Delivery.Status status);
+
+    @Modifying
+    @Query(value = "MERGE INTO orders o USING (VALUES (:#{#delivery.id})) AS s(id) ON o.id = s.id " +
+            "WHEN NOT MATCHED THEN INSERT (id, product_name, product_sku, client_name, client_cpf, price, quantity, total, status, date) " +
+            "VALUES (:#{#delivery.id}, :#{#delivery.title}, :#{#delivery.sku}, :#{#delivery.name}, :#{#delivery.cpf}, " +
+            ":#{#delivery.price}, :#{#delivery.quantity}, :#{#delivery.total}, :#{#delivery.status.name()}, :#{#delivery.date})",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("delivery") Delivery delivery);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d.id AS id, d.status AS status, d.sku AS sku, d.quantity AS quantity FROM Delivery d WHERE d.id IN :ids")
+    List<DeliveryStatusView> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d.id AS id, d.status AS status, d.sku AS sku, d.quantity AS quantity FROM Delivery d " +
+            "WHERE d.status = :status AND d.date < :date ORDER BY d.id")
+    List<DeliveryStatusView> findStatusByStatusAndDateBefore(@Param("status") Delivery.Status status, @Param("date") LocalDateTime date,
+                                                             Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Delivery d SET d.status = :status WHERE d.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Delivery.Status status);
 }
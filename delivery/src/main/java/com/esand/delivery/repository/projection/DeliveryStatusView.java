@@ -0,0 +1,13 @@
+package com.esand.delivery.repository.projection;
+
+import com.esand.delivery.entity.Delivery;
+
+public interface DeliveryStatusView {
+    Long getId();
+
+    Delivery.Status getStatus();
+
+    String getSku();
+
+    Integer getQuantity();
+}
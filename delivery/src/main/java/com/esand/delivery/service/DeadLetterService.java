@@ -0,0 +1,140 @@
+package com.esand.delivery.service;
+
+import com.esand.delivery.exception.ConnectionException;
+import com.esand.delivery.exception.EntityNotFoundException;
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Moves records from the dead-letter topic back to the start of the retry chain. Offsets on the dead-letter
+ * topic are only committed once the records they cover have been acknowledged on the retry topic, so a replay
+ * that is interrupted resumes where it stopped and never drops a record. Records that cannot be decoded are not
+ * replayed: they are copied back to the end of the dead-letter topic with their original bytes, and a replay only
+ * reads up to the end offsets it found when it started, so it never reads those copies again.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class DeadLetterService {
+
+    private static final String REPLAY_GROUP = "result-dlt-replay";
+    private static final LogAccessor LOG = new LogAccessor(DeadLetterService.class);
+
+    @Value("${topic_name}-failed")
+    private String retryTopic;
+    @Value("${topic_name}-failed-dlt")
+    private String deadLetterTopic;
+    @Value("${listener.retry.replay-timeout-ms:5000}")
+    private long timeoutMs;
+    private final ConsumerFactory<String, DeliverySaveDto> orderEventConsumerFactory;
+    private final KafkaTemplate<String, DeliverySaveDto> orderEventKafkaTemplate;
+    private final KafkaTemplate<String, byte[]> deadLetterKafkaTemplate;
+
+    public synchronized String replay(int max) {
+        Replay replay = new Replay();
+        try (Consumer<String, DeliverySaveDto> consumer = orderEventConsumerFactory.createConsumer(REPLAY_GROUP, null, null, overrides(max))) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(deadLetterTopic, Duration.ofMillis(timeoutMs));
+            if (partitions != null && !partitions.isEmpty()) {
+                List<TopicPartition> assigned = partitions.stream().map(p -> new TopicPartition(p.topic(), p.partition())).toList();
+                consumer.assign(assigned);
+                Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assigned, Duration.ofMillis(timeoutMs));
+                ConsumerRecords<String, DeliverySaveDto> records;
+                while (replay.replayed < max && !(records = consumer.poll(Duration.ofMillis(timeoutMs))).isEmpty()) {
+                    replay(consumer, records, endOffsets, max, replay);
+                }
+            }
+        } catch (KafkaException | CompletionException e) {
+            throw new ConnectionException("Error replaying the dead-letter topic: " + e.getMessage());
+        }
+
+        if (replay.replayed == 0 && replay.kept == 0) {
+            throw new EntityNotFoundException("No dead-letter records to replay");
+        }
+        log.info("{} records replayed from {} to {}, {} undecodable records kept", replay.replayed, deadLetterTopic, retryTopic, replay.kept);
+        String response = replay.replayed + " records replayed from " + deadLetterTopic;
+        return replay.kept == 0 ? response : response + ", " + replay.kept + " undecodable records kept on it";
+    }
+
+    private void replay(Consumer<String, DeliverySaveDto> consumer, ConsumerRecords<String, DeliverySaveDto> records,
+                        Map<TopicPartition, Long> endOffsets, int max, Replay replay) {
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (ConsumerRecord<String, DeliverySaveDto> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            if (record.offset() >= endOffsets.getOrDefault(partition, Long.MAX_VALUE)) {
+                consumer.pause(List.of(partition));
+                continue;
+            }
+            if (replay.replayed == max) {
+                break;
+            }
+            if (record.value() != null) {
+                sends.add(orderEventKafkaTemplate.send(retryTopic, record.key(), record.value()));
+                replay.replayed++;
+            } else {
+                DeserializationException error = SerializationUtils.getExceptionFromHeader(
+                        record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG);
+                if (error != null) {
+                    log.warn("Keeping undecodable record at offset {} of {} on the dead-letter topic", record.offset(), partition);
+                    sends.add(deadLetterKafkaTemplate.send(keep(record, error.getData())));
+                    replay.kept++;
+                }
+            }
+            offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+    }
+
+    private ProducerRecord<String, byte[]> keep(ConsumerRecord<String, DeliverySaveDto> record, byte[] data) {
+        ProducerRecord<String, byte[]> copy = new ProducerRecord<>(deadLetterTopic, record.key(), data);
+        for (Header header : record.headers()) {
+            if (!SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER.equals(header.key())) {
+                copy.headers().add(header.key(), header.value());
+            }
+        }
+        return copy;
+    }
+
+    private Properties overrides(int max) {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(max, 500));
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return properties;
+    }
+
+    private static class Replay {
+        private int replayed;
+        private int kept;
+    }
+}
@@ -1,42 +1,104 @@
 package com.esand.delivery.service;
 
-import com.esand.delivery.client.products.ProductClient;
 import com.esand.delivery.entity.Delivery;
-import com.esand.delivery.exception.ConnectionException;
+import com.esand.delivery.entity.OutboxEvent;
+import com.esand.delivery.exception.BulkLimitExceededException;
 import com.esand.delivery.exception.EntityNotFoundException;
 import com.esand.delivery.exception.DeliveryCanceledException;
 import com.esand.delivery.exception.DeliveryShippedException;
+import com.esand.delivery.exception.UnknownErrorException;
 import com.esand.delivery.repository.DeliveryRepository;
+import com.esand.delivery.repository.OutboxEventRepository;
+import com.esand.delivery.repository.pagination.DeliveryDtoPagination;
+import com.esand.delivery.repository.pagination.Keyset;
+import com.esand.delivery.repository.projection.DeliveryStatusView;
+import com.esand.delivery.web.dto.BulkStatusDto;
+import com.esand.delivery.web.dto.BulkStatusResponseDto;
 import com.esand.delivery.web.dto.DeliveryResponseDto;
+import com.esand.delivery.web.dto.DeliveryStatusDto;
 import com.esand.delivery.web.dto.DeliverySaveDto;
 import com.esand.delivery.web.dto.PageableDto;
+import com.esand.delivery.web.dto.StockReleaseDto;
 import com.esand.delivery.web.mapper.DeliveryMapper;
-import feign.FeignException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Log4j2
 @RequiredArgsConstructor
 public class DeliveryService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_DATE = Sort.by("date", "id");
+
+    @Value("${stock_release_topic_name}")
+    private String stockReleaseTopicName;
+    @Value("${delivery_status_topic_name}")
+    private String deliveryStatusTopicName;
     private final DeliveryRepository deliveryRepository;
     private final DeliveryMapper deliveryMapper;
-    private final ProductClient productClient;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inserts the delivery unless one already exists for the order id, in a single statement.
+     * Returns false when the record is a replay and was skipped.
+     */
+    @Transactional
+    public boolean save(DeliverySaveDto dto) {
+        Delivery delivery = toDelivery(dto);
+        if (deliveryRepository.insertIfAbsent(delivery) == 0) {
+            return false;
+        }
+        enqueueStatusChange(delivery.getId(), delivery.getStatus());
+        return true;
+    }
 
+    /**
+     * Persists a batch as plain inserts, without the SELECT that merging an assigned id would issue.
+     * Duplicate ids inside the batch keep their first occurrence; a row that already exists fails the batch
+     * with a key violation, and the caller is expected to fall back to {@link #save(DeliverySaveDto)}.
+     */
     @Transactional
-    public void save(DeliverySaveDto dto) {
-        deliveryRepository.save(deliveryMapper.toDelivery(dto));
+    public void saveAll(List<DeliverySaveDto> dtos) {
+        Map<Long, Delivery> deliveries = new LinkedHashMap<>();
+        for (DeliverySaveDto dto : dtos) {
+            deliveries.computeIfAbsent(dto.getId(), id -> {
+                Delivery delivery = toDelivery(dto);
+                delivery.setNewEntity(true);
+                return delivery;
+            });
+        }
+        deliveryRepository.saveAll(deliveries.values());
+        enqueueStatusChanges(deliveries.keySet(), Delivery.Status.PROCESSING);
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAll(Pageable pageable) {
-        PageableDto dto = deliveryMapper.toPageableDto(deliveryRepository.findAllPageable(pageable));
+    public PageableDto findAll(Pageable pageable, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, deliveryRepository::findAllPageable, deliveryRepository::findAllBy);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found");
         }
@@ -49,8 +111,8 @@ public class DeliveryService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAllShipped(Pageable pageable) {
-        PageableDto dto =  deliveryMapper.toPageableDto(deliveryRepository.findAllByStatus(pageable, Delivery.Status.SHIPPED));
+    public PageableDto findAllShipped(Pageable pageable, String token, boolean count) {
+        PageableDto dto = findAllByStatus(pageable, Delivery.Status.SHIPPED, token, count);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found");
         }
@@ -58,8 +120,8 @@ public class DeliveryService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAllProcessing(Pageable pageable) {
-        PageableDto dto =  deliveryMapper.toPageableDto(deliveryRepository.findAllByStatus(pageable, Delivery.Status.PROCESSING));
+    public PageableDto findAllProcessing(Pageable pageable, String token, boolean count) {
+        PageableDto dto = findAllByStatus(pageable, Delivery.Status.PROCESSING, token, count);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found");
         }
@@ -67,8 +129,8 @@ public class DeliveryService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAllCanceled(Pageable pageable) {
-        PageableDto dto =  deliveryMapper.toPageableDto(deliveryRepository.findAllByStatus(pageable, Delivery.Status.CANCELED));
+    public PageableDto findAllCanceled(Pageable pageable, String token, boolean count) {
+        PageableDto dto = findAllByStatus(pageable, Delivery.Status.CANCELED, token, count);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found");
         }
@@ -76,14 +138,21 @@ public class DeliveryService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findDeliveryByDate(String afterDate, String beforeDate, Pageable pageable) {
+    public PageableDto findDeliveryByDate(String afterDate, String beforeDate, Pageable pageable, String token, boolean count) {
         PageableDto dto;
         if (afterDate != null && beforeDate != null) {
-            dto = deliveryMapper.toPageableDto(deliveryRepository.findByDateBetween(LocalDate.parse(afterDate).atStartOfDay(), LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> deliveryRepository.findByDateBetween(after, before, page),
+                    (position, limit, sort) -> deliveryRepository.findByDateBetween(after, before, position, limit, sort));
         } else if (afterDate != null) {
-            dto = deliveryMapper.toPageableDto(deliveryRepository.findByDateAfter(LocalDate.parse(afterDate).atStartOfDay(), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            dto = page(pageable, token, count, BY_DATE, page -> deliveryRepository.findByDateAfter(after, page),
+                    (position, limit, sort) -> deliveryRepository.findByDateAfter(after, position, limit, sort));
         } else if (beforeDate != null) {
-            dto = deliveryMapper.toPageableDto(deliveryRepository.findByDateBefore(LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> deliveryRepository.findByDateBefore(before, page),
+                    (position, limit, sort) -> deliveryRepository.findByDateBefore(before, position, limit, sort));
         } else {
             throw new EntityNotFoundException("No date parameters provided");
         }
@@ -95,26 +164,20 @@ public class DeliveryService {
         return dto;
     }
 
-    @Transactional(noRollbackFor= Exception.class)
+    /**
+     * Cancels the delivery and queues a stock release for products in the same transaction. Products applies it
+     * from the outbox asynchronously, so canceling does not wait on, or fail with, the products service.
+     */
+    @Transactional
     public String cancel(Long id) {
         Delivery delivery = findOrderById(id);
         if (delivery.getStatus().equals(Delivery.Status.CANCELED)) {
             throw new DeliveryCanceledException("Order nº" + delivery.getId() + " has already been canceled");
         }
 
-        try {
-            productClient.checkStatus();
-        } catch (FeignException.ServiceUnavailable e) {
-            throw new ConnectionException(e.getMessage());
-        }
-
         delivery.setStatus(Delivery.Status.CANCELED);
-
-        try {
-            productClient.addProductQuantityBySku(delivery.getSku(), delivery.getQuantity());
-        } catch (FeignException.NotFound e) {
-            throw new EntityNotFoundException(e.getMessage());
-        }
+        enqueueStockRelease(delivery);
+        enqueueStatusChange(delivery.getId(), delivery.getStatus());
 
         return "Order nº" + delivery.getId() + " status changed to canceled successfully";
     }
@@ -129,15 +192,171 @@ public class DeliveryService {
             throw new DeliveryCanceledException("Order nº" + delivery.getId() + " is canceled");
         }
         delivery.setStatus(Delivery.Status.SHIPPED);
+        enqueueStatusChange(delivery.getId(), delivery.getStatus());
         return "Order nº" + delivery.getId() + " status changed to shipped successfully";
     }
 
-    @Transactional
-    public void deleteAllCanceled() {
+    @Transactional(readOnly = true)
+    public void verifyCanceledExists() {
         if (!deliveryRepository.existsByStatus(Delivery.Status.CANCELED)) {
             throw new EntityNotFoundException("No deliveries canceled found");
         }
-        deliveryRepository.deleteAllByStatus(Delivery.Status.CANCELED);
+    }
+
+    @Transactional
+    public int deleteCanceledChunk(int size) {
+        List<Long> ids = deliveryRepository.findIdsByStatus(Delivery.Status.CANCELED, PageRequest.of(0, size));
+        return ids.isEmpty() ? 0 : deliveryRepository.deleteAllByIdIn(ids);
+    }
+
+    @Transactional
+    public BulkStatusResponseDto shipAll(BulkStatusDto dto) {
+        return transition(dto, Delivery.Status.SHIPPED, view -> switch (view.getStatus()) {
+            case PROCESSING -> null;
+            case SHIPPED -> BulkStatusResponseDto.Outcome.ALREADY_SHIPPED;
+            case CANCELED -> BulkStatusResponseDto.Outcome.CANCELED;
+        }, shipped -> {});
+    }
+
+    @Transactional
+    public BulkStatusResponseDto cancelAll(BulkStatusDto dto) {
+        return transition(dto, Delivery.Status.CANCELED, view -> view.getStatus() == Delivery.Status.CANCELED
+                ? BulkStatusResponseDto.Outcome.ALREADY_CANCELED
+                : null, this::enqueueStockReleases);
+    }
+
+    /**
+     * Moves every selected delivery the rejection function lets through to the target status. The candidates are
+     * read and locked with one projection query and changed with set-based UPDATEs, without loading entities.
+     * Deliveries are selected by id, at most one chunk of them, or as the PROCESSING deliveries up to and including
+     * {@code beforeDate}. A date selection handles at most one chunk, oldest ids first, and reports through
+     * {@code hasMore} that more deliveries are left, so the caller repeats the request until it is false instead of
+     * locking the whole range at once.
+     */
+    private BulkStatusResponseDto transition(BulkStatusDto dto,
+                                             Delivery.Status target,
+                                             Function<DeliveryStatusView, BulkStatusResponseDto.Outcome> rejection,
+                                             Consumer<List<DeliveryStatusView>> onUpdated) {
+        Map<Long, BulkStatusResponseDto.Outcome> results = new LinkedHashMap<>();
+        List<DeliveryStatusView> candidates = new ArrayList<>();
+        boolean hasMore = false;
+        if (dto.getIds() != null && !dto.getIds().isEmpty()) {
+            if (dto.getIds().size() > BULK_CHUNK_SIZE) {
+                throw new BulkLimitExceededException("At most " + BULK_CHUNK_SIZE + " ids can be changed per request");
+            }
+            List<Long> ids = dto.getIds().stream().filter(Objects::nonNull).distinct().toList();
+            ids.forEach(id -> results.put(id, BulkStatusResponseDto.Outcome.NOT_FOUND));
+            candidates.addAll(deliveryRepository.findStatusByIdIn(ids));
+        } else if (dto.getBeforeDate() != null) {
+            candidates.addAll(deliveryRepository.findStatusByStatusAndDateBefore(Delivery.Status.PROCESSING,
+                    LocalDate.parse(dto.getBeforeDate()).atStartOfDay().plusDays(1), PageRequest.of(0, BULK_CHUNK_SIZE + 1)));
+            if (candidates.size() > BULK_CHUNK_SIZE) {
+                candidates.remove(BULK_CHUNK_SIZE);
+                hasMore = true;
+            }
+        } else {
+            throw new EntityNotFoundException("No ids or date provided");
+        }
+
+        List<DeliveryStatusView> accepted = new ArrayList<>();
+        for (DeliveryStatusView view : candidates) {
+            BulkStatusResponseDto.Outcome rejected = rejection.apply(view);
+            if (rejected == null) {
+                accepted.add(view);
+            }
+            results.put(view.getId(), rejected == null ? BulkStatusResponseDto.Outcome.UPDATED : rejected);
+        }
+
+        List<Long> ids = accepted.stream().map(DeliveryStatusView::getId).toList();
+        chunks(ids).forEach(chunk -> deliveryRepository.updateStatus(chunk, target));
+        enqueueStatusChanges(ids, target);
+        onUpdated.accept(accepted);
+        return new BulkStatusResponseDto(accepted.size(), results, hasMore);
+    }
+
+    private void enqueueStockRelease(Delivery delivery) {
+        outboxEventRepository.save(stockReleaseEvent(delivery.getId(), delivery.getSku(), delivery.getQuantity()));
+    }
+
+    private void enqueueStockReleases(List<DeliveryStatusView> canceled) {
+        outboxEventRepository.saveAll(canceled.stream()
+                .map(view -> stockReleaseEvent(view.getId(), view.getSku(), view.getQuantity()))
+                .toList());
+    }
+
+    /**
+     * Maps an order event to a new delivery dated by the event, or by now when the event carries no date,
+     * so the batch and the single-record path store the same date for the same record.
+     */
+    private Delivery toDelivery(DeliverySaveDto dto) {
+        Delivery delivery = deliveryMapper.toDelivery(dto);
+        if (delivery.getDate() == null) {
+            delivery.setDate(LocalDateTime.now());
+        }
+        return delivery;
+    }
+
+    private void enqueueStatusChange(Long id, Delivery.Status status) {
+        outboxEventRepository.save(statusEvent(id, status, LocalDateTime.now()));
+    }
+
+    private void enqueueStatusChanges(Collection<Long> ids, Delivery.Status status) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime date = LocalDateTime.now();
+        outboxEventRepository.saveAll(ids.stream().map(id -> statusEvent(id, status, date)).toList());
+    }
+
+    private OutboxEvent statusEvent(Long id, Delivery.Status status, LocalDateTime date) {
+        try {
+            return new OutboxEvent(deliveryStatusTopicName, String.valueOf(id),
+                    objectMapper.writeValueAsString(new DeliveryStatusDto(id, status.name(), date)));
+        } catch (JsonProcessingException e) {
+            throw new UnknownErrorException();
+        }
+    }
+
+    private OutboxEvent stockReleaseEvent(Long id, String sku, Integer quantity) {
+        try {
+            return new OutboxEvent(stockReleaseTopicName, sku, objectMapper.writeValueAsString(new StockReleaseDto(id, sku, quantity)));
+        } catch (JsonProcessingException e) {
+            throw new UnknownErrorException();
+        }
+    }
+
+    private PageableDto findAllByStatus(Pageable pageable, Delivery.Status status, String token, boolean count) {
+        return page(pageable, token, count, BY_ID, page -> deliveryRepository.findAllByStatus(page, status),
+                (position, limit, sort) -> deliveryRepository.findAllByStatus(status, position, limit, sort));
+    }
+
+    /**
+     * Reads one page of a listing. Without a token it is the usual offset page, with its total count unless
+     * {@code count} is false, in which case it only reports whether a next page exists. With a token it is a keyset
+     * page that seeks past the previous page on {@code keys} and returns the token of the next one.
+     */
+    private PageableDto page(Pageable pageable, String token, boolean count, Sort keys,
+                             Function<Pageable, Page<DeliveryDtoPagination>> offset,
+                             Keyset.Query<DeliveryDtoPagination> scroll) {
+        int size = pageable.getPageSize();
+        if (token != null) {
+            return deliveryMapper.toPageableDto(scroll.scroll(Keyset.decode(token, keys), Limit.of(size), keys), size, token.isEmpty());
+        }
+        if (count) {
+            return deliveryMapper.toPageableDto(offset.apply(pageable));
+        }
+        ScrollPosition position = pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+        PageableDto dto = deliveryMapper.toPageableDto(scroll.scroll(position, Limit.of(size), pageable.getSortOr(keys)), size, pageable.getOffset() == 0);
+        dto.setNumber(pageable.getPageNumber());
+        return dto;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(i, Math.min(i + BULK_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
     }
 
     private Delivery findOrderById(Long id) {
@@ -0,0 +1,102 @@
+package com.esand.delivery.service;
+
+import com.esand.delivery.exception.EntityNotFoundException;
+import com.esand.delivery.exception.PurgeRejectedException;
+import com.esand.delivery.web.dto.PurgeResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Purges canceled deliveries in the background, one bounded chunk per transaction, so a large backlog is never
+ * loaded into the persistence context nor held under a single long-running lock. Only one purge runs at a time;
+ * asking for another while it runs returns the running job.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PurgeService {
+
+    @Value("${purges.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${purges.retention-minutes:60}")
+    private long retentionMinutes;
+    private final DeliveryService deliveryService;
+    private final ThreadPoolTaskExecutor purgeExecutor;
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<PurgeJob> running = new AtomicReference<>();
+
+    public PurgeResponseDto purgeCanceled() {
+        deliveryService.verifyCanceledExists();
+
+        PurgeJob job = new PurgeJob("canceled");
+        while (!running.compareAndSet(null, job)) {
+            PurgeJob current = running.get();
+            if (current != null) {
+                return toDto(current);
+            }
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            purgeExecutor.execute(() -> process(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            running.set(null);
+            throw new PurgeRejectedException("A purge is already running, try again later");
+        }
+        return toDto(job);
+    }
+
+    public PurgeResponseDto findById(String id) {
+        PurgeJob job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Purge not found");
+        }
+        return toDto(job);
+    }
+
+    @Scheduled(fixedDelayString = "${purges.eviction-interval-ms:60000}")
+    public void evictFinished() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(limit));
+    }
+
+    private void process(PurgeJob job) {
+        try {
+            int deleted;
+            do {
+                deleted = deliveryService.deleteCanceledChunk(chunkSize);
+                job.progress(deleted);
+            } while (deleted > 0);
+            job.complete();
+            log.info("Purge {} deleted {} canceled deliveries", job.getId(), job.getDeleted().get());
+        } catch (RuntimeException e) {
+            log.error("Error in purge {}", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            running.compareAndSet(job, null);
+        }
+    }
+
+    private PurgeResponseDto toDto(PurgeJob job) {
+        return new PurgeResponseDto(
+                job.getId(),
+                job.getTarget(),
+                job.getStatus().name(),
+                job.getDeleted().get(),
+                job.getMessage(),
+                job.getCreateDate(),
+                job.getFinishedAt()
+        );
+    }
+}
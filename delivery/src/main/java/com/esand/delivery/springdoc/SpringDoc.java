@@ -1,7 +1,10 @@
 package com.esand.delivery.springdoc;
 
+import com.esand.delivery.web.dto.BulkStatusDto;
+import com.esand.delivery.web.dto.BulkStatusResponseDto;
 import com.esand.delivery.web.dto.DeliveryResponseDto;
 import com.esand.delivery.web.dto.PageableDto;
+import com.esand.delivery.web.dto.PurgeResponseDto;
 import com.esand.delivery.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 @Tag(name = "Deliveries", description = "Contains all operations related to delivery management, including searching, updating, and deletion")
@@ -26,10 +30,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No deliveries found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                        @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                        @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for delivery by ID",
             description = "Endpoint to search for a delivery by ID.")
@@ -50,10 +59,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No shipped deliveries found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAllShipped(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAllShipped(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                               @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                               @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for all processing deliveries",
             description = "Endpoint to search for all processing deliveries.")
@@ -62,10 +76,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No processing deliveries found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAllProcessing(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAllProcessing(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                                  @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                                  @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for all canceled deliveries",
             description = "Endpoint to search for all canceled deliveries.")
@@ -74,10 +93,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No canceled deliveries found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAllCanceled(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAllCanceled(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                                @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                                @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for deliveries by date",
             description = "Endpoint to search for deliveries by date range.")
@@ -86,12 +110,17 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No deliveries found by date",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
     ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                            @RequestParam(value = "afterDate", required = false) String afterDate,
-                                           @RequestParam(value = "beforeDate", required = false) String beforeDate);
+                                           @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                           @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                           @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Cancel a delivery",
             description = "Endpoint to cancel a delivery by its ID.")
@@ -129,14 +158,79 @@ public interface SpringDoc {
     })
     ResponseEntity<String> productShipped(@PathVariable Long id);
 
+    @Operation(summary = "Cancel deliveries in bulk",
+            description = "Endpoint to cancel the deliveries whose IDs are given, or the processing deliveries up to a date. " +
+                    "Returns the outcome for each delivery. Up to 1000 IDs can be given per request, and a date selection " +
+                    "handles up to 1000 deliveries per request; repeat it while 'hasMore' is true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk cancel applied",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkStatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "More than 1000 IDs provided",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "No IDs or date provided",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<BulkStatusResponseDto> cancelDeliveries(@RequestBody BulkStatusDto dto);
+
+    @Operation(summary = "Ship deliveries in bulk",
+            description = "Endpoint to mark as shipped the deliveries whose IDs are given, or the processing deliveries up to a date. " +
+                    "Returns the outcome for each delivery. Up to 1000 IDs can be given per request, and a date selection " +
+                    "handles up to 1000 deliveries per request; repeat it while 'hasMore' is true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk shipment applied",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkStatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "More than 1000 IDs provided",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "No IDs or date provided",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<BulkStatusResponseDto> deliveriesShipped(@RequestBody BulkStatusDto dto);
+
     @Operation(summary = "Delete all canceled deliveries",
-            description = "Endpoint to delete all deliveries that have been canceled.")
+            description = "Endpoint to delete all deliveries that have been canceled. The deliveries are deleted in chunks in the background and the returned handle can be polled for the progress.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "All canceled deliveries deleted successfully",
-                    content = @Content),
+            @ApiResponse(responseCode = "202", description = "Purge of canceled deliveries started",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PurgeResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "No canceled deliveries found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Purge could not be started",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<PurgeResponseDto> deleteAllCanceled();
+
+    @Operation(summary = "Search for a purge",
+            description = "Endpoint to poll the progress of a purge by its handle.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purge found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PurgeResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Purge not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<PurgeResponseDto> findPurge(@PathVariable String id);
+
+    @Operation(summary = "Replay dead-letter records",
+            description = "Endpoint to send up to 'max' records from the dead-letter topic back to the retry topic.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dead-letter records replayed successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "404", description = "No dead-letter records to replay",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Kafka is unavailable",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<Void> deleteAllCanceled();
+    ResponseEntity<String> replayDeadLetters(@RequestParam(value = "max", defaultValue = "500") Integer max);
 }
@@ -1,9 +1,14 @@
 package com.esand.delivery.web.controller;
 
+import com.esand.delivery.service.DeadLetterService;
 import com.esand.delivery.service.DeliveryService;
+import com.esand.delivery.service.PurgeService;
 import com.esand.delivery.springdoc.SpringDoc;
+import com.esand.delivery.web.dto.BulkStatusDto;
+import com.esand.delivery.web.dto.BulkStatusResponseDto;
 import com.esand.delivery.web.dto.DeliveryResponseDto;
 import com.esand.delivery.web.dto.PageableDto;
+import com.esand.delivery.web.dto.PurgeResponseDto;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -11,16 +16,22 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/v1/deliveries")
 public class DeliveryController implements SpringDoc {
 
     private final DeliveryService deliveryService;
+    private final DeadLetterService deadLetterService;
+    private final PurgeService purgeService;
 
     @GetMapping
-    public ResponseEntity<PageableDto> findAll(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(deliveryService.findAll(pageable));
+    public ResponseEntity<PageableDto> findAll(@PageableDefault(size = 10) Pageable pageable,
+                                               @RequestParam(value = "token", required = false) String token,
+                                               @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(deliveryService.findAll(pageable, token, count));
     }
 
     @GetMapping("/id/{id}")
@@ -29,25 +40,33 @@ public class DeliveryController implements SpringDoc {
     }
 
     @GetMapping("/shipped")
-    public ResponseEntity<PageableDto> findAllShipped(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(deliveryService.findAllShipped(pageable));
+    public ResponseEntity<PageableDto> findAllShipped(@PageableDefault(size = 10) Pageable pageable,
+                                                      @RequestParam(value = "token", required = false) String token,
+                                                      @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(deliveryService.findAllShipped(pageable, token, count));
     }
 
     @GetMapping("/processing")
-    public ResponseEntity<PageableDto> findAllProcessing(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(deliveryService.findAllProcessing(pageable));
+    public ResponseEntity<PageableDto> findAllProcessing(@PageableDefault(size = 10) Pageable pageable,
+                                                         @RequestParam(value = "token", required = false) String token,
+                                                         @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(deliveryService.findAllProcessing(pageable, token, count));
     }
 
     @GetMapping("/canceled")
-    public ResponseEntity<PageableDto> findAllCanceled(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(deliveryService.findAllCanceled(pageable));
+    public ResponseEntity<PageableDto> findAllCanceled(@PageableDefault(size = 10) Pageable pageable,
+                                                       @RequestParam(value = "token", required = false) String token,
+                                                       @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(deliveryService.findAllCanceled(pageable, token, count));
     }
 
     @GetMapping("/date")
     public ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                                   @RequestParam(value = "afterDate", required = false) String afterDate,
-                                                  @RequestParam(value = "beforeDate", required = false) String beforeDate) {
-        return ResponseEntity.ok(deliveryService.findDeliveryByDate(afterDate, beforeDate, pageable));
+                                                  @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                                  @RequestParam(value = "token", required = false) String token,
+                                                  @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(deliveryService.findDeliveryByDate(afterDate, beforeDate, pageable, token, count));
     }
 
     @PatchMapping("/cancel/{id}")
@@ -60,9 +79,31 @@ public class DeliveryController implements SpringDoc {
         return ResponseEntity.ok(deliveryService.statusShipped(id));
     }
 
+    @PatchMapping("/cancel")
+    public ResponseEntity<BulkStatusResponseDto> cancelDeliveries(@RequestBody BulkStatusDto dto) {
+        return ResponseEntity.ok(deliveryService.cancelAll(dto));
+    }
+
+    @PatchMapping("/shipped")
+    public ResponseEntity<BulkStatusResponseDto> deliveriesShipped(@RequestBody BulkStatusDto dto) {
+        return ResponseEntity.ok(deliveryService.shipAll(dto));
+    }
+
     @DeleteMapping("/delete/canceled")
-    public ResponseEntity<Void> deleteAllCanceled() {
-        deliveryService.deleteAllCanceled();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<PurgeResponseDto> deleteAllCanceled() {
+        PurgeResponseDto dto = purgeService.purgeCanceled();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/deliveries/purges/" + dto.getId()))
+                .body(dto);
+    }
+
+    @GetMapping("/purges/{id}")
+    public ResponseEntity<PurgeResponseDto> findPurge(@PathVariable String id) {
+        return ResponseEntity.ok(purgeService.findById(id));
+    }
+
+    @PostMapping("/dead-letters/replay")
+    public ResponseEntity<String> replayDeadLetters(@RequestParam(value = "max", defaultValue = "500") Integer max) {
+        return ResponseEntity.ok(deadLetterService.replay(max));
     }
 }
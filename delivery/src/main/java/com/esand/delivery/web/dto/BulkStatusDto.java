@@ -0,0 +1,17 @@
+package com.esand.delivery.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusDto {
+    private List<Long> ids;
+    private String beforeDate;
+}
@@ -0,0 +1,26 @@
+package com.esand.delivery.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusResponseDto {
+    private int updated;
+    private Map<Long, Outcome> results;
+    private boolean hasMore;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        ALREADY_SHIPPED,
+        ALREADY_CANCELED,
+        CANCELED
+    }
+}
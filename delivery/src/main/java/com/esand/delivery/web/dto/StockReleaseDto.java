@@ -0,0 +1,18 @@
+package com.esand.delivery.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReleaseDto implements Serializable {
+    private Long orderId;
+    private String sku;
+    private Integer quantity;
+}
@@ -1,9 +1,12 @@
 package com.esand.delivery.web.exception;
 
+import com.esand.delivery.exception.BulkLimitExceededException;
 import com.esand.delivery.exception.ConnectionException;
 import com.esand.delivery.exception.EntityNotFoundException;
 import com.esand.delivery.exception.DeliveryCanceledException;
 import com.esand.delivery.exception.DeliveryShippedException;
+import com.esand.delivery.exception.InvalidTokenException;
+import com.esand.delivery.exception.PurgeRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -16,6 +19,24 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
+    @ExceptionHandler(InvalidTokenException.class)
+    public final ResponseEntity<ErrorMessage> invalidTokenException(InvalidTokenException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(BulkLimitExceededException.class)
+    public final ResponseEntity<ErrorMessage> bulkLimitExceededException(BulkLimitExceededException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
     @ExceptionHandler(DeliveryShippedException.class)
     public final ResponseEntity<ErrorMessage> orderCancelledException(DeliveryShippedException ex, HttpServletRequest request) {
         log.error("API Error", ex);
@@ -52,4 +73,13 @@ public class ApiExceptionHandler {
                 .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
     }
 
+    @ExceptionHandler(PurgeRejectedException.class)
+    public final ResponseEntity<ErrorMessage> purgeRejectedException(PurgeRejectedException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
 }
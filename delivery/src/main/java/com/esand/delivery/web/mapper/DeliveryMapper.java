@@ -1,21 +1,37 @@
 package com.esand.delivery.web.mapper;
 
 import com.esand.delivery.entity.Delivery;
+import com.esand.delivery.repository.pagination.Keyset;
 import com.esand.delivery.web.dto.DeliveryResponseDto;
 import com.esand.delivery.web.dto.DeliverySaveDto;
 import com.esand.delivery.web.dto.PageableDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface DeliveryMapper {
     DeliveryMapper INSTANCE = Mappers.getMapper(DeliveryMapper.class);
 
+    @Mapping(target = "newEntity", ignore = true)
     Delivery toDelivery(DeliverySaveDto dto);
 
     DeliveryResponseDto toDto(Delivery delivery);
 
+    @Mapping(target = "next", ignore = true)
     PageableDto toPageableDto(Page page);
+
+    default PageableDto toPageableDto(Window<?> window, int size, boolean first) {
+        PageableDto dto = new PageableDto();
+        dto.setContent(window.getContent());
+        dto.setFirst(first);
+        dto.setLast(!window.hasNext());
+        dto.setSize(size);
+        dto.setNumberOfElements(window.size());
+        dto.setNext(Keyset.encode(window));
+        return dto;
+    }
 }
@@ -0,0 +1,13 @@
+create table orders (
+    id bigint not null,
+    product_name varchar(255),
+    product_sku varchar(255),
+    client_name varchar(255),
+    client_cpf varchar(255),
+    price float(53),
+    quantity integer,
+    total float(53),
+    status enum ('CANCELED','PROCESSING','SHIPPED'),
+    date timestamp(6) not null,
+    primary key (id)
+);
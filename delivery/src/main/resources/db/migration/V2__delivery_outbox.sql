@@ -0,0 +1,13 @@
+create sequence delivery_outbox_seq start with 1 increment by 50;
+
+create table delivery_outbox (
+    id bigint not null,
+    topic varchar(100) not null,
+    message_key varchar(100),
+    payload varchar(4000) not null,
+    create_date timestamp(6) not null,
+    sent_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_delivery_outbox_sent_at on delivery_outbox (sent_at, id);
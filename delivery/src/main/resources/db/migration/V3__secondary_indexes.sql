@@ -0,0 +1,2 @@
+create index idx_orders_status on orders (status, id);
+create index idx_orders_date on orders (date, id);
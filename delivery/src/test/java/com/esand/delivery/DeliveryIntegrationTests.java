@@ -1,14 +1,21 @@
 package com.esand.delivery;
 
-import com.esand.delivery.client.products.ProductClient;
 import com.esand.delivery.config.Listener;
 import com.esand.delivery.entity.Delivery;
 import com.esand.delivery.entity.EntityMock;
+import com.esand.delivery.entity.OutboxEvent;
 import com.esand.delivery.repository.DeliveryRepository;
+import com.esand.delivery.repository.OutboxEventRepository;
+import com.esand.delivery.web.dto.BulkStatusDto;
 import com.esand.delivery.web.dto.DeliveryResponseDto;
 import com.esand.delivery.web.dto.DeliverySaveDto;
+import com.esand.delivery.web.dto.DeliveryStatusDto;
+import com.esand.delivery.web.dto.StockReleaseDto;
 import com.esand.delivery.web.mapper.DeliveryMapper;
-import feign.FeignException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,18 +24,39 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import javax.swing.text.html.parser.Entity;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,8 +72,11 @@ public class DeliveryIntegrationTests {
     @Autowired
     private DeliveryMapper deliveryMapper;
 
-    @MockBean
-    private ProductClient productClient;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Autowired
     private MockMvc mockMvc;
@@ -53,9 +84,29 @@ public class DeliveryIntegrationTests {
     @Autowired
     private Listener listener;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private KafkaTemplate<String, DeliverySaveDto> orderEventKafkaTemplate;
+
     @BeforeEach
     public void setUp() {
         deliveryRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+    }
+
+    double consumedCount(String partition) {
+        Counter counter = meterRegistry.find("delivery.orders.consumed").tag("partition", partition).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    List<ConsumerRecord<String, DeliverySaveDto>> records(int partition, DeliverySaveDto... dtos) {
+        List<ConsumerRecord<String, DeliverySaveDto>> records = new ArrayList<>();
+        for (DeliverySaveDto dto : dtos) {
+            records.add(new ConsumerRecord<>("Orders", partition, records.size(), String.valueOf(dto.getId()), dto));
+        }
+        return records;
     }
 
     Delivery createDelivery() {
@@ -66,7 +117,7 @@ public class DeliveryIntegrationTests {
     void testSaveDeliverySuccess() {
         DeliverySaveDto deliverySaveDto = EntityMock.saveDto();
 
-        listener.consumer(deliverySaveDto);
+        listener.consumer(records(0, deliverySaveDto));
 
         Delivery savedDelivery = deliveryRepository.findById(deliverySaveDto.getId()).orElse(null);
         assertNotNull(savedDelivery);
@@ -80,6 +131,100 @@ public class DeliveryIntegrationTests {
         assertEquals(deliverySaveDto.getTotal(), savedDelivery.getTotal());
     }
 
+    @Test
+    void testSaveDeliveryBatchSuccess() {
+        DeliverySaveDto first = EntityMock.saveDto();
+        DeliverySaveDto second = EntityMock.saveDto();
+        second.setId(2L);
+        DeliverySaveDto redelivered = EntityMock.saveDto();
+        redelivered.setQuantity(5);
+
+        double consumedBefore = consumedCount("1");
+
+        listener.consumer(records(1, first, second, redelivered));
+
+        assertEquals(2, deliveryRepository.count());
+        assertEquals(consumedBefore + 3, consumedCount("1"));
+        assertEquals(first.getQuantity(), deliveryRepository.findById(1L).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testSaveDeliveryReplaySkipped() {
+        DeliverySaveDto original = EntityMock.saveDto();
+        listener.consumer(records(0, original));
+
+        DeliverySaveDto replay = EntityMock.saveDto();
+        replay.setQuantity(5);
+        DeliverySaveDto next = EntityMock.saveDto();
+        next.setId(2L);
+        listener.consumer(records(0, replay, next));
+
+        assertEquals(2, deliveryRepository.count());
+        assertEquals(original.getQuantity(), deliveryRepository.findById(1L).orElseThrow().getQuantity());
+        assertNotNull(deliveryRepository.findById(2L).orElseThrow().getDate());
+    }
+
+    @Test
+    void testSaveDeliveryFailureForwardedToRetry() {
+        DeliverySaveDto valid = EntityMock.saveDto();
+        DeliverySaveDto invalid = EntityMock.saveDto();
+        invalid.setId(null);
+        when(orderEventKafkaTemplate.send(any(String.class), any(String.class), any(DeliverySaveDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        listener.consumer(records(0, valid, invalid));
+
+        assertTrue(deliveryRepository.existsById(valid.getId()));
+        verify(orderEventKafkaTemplate).send(eq("Orders-failed"), eq("null"), eq(invalid));
+        verify(orderEventKafkaTemplate, never()).send(any(String.class), any(String.class), eq(valid));
+    }
+
+    @Test
+    void testSaveDeliveryRetryForwardFailure() {
+        DeliverySaveDto invalid = EntityMock.saveDto();
+        invalid.setId(null);
+        when(orderEventKafkaTemplate.send(any(String.class), any(String.class), any(DeliverySaveDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        assertThrows(CompletionException.class, () -> listener.consumer(records(0, invalid)));
+    }
+
+    @Test
+    void testSaveDeliveryUndecodableRecordReported() {
+        DeliverySaveDto before = EntityMock.saveDto();
+        DeliverySaveDto after = EntityMock.saveDto();
+        after.setId(2L);
+        List<ConsumerRecord<String, DeliverySaveDto>> records = new ArrayList<>(records(0, before));
+        ConsumerRecord<String, DeliverySaveDto> undecodable = new ConsumerRecord<>("Orders", 0, 1, "x", null);
+        SerializationUtils.deserializationException(undecodable.headers(), "x".getBytes(),
+                new SerializationException("Record on topic Orders is not an order event"), false);
+        records.add(undecodable);
+        records.add(new ConsumerRecord<>("Orders", 0, 2, "2", after));
+
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class, () -> listener.consumer(records));
+
+        assertEquals(1, e.getIndex());
+        assertInstanceOf(DeserializationException.class, e.getCause());
+        assertTrue(deliveryRepository.existsById(before.getId()));
+        assertFalse(deliveryRepository.existsById(after.getId()));
+    }
+
+    @Test
+    void testRetryDeliverySuccess() {
+        DeliverySaveDto deliverySaveDto = EntityMock.saveDto();
+
+        listener.retry(deliverySaveDto);
+
+        assertTrue(deliveryRepository.existsById(deliverySaveDto.getId()));
+    }
+
+    @Test
+    void testReplayDeadLettersKafkaUnavailable() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/deliveries/dead-letters/replay")
+                        .param("max", "10"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     void testFindAllDeliverySuccess() throws Exception{
         createDelivery();
@@ -321,14 +466,19 @@ public class DeliveryIntegrationTests {
     void testCancelDeliveryByIdSuccess() throws Exception{
         Delivery delivery = createDelivery();
 
-        doNothing().when(productClient).checkStatus();
-        doNothing().when(productClient).addProductQuantityBySku(any(String.class), any(Integer.class));
-
         mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/cancel/" + delivery.getId())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Order nº" + delivery.getId() + " status changed to canceled successfully")
                 );
+
+        assertEquals(Delivery.Status.CANCELED, deliveryRepository.findById(delivery.getId()).orElseThrow().getStatus());
+        List<OutboxEvent> events = outboxEvents("StockReleases");
+        assertEquals(1, events.size());
+        assertEquals(delivery.getSku(), events.get(0).getMessageKey());
+        StockReleaseDto release = objectMapper.readValue(events.get(0).getPayload(), StockReleaseDto.class);
+        assertEquals(delivery.getId(), release.getOrderId());
+        assertEquals(delivery.getQuantity(), release.getQuantity());
     }
 
     @Test
@@ -355,31 +505,170 @@ public class DeliveryIntegrationTests {
                 );
     }
 
+    Delivery createDelivery(Long id, Delivery.Status status, LocalDateTime date) {
+        Delivery delivery = EntityMock.delivery();
+        delivery.setId(id);
+        delivery.setStatus(status);
+        delivery.setDate(date);
+        return deliveryRepository.save(delivery);
+    }
+
+    List<Long> scroll(String uri) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String token = "";
+        boolean last = false;
+        while (!last) {
+            String body = mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                            .param("size", "2")
+                            .param("token", token)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(delivery -> ids.add(delivery.get("order").asLong()));
+            last = page.get("last").asBoolean();
+            token = page.path("next").asText(null);
+            assertEquals(last, token == null);
+        }
+        return ids;
+    }
+
     @Test
-    void testCancelDeliveryByIdProductFeignConnectionException() throws Exception{
-        Delivery delivery = createDelivery();
+    void testFindAllProcessingKeysetSuccess() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            createDelivery(id, Delivery.Status.PROCESSING, LocalDateTime.now());
+        }
+        createDelivery(6L, Delivery.Status.SHIPPED, LocalDateTime.now());
 
-        FeignException.ServiceUnavailable feignException = mock(FeignException.ServiceUnavailable.class);
-        doThrow(feignException).when(productClient).checkStatus();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), scroll("/api/v1/deliveries/processing"));
+    }
 
-        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/cancel/" + delivery.getId())
-                        .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isServiceUnavailable()
-                );
+    @Test
+    void testFindByDateKeysetSuccess() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            createDelivery(id, Delivery.Status.PROCESSING, LocalDateTime.now().minusHours(id));
+        }
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), scroll("/api/v1/deliveries/date?afterDate=" + LocalDate.now().minusDays(1)));
     }
 
     @Test
-    void testCancelDeliveryByIdProductFeignEntityNotFoundException() throws Exception{
-        Delivery delivery = createDelivery();
+    void testFindAllShippedWithoutCount() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            createDelivery(id, Delivery.Status.SHIPPED, LocalDateTime.now());
+        }
 
-        FeignException.NotFound feignException = mock(FeignException.NotFound.class);
-        doNothing().when(productClient).checkStatus();
-        doThrow(feignException).when(productClient).addProductQuantityBySku(any(String.class), any(Integer.class));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/deliveries/shipped")
+                        .param("count", "false")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].order").value(3))
+                .andExpect(jsonPath("$.content[1].order").value(4))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
 
-        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/cancel/" + delivery.getId())
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/deliveries/shipped")
+                        .param("count", "false")
+                        .param("page", "2")
+                        .param("size", "2")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound()
-                );
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].order").value(5))
+                .andExpect(jsonPath("$.last").value(true));
+    }
+
+    @Test
+    void testFindAllDeliveryInvalidToken() throws Exception {
+        createDelivery();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/deliveries")
+                        .param("token", "not-a-token")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid continuation token"));
+    }
+
+    @Test
+    void testShipDeliveriesBulkSuccess() throws Exception {
+        createDelivery(1L, Delivery.Status.PROCESSING, LocalDateTime.now());
+        createDelivery(2L, Delivery.Status.SHIPPED, LocalDateTime.now());
+        createDelivery(3L, Delivery.Status.CANCELED, LocalDateTime.now());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/shipped")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2, 3, 4, 1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results.1").value("UPDATED"))
+                .andExpect(jsonPath("$.results.2").value("ALREADY_SHIPPED"))
+                .andExpect(jsonPath("$.results.3").value("CANCELED"))
+                .andExpect(jsonPath("$.results.4").value("NOT_FOUND"));
+
+        assertEquals(Delivery.Status.SHIPPED, deliveryRepository.findById(1L).orElseThrow().getStatus());
+        assertEquals(Delivery.Status.CANCELED, deliveryRepository.findById(3L).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testCancelDeliveriesBulkByDateSuccess() throws Exception {
+        createDelivery(1L, Delivery.Status.PROCESSING, LocalDateTime.now().minusDays(10));
+        createDelivery(2L, Delivery.Status.PROCESSING, LocalDateTime.now().minusDays(8));
+        createDelivery(3L, Delivery.Status.SHIPPED, LocalDateTime.now().minusDays(10));
+        createDelivery(4L, Delivery.Status.PROCESSING, LocalDateTime.now());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"beforeDate\": \"" + LocalDate.now().minusDays(7) + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.results.1").value("UPDATED"))
+                .andExpect(jsonPath("$.results.2").value("UPDATED"))
+                .andExpect(jsonPath("$.results.3").doesNotExist())
+                .andExpect(jsonPath("$.results.4").doesNotExist())
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        assertEquals(Delivery.Status.SHIPPED, deliveryRepository.findById(3L).orElseThrow().getStatus());
+        assertEquals(Delivery.Status.PROCESSING, deliveryRepository.findById(4L).orElseThrow().getStatus());
+        List<OutboxEvent> events = outboxEvents("StockReleases");
+        assertEquals(List.of(1L, 2L), events.stream()
+                .map(event -> readStockRelease(event).getOrderId())
+                .toList());
+    }
+
+    @Test
+    void testCancelDeliveriesBulkNoParameters() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No ids or date provided"));
+    }
+
+    @Test
+    void testCancelDeliveriesBulkTooManyIds() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/deliveries/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkStatusDto(ids, null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 1000 ids can be changed per request"));
+    }
+
+    List<OutboxEvent> outboxEvents(String topic) {
+        return outboxEventRepository.findBySentAtIsNullOrderByIdAsc(Pageable.unpaged()).stream()
+                .filter(event -> event.getTopic().equals(topic))
+                .toList();
+    }
+
+    StockReleaseDto readStockRelease(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), StockReleaseDto.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Test
@@ -391,6 +680,14 @@ public class DeliveryIntegrationTests {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Order nº" + delivery.getId() + " status changed to shipped successfully")
                 );
+
+        List<OutboxEvent> events = outboxEvents("DeliveryStatus");
+        assertEquals(1, events.size());
+        assertEquals(String.valueOf(delivery.getId()), events.get(0).getMessageKey());
+        DeliveryStatusDto change = objectMapper.readValue(events.get(0).getPayload(), DeliveryStatusDto.class);
+        assertEquals(delivery.getId(), change.getOrderId());
+        assertEquals("SHIPPED", change.getStatus());
+        assertNotNull(change.getDate());
     }
 
     @Test
@@ -421,13 +718,30 @@ public class DeliveryIntegrationTests {
 
     @Test
     void testDeleteAllCanceledSuccess() throws Exception {
-        Delivery delivery = EntityMock.delivery();
-        delivery.setStatus(Delivery.Status.CANCELED);
-        deliveryRepository.save(delivery);
+        for (long id = 1; id <= 5; id++) {
+            createDelivery(id, Delivery.Status.CANCELED, LocalDateTime.now());
+        }
+        createDelivery(6L, Delivery.Status.PROCESSING, LocalDateTime.now());
 
-        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/deliveries/delete/canceled")
+        String response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/deliveries/delete/canceled")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.target").value("canceled"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode purge = awaitPurge(objectMapper.readTree(response).get("id").asText());
+        assertEquals("COMPLETED", purge.get("status").asText());
+        assertEquals(5, purge.get("deleted").asLong());
+        assertEquals(List.of(6L), deliveryRepository.findAll().stream().map(Delivery::getId).toList());
+    }
+
+    @Test
+    void testFindPurgeEntityNotFoundException() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/deliveries/purges/unknown")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent()
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Purge not found")
                 );
     }
 
@@ -441,4 +755,20 @@ public class DeliveryIntegrationTests {
                 .andExpect(jsonPath("$.message").value("No deliveries canceled found")
                 );
     }
+
+    JsonNode awaitPurge(String id) throws Exception {
+        JsonNode purge = null;
+        for (int i = 0; i < 100; i++) {
+            String response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/deliveries/purges/" + id)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            purge = objectMapper.readTree(response);
+            if (!"RUNNING".equals(purge.get("status").asText())) {
+                return purge;
+            }
+            Thread.sleep(50);
+        }
+        return purge;
+    }
 }
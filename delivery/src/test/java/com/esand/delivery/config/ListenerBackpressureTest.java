@@ -0,0 +1,131 @@
+package com.esand.delivery.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ListenerBackpressureTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Mock
+    private ListenerMetrics listenerMetrics;
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ListenerBackpressure backpressure;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        when(registry.getListenerContainer(ListenerBackpressure.LISTENER_ID)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+
+        backpressure = new ListenerBackpressure(registry, listenerMetrics, dataSource, meterRegistry);
+        ReflectionTestUtils.setField(backpressure, "enabled", true);
+        ReflectionTestUtils.setField(backpressure, "maxPoolUsage", 0.9);
+        ReflectionTestUtils.setField(backpressure, "resumePoolUsage", 0.5);
+        ReflectionTestUtils.setField(backpressure, "maxBatchLatencyMs", 5000.0);
+        ReflectionTestUtils.setField(backpressure, "minPauseMs", 0L);
+    }
+
+    private void poolState(int active, int waiting) {
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(waiting);
+    }
+
+    @Test
+    void testPausesWhenPoolIsSaturated() {
+        poolState(10, 3);
+
+        backpressure.check();
+
+        verify(container).pause();
+        assertTrue(backpressure.isPaused());
+        assertEquals(1, meterRegistry.get("delivery.listener.pauses").counter().count());
+        assertEquals(1, meterRegistry.get("delivery.listener.paused").gauge().value());
+    }
+
+    @Test
+    void testPausesWhenBatchesAreSlow() {
+        poolState(2, 0);
+        when(listenerMetrics.batchLatencyMs()).thenReturn(8000.0);
+
+        backpressure.check();
+
+        verify(container).pause();
+    }
+
+    @Test
+    void testResumesOnlyOncePoolHasDrained() {
+        poolState(10, 0);
+        backpressure.check();
+
+        poolState(7, 0);
+        backpressure.check();
+        verify(container, never()).resume();
+
+        poolState(4, 0);
+        backpressure.check();
+        verify(container).resume();
+        verify(listenerMetrics).resetBatchLatency();
+        assertFalse(backpressure.isPaused());
+    }
+
+    @Test
+    void testStaysPausedDuringMinimumPause() {
+        ReflectionTestUtils.setField(backpressure, "minPauseMs", 60000L);
+        poolState(10, 0);
+        backpressure.check();
+
+        poolState(0, 0);
+        backpressure.check();
+
+        verify(container, never()).resume();
+        assertTrue(backpressure.isPaused());
+    }
+
+    @Test
+    void testHealthyListenerIsLeftRunning() {
+        poolState(3, 0);
+        when(listenerMetrics.batchLatencyMs()).thenReturn(200.0);
+
+        backpressure.check();
+
+        verify(container, never()).pause();
+    }
+
+    @Test
+    void testDisabled() {
+        ReflectionTestUtils.setField(backpressure, "enabled", false);
+        poolState(10, 5);
+
+        backpressure.check();
+
+        verify(container, never()).pause();
+    }
+}
@@ -0,0 +1,142 @@
+package com.esand.delivery.config;
+
+import com.esand.delivery.entity.EntityMock;
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class ListenerMetricsTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("Orders", 1);
+    private static final TopicPartition OTHER_TOPIC = new TopicPartition("Orders-failed", 0);
+
+    @Mock
+    private Consumer<String, DeliverySaveDto> consumer;
+
+    @Mock
+    private Admin admin;
+
+    @Mock
+    private ListConsumerGroupOffsetsResult committed;
+
+    @Mock
+    private ListOffsetsResult ends;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ListenerMetrics listenerMetrics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        listenerMetrics = new ListenerMetrics(meterRegistry, new KafkaProperties());
+        ReflectionTestUtils.setField(listenerMetrics, "topicName", "Orders");
+        ReflectionTestUtils.setField(listenerMetrics, "lagEnabled", true);
+        ReflectionTestUtils.setField(listenerMetrics, "admin", admin);
+    }
+
+    private ConsumerRecords<String, DeliverySaveDto> records() {
+        return new ConsumerRecords<>(Map.of(
+                PARTITION, List.of(
+                        new ConsumerRecord<>("Orders", 1, 10, "1", EntityMock.saveDto()),
+                        new ConsumerRecord<>("Orders", 1, 11, "2", EntityMock.saveDto())),
+                new TopicPartition("Orders", 0), List.of(
+                        new ConsumerRecord<>("Orders", 0, 5, "3", EntityMock.saveDto()))
+        ));
+    }
+
+    @Test
+    void testBatchRecordsProcessingTimeOnce() {
+        ConsumerRecords<String, DeliverySaveDto> records = records();
+
+        assertSame(records, listenerMetrics.intercept(records, consumer));
+        listenerMetrics.success(records, consumer);
+
+        assertEquals(1, meterRegistry.get("delivery.orders.processing").timer().count());
+        assertTrue(listenerMetrics.batchLatencyMs() >= 0);
+        verifyNoInteractions(consumer);
+    }
+
+    @Test
+    void testFailedBatchIsMeasured() {
+        ConsumerRecords<String, DeliverySaveDto> records = records();
+
+        listenerMetrics.intercept(records, consumer);
+        listenerMetrics.failure(records, new IllegalStateException("Database down"), consumer);
+
+        assertEquals(1, meterRegistry.get("delivery.orders.processing").timer().count());
+    }
+
+    @Test
+    void testCompletionWithoutInterceptIsIgnored() {
+        listenerMetrics.success(records(), consumer);
+
+        assertEquals(0, meterRegistry.get("delivery.orders.processing").timer().count());
+        verifyNoInteractions(consumer);
+    }
+
+    @Test
+    void testRefreshLagFromCommittedOffsets() {
+        when(admin.listConsumerGroupOffsets(Listener.GROUP_ID)).thenReturn(committed);
+        when(committed.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                PARTITION, new OffsetAndMetadata(10),
+                OTHER_TOPIC, new OffsetAndMetadata(3)
+        )));
+        when(admin.listOffsets(anyMap())).thenReturn(ends);
+        when(ends.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                PARTITION, new ListOffsetsResult.ListOffsetsResultInfo(52, -1, Optional.empty())
+        )));
+
+        listenerMetrics.refreshLag();
+
+        assertEquals(42, meterRegistry.get("delivery.orders.lag").tag("topic", "Orders").tag("partition", "1").gauge().value());
+        assertNull(meterRegistry.find("delivery.orders.lag").tag("topic", "Orders-failed").gauge());
+        verify(admin).listOffsets(argThat(partitions -> partitions.keySet().equals(Set.of(PARTITION))));
+    }
+
+    @Test
+    void testRefreshLagBrokerUnreachable() {
+        KafkaFuture<Map<TopicPartition, OffsetAndMetadata>> failed = KafkaFuture.completedFuture(null)
+                .thenApply(ignored -> { throw new TimeoutException("Broker unreachable"); });
+        when(admin.listConsumerGroupOffsets(Listener.GROUP_ID)).thenReturn(committed);
+        when(committed.partitionsToOffsetAndMetadata()).thenReturn(failed);
+
+        assertDoesNotThrow(() -> listenerMetrics.refreshLag());
+
+        assertNull(meterRegistry.find("delivery.orders.lag").gauge());
+        verify(admin, never()).listOffsets(anyMap());
+    }
+
+    @Test
+    void testRefreshLagDisabled() {
+        ReflectionTestUtils.setField(listenerMetrics, "lagEnabled", false);
+
+        listenerMetrics.refreshLag();
+
+        verifyNoInteractions(admin);
+    }
+}
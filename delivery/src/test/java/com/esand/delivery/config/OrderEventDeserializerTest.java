@@ -0,0 +1,110 @@
+package com.esand.delivery.config;
+
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderEventDeserializerTest {
+
+    private final OrderEventDeserializer deserializer = new OrderEventDeserializer();
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 7, 1, 10, 30, 15, 123456789);
+
+    private byte[] event(byte version) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OrderEventDeserializer.MAGIC);
+        out.writeByte(version);
+        out.writeLong(1L);
+        for (String value : new String[]{"João Silva", "07021050070", "Wireless Mouse"}) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        }
+        out.writeInt(-1);
+        out.writeBoolean(true);
+        out.writeDouble(29.99);
+        out.writeBoolean(true);
+        out.writeInt(10);
+        out.writeBoolean(false);
+        out.writeBoolean(true);
+        out.writeLong(DATE.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(DATE.getNano());
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testDeserializeSuccess() throws IOException {
+        DeliverySaveDto dto = deserializer.deserialize("Orders", event(OrderEventDeserializer.VERSION));
+
+        assertEquals(1L, dto.getId());
+        assertEquals("João Silva", dto.getName());
+        assertEquals("07021050070", dto.getCpf());
+        assertEquals("Wireless Mouse", dto.getTitle());
+        assertNull(dto.getSku());
+        assertEquals(29.99, dto.getPrice());
+        assertEquals(10, dto.getQuantity());
+        assertNull(dto.getTotal());
+        assertEquals(DATE, dto.getDate());
+    }
+
+    @Test
+    void testDeserializeUnknownVersion() throws IOException {
+        byte[] event = event((byte) 2);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("Orders", event));
+    }
+
+    @Test
+    void testDeserializeJsonRecord() {
+        byte[] json = ("{\"id\":1,\"name\":\"João Silva\",\"cpf\":\"07021050070\",\"sku\":\"MOUSE-2024-WL-0010\"," +
+                "\"price\":29.99,\"quantity\":10,\"processing\":true,\"date\":\"2024-07-01T10:30:15.123456789\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        DeliverySaveDto dto = deserializer.deserialize("Orders", json);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("João Silva", dto.getName());
+        assertEquals("07021050070", dto.getCpf());
+        assertNull(dto.getTitle());
+        assertEquals("MOUSE-2024-WL-0010", dto.getSku());
+        assertEquals(29.99, dto.getPrice());
+        assertEquals(10, dto.getQuantity());
+        assertNull(dto.getTotal());
+        assertEquals(DATE, dto.getDate());
+    }
+
+    @Test
+    void testDeserializeInvalidRecord() {
+        byte[] text = "not an order".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("Orders", text));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("Orders", new byte[0]));
+    }
+
+    @Test
+    void testDeserializeTruncatedRecord() throws IOException {
+        byte[] event = event(OrderEventDeserializer.VERSION);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("Orders", Arrays.copyOf(event, 20)));
+    }
+
+    @Test
+    void testDeserializeOversizedStringLength() throws IOException {
+        byte[] event = event(OrderEventDeserializer.VERSION);
+        ByteBuffer.wrap(event, 10, Integer.BYTES).putInt(0x7FFFFFF0);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("Orders", event));
+    }
+}
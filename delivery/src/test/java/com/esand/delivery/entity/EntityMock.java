@@ -105,7 +105,8 @@ public class EntityMock {
                 10,
                 299.9,
                 Delivery.Status.PROCESSING,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                false
         );
     }
 }
\ No newline at end of file
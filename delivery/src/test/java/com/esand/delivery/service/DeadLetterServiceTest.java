@@ -0,0 +1,174 @@
+package com.esand.delivery.service;
+
+import com.esand.delivery.entity.EntityMock;
+import com.esand.delivery.exception.ConnectionException;
+import com.esand.delivery.exception.EntityNotFoundException;
+import com.esand.delivery.web.dto.DeliverySaveDto;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeadLetterServiceTest {
+
+    private static final String DLT = "Orders-failed-dlt";
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @Mock
+    private ConsumerFactory<String, DeliverySaveDto> consumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, DeliverySaveDto> kafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> deadLetterKafkaTemplate;
+
+    @Mock
+    private Consumer<String, DeliverySaveDto> consumer;
+
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        deadLetterService = new DeadLetterService(consumerFactory, kafkaTemplate, deadLetterKafkaTemplate);
+        ReflectionTestUtils.setField(deadLetterService, "retryTopic", "Orders-failed");
+        ReflectionTestUtils.setField(deadLetterService, "deadLetterTopic", DLT);
+        ReflectionTestUtils.setField(deadLetterService, "timeoutMs", 100L);
+        when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class))).thenReturn(consumer);
+        when(consumer.partitionsFor(eq(DLT), any(Duration.class)))
+                .thenReturn(List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        when(consumer.endOffsets(anyCollection(), any(Duration.class))).thenReturn(Map.of(PARTITION, 1000L));
+        when(kafkaTemplate.send(anyString(), anyString(), any(DeliverySaveDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(deadLetterKafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+    }
+
+    private ConsumerRecord<String, DeliverySaveDto> undecodable(long offset) {
+        ConsumerRecord<String, DeliverySaveDto> record = new ConsumerRecord<>(DLT, 0, offset, "x", null);
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, "not an order event".getBytes());
+        SerializationUtils.deserializationException(record.headers(), "x".getBytes(),
+                new SerializationException("Record on topic Orders-failed-dlt is not an order event"), false);
+        return record;
+    }
+
+    private ConsumerRecords<String, DeliverySaveDto> records(int from, int count) {
+        return new ConsumerRecords<>(Map.of(PARTITION, IntStream.range(from, from + count)
+                .mapToObj(offset -> new ConsumerRecord<>(DLT, 0, offset, String.valueOf(offset), EntityMock.saveDto()))
+                .toList()));
+    }
+
+    @Test
+    void testReplaySuccess() {
+        when(consumer.poll(any(Duration.class))).thenReturn(records(0, 3), ConsumerRecords.empty());
+
+        String response = deadLetterService.replay(500);
+
+        assertEquals("3 records replayed from " + DLT, response);
+        verify(consumer).assign(List.of(PARTITION));
+        verify(kafkaTemplate, times(3)).send(eq("Orders-failed"), anyString(), any(DeliverySaveDto.class));
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(3)));
+        verify(consumer).close();
+    }
+
+    @Test
+    void testReplayStopsAtMax() {
+        when(consumer.poll(any(Duration.class))).thenReturn(records(0, 3), records(3, 3));
+
+        String response = deadLetterService.replay(4);
+
+        assertEquals("4 records replayed from " + DLT, response);
+        verify(kafkaTemplate, times(4)).send(eq("Orders-failed"), anyString(), any(DeliverySaveDto.class));
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(4)));
+        verify(consumer, times(2)).poll(any(Duration.class));
+    }
+
+    @Test
+    void testReplayDoesNotCommitFailedSends() {
+        when(consumer.poll(any(Duration.class))).thenReturn(records(0, 2));
+        when(kafkaTemplate.send(anyString(), eq("1"), any(DeliverySaveDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+
+        assertThrows(ConnectionException.class, () -> deadLetterService.replay(500));
+
+        verify(consumer, never()).commitSync(anyMap());
+        verify(consumer).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplayKeepsUndecodableRecords() {
+        ConsumerRecord<String, DeliverySaveDto> decodable = new ConsumerRecord<>(DLT, 0, 0, "0", EntityMock.saveDto());
+        when(consumer.poll(any(Duration.class)))
+                .thenReturn(new ConsumerRecords<>(Map.of(PARTITION, List.of(decodable, undecodable(1)))), ConsumerRecords.empty());
+
+        String response = deadLetterService.replay(500);
+
+        assertEquals("1 records replayed from " + DLT + ", 1 undecodable records kept on it", response);
+        verify(kafkaTemplate).send(eq("Orders-failed"), eq("0"), any(DeliverySaveDto.class));
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(deadLetterKafkaTemplate).send(captor.capture());
+        assertEquals(DLT, captor.getValue().topic());
+        assertArrayEquals("x".getBytes(), captor.getValue().value());
+        assertNotNull(captor.getValue().headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+        assertNull(captor.getValue().headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER));
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(2)));
+    }
+
+    @Test
+    void testReplayStopsAtEndOffsets() {
+        when(consumer.endOffsets(anyCollection(), any(Duration.class))).thenReturn(Map.of(PARTITION, 2L));
+        when(consumer.poll(any(Duration.class))).thenReturn(records(0, 3), ConsumerRecords.empty());
+
+        String response = deadLetterService.replay(500);
+
+        assertEquals("2 records replayed from " + DLT, response);
+        verify(kafkaTemplate, times(2)).send(eq("Orders-failed"), anyString(), any(DeliverySaveDto.class));
+        verify(consumer).pause(List.of(PARTITION));
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(2)));
+    }
+
+    @Test
+    void testReplayEmptyDeadLetterTopic() {
+        when(consumer.poll(any(Duration.class))).thenReturn(ConsumerRecords.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> deadLetterService.replay(500));
+    }
+
+    @Test
+    void testReplayMissingDeadLetterTopic() {
+        when(consumer.partitionsFor(eq(DLT), any(Duration.class))).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> deadLetterService.replay(500));
+        verify(consumer, never()).poll(any(Duration.class));
+    }
+}
@@ -1,33 +1,47 @@
 package com.esand.delivery.service;
 
-import com.esand.delivery.client.products.ProductClient;
 import com.esand.delivery.entity.Delivery;
 import com.esand.delivery.entity.EntityMock;
-import com.esand.delivery.exception.ConnectionException;
+import com.esand.delivery.entity.OutboxEvent;
+import com.esand.delivery.exception.BulkLimitExceededException;
 import com.esand.delivery.exception.EntityNotFoundException;
 import com.esand.delivery.exception.DeliveryCanceledException;
 import com.esand.delivery.exception.DeliveryShippedException;
 import com.esand.delivery.repository.DeliveryRepository;
+import com.esand.delivery.repository.OutboxEventRepository;
 import com.esand.delivery.repository.pagination.DeliveryDtoPagination;
+import com.esand.delivery.repository.projection.DeliveryStatusView;
+import com.esand.delivery.web.dto.BulkStatusDto;
+import com.esand.delivery.web.dto.BulkStatusResponseDto;
+import com.esand.delivery.web.dto.DeliveryStatusDto;
 import com.esand.delivery.web.dto.DeliveryResponseDto;
 import com.esand.delivery.web.dto.DeliverySaveDto;
 import com.esand.delivery.web.dto.PageableDto;
+import com.esand.delivery.web.dto.StockReleaseDto;
 import com.esand.delivery.web.mapper.DeliveryMapper;
-import feign.FeignException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -40,7 +54,10 @@ class DeliveryServiceTest {
     private DeliveryMapper deliveryMapper;
 
     @Mock
-    private ProductClient productClient;
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
 
     @InjectMocks
     private DeliveryService deliveryService;
@@ -54,10 +71,72 @@ class DeliveryServiceTest {
     void testSaveDeliverySuccess() {
         DeliverySaveDto deliverySaveDto = EntityMock.saveDto();
         Delivery delivery = EntityMock.delivery();
+        LocalDateTime date = delivery.getDate();
 
         when(deliveryMapper.toDelivery(any(DeliverySaveDto.class))).thenReturn(delivery);
+        when(deliveryRepository.insertIfAbsent(any(Delivery.class))).thenReturn(1);
+
+        assertTrue(deliveryService.save(deliverySaveDto));
+        assertEquals(date, delivery.getDate());
+        verify(deliveryRepository, never()).save(any(Delivery.class));
+        verify(outboxEventRepository).save(any(OutboxEvent.class));
+    }
+
+    @Test
+    void testSaveDeliveryReplaySkipped() {
+        DeliverySaveDto deliverySaveDto = EntityMock.saveDto();
+
+        when(deliveryMapper.toDelivery(any(DeliverySaveDto.class))).thenReturn(EntityMock.delivery());
+        when(deliveryRepository.insertIfAbsent(any(Delivery.class))).thenReturn(0);
+
+        assertFalse(deliveryService.save(deliverySaveDto));
+        verifyNoInteractions(outboxEventRepository);
+    }
 
-        deliveryService.save(deliverySaveDto);
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveAllDeliverySuccess() {
+        DeliverySaveDto first = EntityMock.saveDto();
+        DeliverySaveDto second = EntityMock.saveDto();
+        second.setId(2L);
+        DeliverySaveDto redelivered = EntityMock.saveDto();
+
+        when(deliveryMapper.toDelivery(any(DeliverySaveDto.class))).thenAnswer(invocation -> {
+            Delivery delivery = EntityMock.delivery();
+            delivery.setId(invocation.<DeliverySaveDto>getArgument(0).getId());
+            return delivery;
+        });
+
+        deliveryService.saveAll(List.of(first, second, redelivered));
+
+        ArgumentCaptor<Collection<Delivery>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(deliveryRepository).saveAll(captor.capture());
+        assertEquals(List.of(1L, 2L), captor.getValue().stream().map(Delivery::getId).toList());
+        assertTrue(captor.getValue().stream().allMatch(Delivery::isNew));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveAllDeliveryKeepsEventDate() {
+        LocalDateTime eventDate = LocalDateTime.of(2024, 1, 10, 8, 30);
+        DeliverySaveDto dated = EntityMock.saveDto();
+        DeliverySaveDto undated = EntityMock.saveDto();
+        undated.setId(2L);
+
+        when(deliveryMapper.toDelivery(any(DeliverySaveDto.class))).thenAnswer(invocation -> {
+            Delivery delivery = EntityMock.delivery();
+            delivery.setId(invocation.<DeliverySaveDto>getArgument(0).getId());
+            delivery.setDate(delivery.getId() == 1L ? eventDate : null);
+            return delivery;
+        });
+
+        deliveryService.saveAll(List.of(dated, undated));
+
+        ArgumentCaptor<Collection<Delivery>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(deliveryRepository).saveAll(captor.capture());
+        List<Delivery> saved = List.copyOf(captor.getValue());
+        assertEquals(eventDate, saved.get(0).getDate());
+        assertNotNull(saved.get(1).getDate());
     }
 
     @Test
@@ -68,7 +147,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findAll(page.getPageable());
+        PageableDto response = deliveryService.findAll(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -95,7 +174,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAll(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAll(page.getPageable(), null, true));
     }
 
     @Test
@@ -135,7 +214,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllByStatus(any(Pageable.class), eq(Delivery.Status.SHIPPED))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findAllShipped(page.getPageable());
+        PageableDto response = deliveryService.findAllShipped(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -162,7 +241,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllByStatus(any(Pageable.class), eq(Delivery.Status.SHIPPED))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAllShipped(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAllShipped(page.getPageable(), null, true));
     }
 
     @Test
@@ -173,7 +252,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllByStatus(any(Pageable.class), eq(Delivery.Status.PROCESSING))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findAllProcessing(page.getPageable());
+        PageableDto response = deliveryService.findAllProcessing(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -200,7 +279,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllByStatus(any(Pageable.class), eq(Delivery.Status.PROCESSING))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAllProcessing(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAllProcessing(page.getPageable(), null, true));
     }
 
     @Test
@@ -211,7 +290,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllByStatus(any(Pageable.class), eq(Delivery.Status.CANCELED))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findAllCanceled(page.getPageable());
+        PageableDto response = deliveryService.findAllCanceled(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -238,7 +317,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findAllByStatus(any(Pageable.class), eq(Delivery.Status.CANCELED))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAllCanceled(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.findAllCanceled(page.getPageable(), null, true));
     }
 
     @Test
@@ -249,7 +328,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findByDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findDeliveryByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = deliveryService.findDeliveryByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response.getContent());
         assertEquals(1, response.getContent().size());
@@ -275,7 +354,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findByDateAfter(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findDeliveryByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable());
+        PageableDto response = deliveryService.findDeliveryByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable(), null, true);
 
         assertNotNull(response.getContent());
         assertEquals(1, response.getContent().size());
@@ -301,7 +380,7 @@ class DeliveryServiceTest {
         when(deliveryRepository.findByDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = deliveryService.findDeliveryByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = deliveryService.findDeliveryByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response.getContent());
         assertEquals(1, response.getContent().size());
@@ -321,7 +400,7 @@ class DeliveryServiceTest {
 
     @Test
     void testFindDeliveryByDateNoDateParametersProvided() {
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.findDeliveryByDate(null, null, EntityMock.page().getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.findDeliveryByDate(null, null, EntityMock.page().getPageable(), null, true));
     }
 
     @Test
@@ -332,20 +411,25 @@ class DeliveryServiceTest {
         when(deliveryRepository.findByDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(deliveryMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.findDeliveryByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.findDeliveryByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true));
     }
 
     @Test
-    void testCancelOrderByIdSuccess() {
+    void testCancelOrderByIdSuccess() throws Exception {
         Delivery delivery = EntityMock.delivery();
 
         when(deliveryRepository.findById(any(Long.class))).thenReturn(Optional.of(delivery));
-        doNothing().when(productClient).checkStatus();
-        doNothing().when(productClient).addProductQuantityBySku(any(String.class), any(Integer.class));
+        when(objectMapper.writeValueAsString(any(StockReleaseDto.class))).thenReturn("{}");
 
         String response = deliveryService.cancel(delivery.getId());
 
         assertEquals(response, "Order nº" + delivery.getId() + " status changed to canceled successfully");
+        assertEquals(Delivery.Status.CANCELED, delivery.getStatus());
+        verify(objectMapper).writeValueAsString(argThat(value -> value instanceof StockReleaseDto dto && dto.getOrderId().equals(delivery.getId())
+                && dto.getSku().equals(delivery.getSku()) && dto.getQuantity().equals(delivery.getQuantity())));
+        verify(objectMapper).writeValueAsString(argThat(value -> value instanceof DeliveryStatusDto dto && dto.getOrderId().equals(delivery.getId())
+                && dto.getStatus().equals("CANCELED")));
+        verify(outboxEventRepository, times(2)).save(any(OutboxEvent.class));
     }
 
     @Test
@@ -367,27 +451,83 @@ class DeliveryServiceTest {
         assertThrows(DeliveryCanceledException.class, () -> deliveryService.cancel(delivery.getId()));
     }
 
+    DeliveryStatusView statusView(Long id, Delivery.Status status) {
+        return new DeliveryStatusView() {
+            public Long getId() { return id; }
+            public Delivery.Status getStatus() { return status; }
+            public String getSku() { return "MOUSE-2024-WL-0010"; }
+            public Integer getQuantity() { return 10; }
+        };
+    }
+
     @Test
-    void testCancelOrderByIdProductFeignConnectionException() {
-        Delivery delivery = EntityMock.delivery();
+    void testShipAllSuccess() throws Exception {
+        when(deliveryRepository.findStatusByIdIn(anyCollection())).thenReturn(List.of(
+                statusView(1L, Delivery.Status.PROCESSING),
+                statusView(2L, Delivery.Status.SHIPPED),
+                statusView(3L, Delivery.Status.CANCELED)
+        ));
+
+        BulkStatusResponseDto response = deliveryService.shipAll(new BulkStatusDto(List.of(1L, 2L, 3L, 4L), null));
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(BulkStatusResponseDto.Outcome.UPDATED, response.getResults().get(1L));
+        assertEquals(BulkStatusResponseDto.Outcome.ALREADY_SHIPPED, response.getResults().get(2L));
+        assertEquals(BulkStatusResponseDto.Outcome.CANCELED, response.getResults().get(3L));
+        assertEquals(BulkStatusResponseDto.Outcome.NOT_FOUND, response.getResults().get(4L));
+        verify(deliveryRepository).updateStatus(List.of(1L), Delivery.Status.SHIPPED);
+        verify(deliveryRepository, never()).findById(any(Long.class));
+        verify(objectMapper).writeValueAsString(argThat(value -> value instanceof DeliveryStatusDto dto && dto.getOrderId().equals(1L)
+                && dto.getStatus().equals("SHIPPED")));
+        verify(outboxEventRepository).saveAll(anyList());
+    }
 
-        FeignException.ServiceUnavailable feignException = mock(FeignException.ServiceUnavailable.class);
-        when(deliveryRepository.findById(any(Long.class))).thenReturn(Optional.of(delivery));
-        doThrow(feignException).when(productClient).checkStatus();
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCancelAllByDateSuccess() throws Exception {
+        when(deliveryRepository.findStatusByStatusAndDateBefore(eq(Delivery.Status.PROCESSING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(statusView(1L, Delivery.Status.PROCESSING), statusView(2L, Delivery.Status.PROCESSING)));
+        when(objectMapper.writeValueAsString(any(StockReleaseDto.class))).thenReturn("{}");
+
+        BulkStatusResponseDto response = deliveryService.cancelAll(new BulkStatusDto(null, LocalDate.now().toString()));
+
+        assertEquals(2, response.getUpdated());
+        verify(deliveryRepository).updateStatus(List.of(1L, 2L), Delivery.Status.CANCELED);
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository, times(2)).saveAll(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals(2, captor.getAllValues().get(1).size());
+        assertFalse(response.isHasMore());
+    }
 
-        assertThrows(ConnectionException.class, () -> deliveryService.cancel(delivery.getId()));
+    @Test
+    void testShipAllByDateCapped() {
+        List<DeliveryStatusView> views = LongStream.rangeClosed(1, 1001)
+                .mapToObj(id -> statusView(id, Delivery.Status.PROCESSING))
+                .toList();
+        when(deliveryRepository.findStatusByStatusAndDateBefore(eq(Delivery.Status.PROCESSING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(views));
+
+        BulkStatusResponseDto response = deliveryService.shipAll(new BulkStatusDto(null, LocalDate.now().toString()));
+
+        assertEquals(1000, response.getUpdated());
+        assertEquals(1000, response.getResults().size());
+        assertFalse(response.getResults().containsKey(1001L));
+        assertTrue(response.isHasMore());
+        verify(deliveryRepository).findStatusByStatusAndDateBefore(eq(Delivery.Status.PROCESSING), any(LocalDateTime.class), eq(PageRequest.of(0, 1001)));
     }
 
     @Test
-    void testCancelOrderByIdFeignEntityNotFoundException() {
-        Delivery delivery = EntityMock.delivery();
+    void testShipAllByIdsOverLimit() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
 
-        FeignException.NotFound feignException = mock(FeignException.NotFound.class);
-        when(deliveryRepository.findById(any(Long.class))).thenReturn(Optional.of(delivery));
-        doNothing().when(productClient).checkStatus();
-        doThrow(feignException).when(productClient).addProductQuantityBySku(any(String.class), any(Integer.class));
+        assertThrows(BulkLimitExceededException.class, () -> deliveryService.shipAll(new BulkStatusDto(ids, null)));
+        verify(deliveryRepository, never()).findStatusByIdIn(anyList());
+    }
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.cancel(delivery.getId()));
+    @Test
+    void testCancelAllNoParameters() {
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.cancelAll(new BulkStatusDto()));
     }
 
     @Test
@@ -431,16 +571,33 @@ class DeliveryServiceTest {
     }
 
     @Test
-    void testDeleteAllCanceledSuccess() {
+    void testVerifyCanceledExistsSuccess() {
         when(deliveryRepository.existsByStatus(eq(Delivery.Status.CANCELED))).thenReturn(true);
 
-        deliveryService.deleteAllCanceled();
+        assertDoesNotThrow(() -> deliveryService.verifyCanceledExists());
     }
 
     @Test
-    void testDeleteAllCanceledEntityNotFoundException() {
+    void testVerifyCanceledExistsEntityNotFoundException() {
         when(deliveryRepository.existsByStatus(eq(Delivery.Status.CANCELED))).thenReturn(false);
 
-        assertThrows(EntityNotFoundException.class, () -> deliveryService.deleteAllCanceled());
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.verifyCanceledExists());
+    }
+
+    @Test
+    void testDeleteCanceledChunkSuccess() {
+        when(deliveryRepository.findIdsByStatus(eq(Delivery.Status.CANCELED), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(deliveryRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, deliveryService.deleteCanceledChunk(2));
+        verify(deliveryRepository).findIdsByStatus(Delivery.Status.CANCELED, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void testDeleteCanceledChunkEmpty() {
+        when(deliveryRepository.findIdsByStatus(eq(Delivery.Status.CANCELED), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, deliveryService.deleteCanceledChunk(2));
+        verify(deliveryRepository, never()).deleteAllByIdIn(anyCollection());
     }
-}
\ No newline at end of file
+}
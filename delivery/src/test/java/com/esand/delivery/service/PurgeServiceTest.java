@@ -0,0 +1,113 @@
+package com.esand.delivery.service;
+
+import com.esand.delivery.exception.EntityNotFoundException;
+import com.esand.delivery.exception.PurgeRejectedException;
+import com.esand.delivery.web.dto.PurgeResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PurgeServiceTest {
+
+    @Mock
+    private DeliveryService deliveryService;
+
+    @Mock
+    private ThreadPoolTaskExecutor purgeExecutor;
+
+    @InjectMocks
+    private PurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(purgeService, "chunkSize", 2);
+    }
+
+    private Runnable capturedTask() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(purgeExecutor).execute(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void testPurgeCanceledSuccess() {
+        when(deliveryService.deleteCanceledChunk(2)).thenReturn(2, 2, 1, 0);
+
+        PurgeResponseDto running = purgeService.purgeCanceled();
+
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(0L, running.getDeleted());
+
+        capturedTask().run();
+
+        PurgeResponseDto completed = purgeService.findById(running.getId());
+        assertEquals("COMPLETED", completed.getStatus());
+        assertEquals(5L, completed.getDeleted());
+        assertEquals("5 deliveries deleted", completed.getMessage());
+        assertNotNull(completed.getFinishedAt());
+        verify(deliveryService, times(4)).deleteCanceledChunk(2);
+    }
+
+    @Test
+    void testPurgeCanceledFailed() {
+        when(deliveryService.deleteCanceledChunk(2)).thenReturn(2).thenThrow(new IllegalStateException("Lock timeout"));
+
+        PurgeResponseDto running = purgeService.purgeCanceled();
+        capturedTask().run();
+
+        PurgeResponseDto failed = purgeService.findById(running.getId());
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals(2L, failed.getDeleted());
+        assertEquals("Lock timeout", failed.getMessage());
+    }
+
+    @Test
+    void testPurgeCanceledWhileRunningReturnsSameJob() {
+        PurgeResponseDto first = purgeService.purgeCanceled();
+        PurgeResponseDto second = purgeService.purgeCanceled();
+
+        assertEquals(first.getId(), second.getId());
+        verify(purgeExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testPurgeCanceledAfterFinishedStartsNewJob() {
+        PurgeResponseDto first = purgeService.purgeCanceled();
+        capturedTask().run();
+
+        PurgeResponseDto second = purgeService.purgeCanceled();
+
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void testPurgeCanceledEntityNotFoundException() {
+        doThrow(new EntityNotFoundException("No deliveries canceled found")).when(deliveryService).verifyCanceledExists();
+
+        assertThrows(EntityNotFoundException.class, () -> purgeService.purgeCanceled());
+        verifyNoInteractions(purgeExecutor);
+    }
+
+    @Test
+    void testPurgeCanceledRejected() {
+        doThrow(new TaskRejectedException("Executor busy")).when(purgeExecutor).execute(any(Runnable.class));
+
+        assertThrows(PurgeRejectedException.class, () -> purgeService.purgeCanceled());
+    }
+
+    @Test
+    void testFindPurgeEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class, () -> purgeService.findById("unknown"));
+    }
+}
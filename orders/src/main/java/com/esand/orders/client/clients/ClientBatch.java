@@ -0,0 +1,20 @@
+package com.esand.orders.client.clients;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientBatch {
+    private Map<String, Client> found = new HashMap<>();
+    private List<String> missing = new ArrayList<>();
+}
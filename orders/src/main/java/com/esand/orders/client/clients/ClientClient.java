@@ -3,10 +3,17 @@ package com.esand.orders.client.clients;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
 
 @FeignClient(name = "clients", url = "${clients.api.url}")
 public interface ClientClient {
 
     @GetMapping("/cpf/{cpf}")
     Client getClientByCpf(@PathVariable("cpf") String cpf);
+
+    @PostMapping("/cpf/batch")
+    ClientBatch getClientsByCpf(@RequestBody Collection<String> cpfs);
 }
@@ -0,0 +1,18 @@
+package com.esand.orders.client.products;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatch {
+    private List<Product> found = new ArrayList<>();
+    private List<String> missing = new ArrayList<>();
+}
@@ -3,12 +3,17 @@ package com.esand.orders.client.products;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+
 @FeignClient(name = "products", url = "${products.api.url}")
 public interface ProductClient {
 
     @GetMapping("/sku/{sku}")
     Product getProductBySku(@PathVariable String sku);
 
+    @PostMapping("/sku/batch")
+    ProductBatch getProductsBySku(@RequestBody Collection<String> skus);
+
     @PatchMapping("/sku/{sku}/sub/{quantity}")
     void decreaseProductQuantityBySku(@PathVariable String sku, @PathVariable Integer quantity);
 }
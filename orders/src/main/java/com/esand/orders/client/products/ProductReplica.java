@@ -0,0 +1,33 @@
+package com.esand.orders.client.products;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local, read-only copy of the products catalog, materialized from the compacted products topic.
+ * Lookups that miss here fall back to {@link ProductClient}.
+ */
+@Component
+public class ProductReplica {
+
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+
+    public Optional<Product> findBySku(String sku) {
+        return Optional.ofNullable(products.get(sku));
+    }
+
+    public void put(Product product) {
+        products.put(product.getSku(), product);
+    }
+
+    public void remove(String sku) {
+        products.remove(sku);
+    }
+
+    public int size() {
+        return products.size();
+    }
+}
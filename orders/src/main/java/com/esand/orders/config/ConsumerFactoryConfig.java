@@ -0,0 +1,62 @@
+package com.esand.orders.config;
+
+import com.esand.orders.client.products.Product;
+import com.esand.orders.web.dto.DeliveryStatusDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+
+@RequiredArgsConstructor
+@Configuration
+public class ConsumerFactoryConfig {
+
+    private final KafkaProperties properties;
+
+    @Bean
+    public ConsumerFactory<String, Product> productConsumerFactory() {
+        var configs = new HashMap<String, Object>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configs, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(Product.class, false)));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Product> productContainerFactory(
+            ConsumerFactory<String, Product> productConsumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, Product>();
+        factory.setConsumerFactory(productConsumerFactory);
+        return factory;
+    }
+
+    @Bean
+    public ConsumerFactory<String, DeliveryStatusDto> deliveryStatusConsumerFactory() {
+        var configs = new HashMap<String, Object>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configs, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(DeliveryStatusDto.class, false)));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, DeliveryStatusDto> deliveryStatusContainerFactory(
+            ConsumerFactory<String, DeliveryStatusDto> deliveryStatusConsumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, DeliveryStatusDto>();
+        factory.setConsumerFactory(deliveryStatusConsumerFactory);
+        return factory;
+    }
+}
@@ -0,0 +1,39 @@
+package com.esand.orders.config;
+
+import com.esand.orders.exception.EntityNotFoundException;
+import com.esand.orders.service.OrderService;
+import com.esand.orders.web.dto.DeliveryStatusDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the delivery status of each order in sync with the status changes published by delivery, so orders can
+ * be listed with their delivery status without calling the delivery service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeliveryStatusListener {
+
+    private final OrderService orderService;
+
+    @KafkaListener(topics = "${delivery_status_topic_name}", groupId = "orders-delivery-status",
+            containerFactory = "deliveryStatusContainerFactory", autoStartup = "${delivery-status.listener.enabled:true}")
+    public void consumer(DeliveryStatusDto dto) {
+        if (dto == null) {
+            log.error("Skipping delivery status that could not be decoded");
+            return;
+        }
+        try {
+            if (orderService.updateDeliveryStatus(dto)) {
+                log.info("Order nº{} delivery status changed to {}", dto.getOrderId(), dto.getStatus());
+            } else {
+                log.info("Skipping stale or unknown delivery status {} of order nº{}", dto.getStatus(), dto.getOrderId());
+            }
+        } catch (EntityNotFoundException e) {
+            log.error("Dropping delivery status of order nº{}: {}", dto.getOrderId(), e.getMessage());
+        }
+    }
+}
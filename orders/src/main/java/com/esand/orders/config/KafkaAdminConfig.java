@@ -17,6 +17,12 @@ public class KafkaAdminConfig {
 
     @Value("${topic_name}")
     private String topicName;
+    @Value("${topic_partitions:2}")
+    private int topicPartitions;
+    @Value("${topic_replicas:1}")
+    private short topicReplicas;
+    @Value("${delivery_status_topic_name}")
+    private String deliveryStatusTopicName;
     public final KafkaProperties properties;
 
     @Bean
@@ -29,7 +35,8 @@ public class KafkaAdminConfig {
     @Bean
     public KafkaAdmin.NewTopics topics () {
         return new KafkaAdmin.NewTopics(
-                TopicBuilder.name(topicName).partitions(2).replicas(1).build()
+                TopicBuilder.name(topicName).partitions(topicPartitions).replicas(topicReplicas).build(),
+                TopicBuilder.name(deliveryStatusTopicName).partitions(topicPartitions).replicas(topicReplicas).build()
         );
     }
 }
\ No newline at end of file
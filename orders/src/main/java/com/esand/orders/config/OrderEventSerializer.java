@@ -0,0 +1,98 @@
+package com.esand.orders.config;
+
+import com.esand.orders.web.dto.OrderResponseDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of the order-submitted event published on the Orders topic. Delivery decodes it with its
+ * {@code OrderEventDeserializer}; both sides must agree on the layout below, so any change to it needs a new
+ * {@link #VERSION} that the consumer learns to read before producers start writing it.
+ *
+ * <pre>
+ * version 1
+ *   magic     byte     'O'
+ *   version   byte     1
+ *   id        int64
+ *   name      string
+ *   cpf       string
+ *   title     string
+ *   sku       string
+ *   price     optional float64
+ *   quantity  optional int32
+ *   total     optional float64
+ *   date      optional int64 epoch seconds (UTC) + int32 nanos
+ *
+ * string   = int32 byte length (-1 for null) + UTF-8 bytes
+ * optional = byte 1 followed by the value, or byte 0 for null
+ * </pre>
+ */
+public class OrderEventSerializer implements Serializer<OrderResponseDto> {
+
+    public static final byte MAGIC = 'O';
+    public static final byte VERSION = 1;
+
+    @Override
+    public byte[] serialize(String topic, OrderResponseDto dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(dto.getId());
+            writeString(out, dto.getName());
+            writeString(out, dto.getCpf());
+            writeString(out, dto.getTitle());
+            writeString(out, dto.getSku());
+            writeDouble(out, dto.getPrice());
+            writeInt(out, dto.getQuantity());
+            writeDouble(out, dto.getTotal());
+            writeDate(out, dto.getDate());
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Error serializing order nº" + dto.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private void writeDate(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+}
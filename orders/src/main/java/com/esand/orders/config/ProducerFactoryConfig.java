@@ -1,7 +1,7 @@
 package com.esand.orders.config;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
@@ -9,11 +9,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
-import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Producer settings come from {@code spring.kafka.producer} so each environment can tune acks, batching,
+ * compression and idempotence in its own profile; only the serializers are fixed here. Values are order events
+ * already encoded in the compact binary layout of {@link OrderEventSerializer} when they were written to the
+ * outbox, so they are sent as they are.
+ */
 @RequiredArgsConstructor
 @Configuration
 public class ProducerFactoryConfig {
@@ -21,16 +25,13 @@ public class ProducerFactoryConfig {
     private final KafkaProperties properties;
 
     @Bean
-    public ProducerFactory producerFactory() {
-        var configs = new HashMap<String, Object>();
-        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
-        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new JsonSerializer<>());
+    public ProducerFactory<String, byte[]> producerFactory() {
+        Map<String, Object> configs = properties.buildProducerProperties(null);
+        return new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new ByteArraySerializer());
     }
 
     @Bean
-    public KafkaTemplate<String, Serializable> kafkaTemplate(ProducerFactory producerFactory) {
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
-}
\ No newline at end of file
+}
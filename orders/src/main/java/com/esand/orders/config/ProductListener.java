@@ -0,0 +1,33 @@
+package com.esand.orders.config;
+
+import com.esand.orders.client.products.Product;
+import com.esand.orders.client.products.ProductReplica;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link ProductReplica} in sync with the products topic. Every instance joins its own consumer group
+ * and starts from the earliest offset, so the whole compacted topic is replayed into memory on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductListener {
+
+    private final ProductReplica productReplica;
+
+    @KafkaListener(topics = "${products_topic_name}", groupId = "orders-product-replica-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "productContainerFactory", autoStartup = "${products.replica.enabled:true}")
+    public void consumer(ConsumerRecord<String, Product> record) {
+        if (record.value() == null) {
+            productReplica.remove(record.key());
+            log.debug("Product {} removed from replica", record.key());
+        } else {
+            productReplica.put(record.value());
+            log.debug("Product {} updated in replica", record.key());
+        }
+    }
+}
@@ -16,10 +16,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_product_sku", columnList = "product_sku, id"),
+        @Index(name = "idx_orders_client_cpf", columnList = "client_cpf, id"),
+        @Index(name = "idx_orders_date", columnList = "date, id"),
+        @Index(name = "idx_orders_processing", columnList = "processing, id"),
+        @Index(name = "idx_orders_delivery_status", columnList = "delivery_status, id"),
+        @Index(name = "idx_orders_submission_id", columnList = "submission_id", unique = true)
+})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -46,4 +54,39 @@ public class Order {
     @CreatedDate
     @Column(name = "date", nullable = false)
     private LocalDateTime date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_status", length = 20)
+    private DeliveryStatus deliveryStatus;
+
+    @Column(name = "delivery_status_date")
+    private LocalDateTime deliveryStatusDate;
+
+    @Column(name = "submission_id", length = 36)
+    private String submissionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "submission_status", length = 20)
+    private SubmissionStatus submissionStatus;
+
+    @Column(name = "submission_message")
+    private String submissionMessage;
+
+    @Column(name = "submission_date")
+    private LocalDateTime submissionDate;
+
+    @Column(name = "submission_finished_at")
+    private LocalDateTime submissionFinishedAt;
+
+    public enum DeliveryStatus {
+        PROCESSING,
+        SHIPPED,
+        CANCELED
+    }
+
+    public enum SubmissionStatus {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
 }
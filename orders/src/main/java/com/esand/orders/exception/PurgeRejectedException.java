@@ -0,0 +1,10 @@
+package com.esand.orders.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PurgeRejectedException extends RuntimeException {
+    public PurgeRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.esand.orders.exception;
+
+import lombok.Getter;
+
+@Getter
+public class SubmissionRejectedException extends RuntimeException {
+    public SubmissionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -2,29 +2,86 @@ package com.esand.orders.repository;
 
 import com.esand.orders.entity.Order;
 import com.esand.orders.repository.pagination.OrderDtoPagination;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT p FROM Order p")
     Page<OrderDtoPagination> findAllPageable(Pageable pageable);
 
+    Window<OrderDtoPagination> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     Page<OrderDtoPagination> findBySku(Pageable pageable, String sku);
 
+    Window<OrderDtoPagination> findBySku(String sku, ScrollPosition position, Limit limit, Sort sort);
+
     Page<OrderDtoPagination> findByCpf(Pageable pageable, String cpf);
 
-    void deleteAllByProcessing(Boolean processed);
+    Window<OrderDtoPagination> findByCpf(String cpf, ScrollPosition position, Limit limit, Sort sort);
+
+    @Query("SELECT o.id FROM Order o WHERE o.processing = :processing ORDER BY o.id")
+    List<Long> findIdsByProcessing(@Param("processing") Boolean processing, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
     Page<OrderDtoPagination> findByDateAfter(LocalDateTime date, Pageable pageable);
 
+    Window<OrderDtoPagination> findByDateAfter(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<OrderDtoPagination> findByDateBefore(LocalDateTime date, Pageable pageable);
 
+    Window<OrderDtoPagination> findByDateBefore(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<OrderDtoPagination> findByDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, Pageable pageable);
 
+    Window<OrderDtoPagination> findByDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, ScrollPosition position, Limit limit, Sort sort);
+
     boolean existsByProcessing(boolean b);
+
+    Page<OrderDtoPagination> findByDeliveryStatus(Pageable pageable, Order.DeliveryStatus deliveryStatus);
+
+    Window<OrderDtoPagination> findByDeliveryStatus(Order.DeliveryStatus deliveryStatus, ScrollPosition position, Limit limit, Sort sort);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.deliveryStatus = :status, o.deliveryStatusDate = :date " +
+            "WHERE o.id = :id AND (o.deliveryStatusDate IS NULL OR o.deliveryStatusDate < :date)")
+    int updateDeliveryStatus(@Param("id") Long id, @Param("status") Order.DeliveryStatus status, @Param("date") LocalDateTime date);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.processing = true WHERE o.id = :id AND o.processing = false")
+    int markProcessing(@Param("id") Long id);
+
+    Optional<Order> findBySubmissionId(String submissionId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.submissionId = :submissionId, o.submissionStatus = :pending, o.submissionMessage = NULL, " +
+            "o.submissionDate = :date, o.submissionFinishedAt = NULL " +
+            "WHERE o.id = :id AND o.processing = false " +
+            "AND (o.submissionStatus IS NULL OR o.submissionStatus <> :pending OR o.submissionDate < :staleBefore)")
+    int claimSubmission(@Param("id") Long id, @Param("submissionId") String submissionId, @Param("pending") Order.SubmissionStatus pending,
+                        @Param("date") LocalDateTime date, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.submissionStatus = :status, o.submissionMessage = :message, o.submissionFinishedAt = :finishedAt " +
+            "WHERE o.submissionId = :submissionId")
+    int finishSubmission(@Param("submissionId") String submissionId, @Param("status") Order.SubmissionStatus status,
+                         @Param("message") String message, @Param("finishedAt") LocalDateTime finishedAt);
 }
@@ -1,5 +1,6 @@
 package com.esand.orders.repository.pagination;
 
+import com.esand.orders.entity.Order;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
@@ -16,4 +17,5 @@ public interface OrderDtoPagination {
     Double getTotal();
     Boolean getProcessing();
     LocalDateTime getDate();
+    Order.DeliveryStatus getDeliveryStatus();
 }
@@ -1,12 +1,21 @@
 package com.esand.orders.service;
 
 import com.esand.orders.client.clients.Client;
+import com.esand.orders.client.clients.ClientBatch;
 import com.esand.orders.client.clients.ClientClient;
 import com.esand.orders.client.products.Product;
+import com.esand.orders.client.products.ProductBatch;
 import com.esand.orders.client.products.ProductClient;
+import com.esand.orders.client.products.ProductReplica;
+import com.esand.orders.config.OrderEventSerializer;
 import com.esand.orders.entity.Order;
+import com.esand.orders.entity.OutboxEvent;
 import com.esand.orders.exception.*;
 import com.esand.orders.repository.OrderRepository;
+import com.esand.orders.repository.OutboxEventRepository;
+import com.esand.orders.repository.pagination.Keyset;
+import com.esand.orders.repository.pagination.OrderDtoPagination;
+import com.esand.orders.web.dto.DeliveryStatusDto;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
 import com.esand.orders.web.dto.PageableDto;
@@ -14,46 +23,120 @@ import com.esand.orders.web.mapper.OrderMapper;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_DATE = Sort.by("date", "id");
+
     @Value("${topic_name}")
     private String topicName;
+    @Value("${batches.max-size:500}")
+    private int maxBatchSize;
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final ProductClient productClient;
+    private final ProductReplica productReplica;
     private final ClientClient clientClient;
-    private final KafkaTemplate<String, Serializable> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventSerializer orderEventSerializer = new OrderEventSerializer();
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Transactional
     public OrderResponseDto save(OrderCreateDto dto) {
-        verifyIfExistsClientAndProductAndConnection(dto.getCpf(), dto.getSku());
-        verifyProduct(dto.getSku(), dto.getQuantity());
-
-        Client client = clientClient.getClientByCpf(dto.getCpf());
-        Product product = productClient.getProductBySku(dto.getSku());
+        OrderContext context = loadContext(dto.getCpf(), dto.getSku());
+        verifyProduct(context.product(), dto.getQuantity());
 
-        Order order = orderMapper.toOrder(client, product);
+        Product product = context.product();
+        Order order = orderMapper.toOrder(context.client(), product);
         order.setQuantity(dto.getQuantity());
         order.setTotal(dto.getQuantity() * product.getPrice());
 
         return orderMapper.toDto(orderRepository.save(order));
     }
 
+    @Transactional
+    public List<OrderResponseDto> saveAll(List<OrderCreateDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new InvalidQuantityException("No orders stated");
+        }
+        if (dtos.size() > maxBatchSize) {
+            throw new InvalidQuantityException("At most " + maxBatchSize + " orders can be created per batch");
+        }
+        if (dtos.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidQuantityException("Empty order in batch");
+        }
+
+        Set<String> cpfs = dtos.stream().map(OrderCreateDto::getCpf).collect(Collectors.toSet());
+        Map<String, Product> products = new HashMap<>();
+        Set<String> skus = new HashSet<>();
+        for (OrderCreateDto dto : dtos) {
+            productReplica.findBySku(dto.getSku()).ifPresentOrElse(
+                    product -> products.put(product.getSku(), product),
+                    () -> skus.add(dto.getSku())
+            );
+        }
+
+        CompletableFuture<ClientBatch> clientBatch = CompletableFuture.supplyAsync(() -> clientClient.getClientsByCpf(cpfs), lookupExecutor);
+        CompletableFuture<ProductBatch> productBatch = skus.isEmpty()
+                ? CompletableFuture.completedFuture(new ProductBatch())
+                : CompletableFuture.supplyAsync(() -> productClient.getProductsBySku(skus), lookupExecutor);
+        Map<String, Client> clients = toClientsByCpf(join(clientBatch));
+        products.putAll(toProductsBySku(join(productBatch)));
+
+        Map<String, Integer> quantityBySku = new HashMap<>();
+        for (OrderCreateDto dto : dtos) {
+            if (dto.getQuantity() == null || dto.getQuantity() == 0) {
+                throw new InvalidQuantityException("No quantity stated");
+            }
+            quantityBySku.merge(dto.getSku(), dto.getQuantity(), Integer::sum);
+        }
+        quantityBySku.forEach((sku, quantity) -> verifyProduct(products.get(sku), quantity));
+
+        List<Order> orders = new ArrayList<>(dtos.size());
+        for (OrderCreateDto dto : dtos) {
+            Product product = products.get(dto.getSku());
+            Order order = orderMapper.toOrder(clients.get(dto.getCpf()), product);
+            order.setQuantity(dto.getQuantity());
+            order.setTotal(dto.getQuantity() * product.getPrice());
+            orders.add(order);
+        }
+
+        return orderRepository.saveAll(orders).stream().map(orderMapper::toDto).toList();
+    }
+
     @Transactional(readOnly = true)
-    public PageableDto findAll(Pageable pageable) {
-        PageableDto dto = orderMapper.toPageableDto(orderRepository.findAllPageable(pageable));
+    public PageableDto findAll(Pageable pageable, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, orderRepository::findAllPageable, orderRepository::findAllBy);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found");
         }
@@ -61,8 +144,9 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findBySku(Pageable pageable, String sku) {
-        PageableDto dto = orderMapper.toPageableDto(orderRepository.findBySku(pageable, sku));
+    public PageableDto findBySku(Pageable pageable, String sku, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, page -> orderRepository.findBySku(page, sku),
+                (position, limit, sort) -> orderRepository.findBySku(sku, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found by sku");
         }
@@ -70,8 +154,9 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findByCpf(Pageable pageable, String cpf) {
-        PageableDto dto = orderMapper.toPageableDto(orderRepository.findByCpf(pageable, cpf));
+    public PageableDto findByCpf(Pageable pageable, String cpf, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, page -> orderRepository.findByCpf(page, cpf),
+                (position, limit, sort) -> orderRepository.findByCpf(cpf, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No orders found by cpf");
         }
@@ -79,14 +164,42 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findOrdersByDate(String afterDate, String beforeDate, Pageable pageable) {
+    public PageableDto findByDeliveryStatus(Pageable pageable, String status, String token, boolean count) {
+        Order.DeliveryStatus deliveryStatus = toDeliveryStatus(status);
+        PageableDto dto = page(pageable, token, count, BY_ID, page -> orderRepository.findByDeliveryStatus(page, deliveryStatus),
+                (position, limit, sort) -> orderRepository.findByDeliveryStatus(deliveryStatus, position, limit, sort));
+        if (dto.getContent().isEmpty()) {
+            throw new EntityNotFoundException("No orders found by delivery status");
+        }
+        return dto;
+    }
+
+    /**
+     * Applies a delivery status change to the order read model. Events older than the status already stored are
+     * ignored, so replays and out-of-order deliveries leave the latest status in place.
+     * Returns false when the event was ignored.
+     */
+    @Transactional
+    public boolean updateDeliveryStatus(DeliveryStatusDto dto) {
+        return orderRepository.updateDeliveryStatus(dto.getOrderId(), toDeliveryStatus(dto.getStatus()), dto.getDate()) > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public PageableDto findOrdersByDate(String afterDate, String beforeDate, Pageable pageable, String token, boolean count) {
         PageableDto dto;
         if (afterDate != null && beforeDate != null) {
-            dto = orderMapper.toPageableDto(orderRepository.findByDateBetween(LocalDate.parse(afterDate).atStartOfDay(), LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> orderRepository.findByDateBetween(after, before, page),
+                    (position, limit, sort) -> orderRepository.findByDateBetween(after, before, position, limit, sort));
         } else if (afterDate != null) {
-            dto = orderMapper.toPageableDto(orderRepository.findByDateAfter(LocalDate.parse(afterDate).atStartOfDay(), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            dto = page(pageable, token, count, BY_DATE, page -> orderRepository.findByDateAfter(after, page),
+                    (position, limit, sort) -> orderRepository.findByDateAfter(after, position, limit, sort));
         } else if (beforeDate != null) {
-            dto = orderMapper.toPageableDto(orderRepository.findByDateBefore(LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> orderRepository.findByDateBefore(before, page),
+                    (position, limit, sort) -> orderRepository.findByDateBefore(before, position, limit, sort));
         } else {
             throw new EntityNotFoundException("No date parameters provided");
         }
@@ -106,64 +219,134 @@ public class OrderService {
         orderRepository.deleteById(id);
     }
 
-    @Transactional
-    public void deleteAllProcessing() {
+    @Transactional(readOnly = true)
+    public void verifyProcessingExists() {
         if (!orderRepository.existsByProcessing(true)) {
             throw new EntityNotFoundException("No orders processing found");
         }
-        orderRepository.deleteAllByProcessing(true);
     }
 
+    @Transactional
+    public int deleteProcessingChunk(int size) {
+        List<Long> ids = orderRepository.findIdsByProcessing(true, PageRequest.of(0, size));
+        return ids.isEmpty() ? 0 : orderRepository.deleteAllByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public void verifyUnsent(Long id) {
+        findUnsentOrder(id);
+    }
+
+    /**
+     * Flips the order to processing with a conditional update before the stock is decreased, so a submission
+     * reclaimed after its timeout while the first one is still running cannot send the same order twice.
+     */
+    @Transactional
     public String sendOrder(Long id) {
+        Order order = findUnsentOrder(id);
+
+        OrderContext context = loadContext(order.getCpf(), order.getSku());
+        verifyProduct(context.product(), order.getQuantity());
+
+        if (orderRepository.markProcessing(id) == 0) {
+            throw new OrderAlreadySentException("Already processing order");
+        }
+        order.setProcessing(true);
+        productClient.decreaseProductQuantityBySku(order.getSku(), order.getQuantity());
+        OrderResponseDto response = orderMapper.toDto(orderRepository.save(order));
+        enqueueMessage(response);
+        return "Order nº" + id + " is processing successfully";
+    }
+
+    private Order findUnsentOrder(Long id) {
         Order order = orderRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Order nº" + id + " does not exist")
         );
         if (order.getProcessing()) {
             throw new OrderAlreadySentException("Already processing order");
         }
+        return order;
+    }
 
-        verifyIfExistsClientAndProductAndConnection(order.getCpf(), order.getSku());
-        verifyProduct(order.getSku(), order.getQuantity());
-
-        order.setProcessing(true);
-        productClient.decreaseProductQuantityBySku(order.getSku(), order.getQuantity());
-        OrderResponseDto response = orderMapper.toDto(orderRepository.save(order));
-        sendMessage(response);
-        return "Order nº" + id + " is processing successfully";
+    private void enqueueMessage(OrderResponseDto dto) {
+        try {
+            byte[] payload = orderEventSerializer.serialize(topicName, dto);
+            outboxEventRepository.save(new OutboxEvent(topicName, String.valueOf(dto.getId()), payload));
+        } catch (SerializationException e) {
+            throw new UnknownErrorException();
+        }
     }
 
-    private void sendMessage(OrderResponseDto dto) {
-        kafkaTemplate.send(topicName, dto).whenComplete((result, e) -> {
-            if (e == null) {
-                log.info("Order successfully accepted: nº{}", dto.getId());
-                log.info("Partition: {}", result.getRecordMetadata().partition());
-                log.info("Offset: {}", result.getRecordMetadata().offset());
-            } else {
-                log.error("Error in order submission", e);
-            }
-        });
+    /**
+     * Reads one page of a listing. Without a token it is the usual offset page, with its total count unless
+     * {@code count} is false, in which case it only reports whether a next page exists. With a token it is a keyset
+     * page that seeks past the previous page on {@code keys} and returns the token of the next one.
+     */
+    private PageableDto page(Pageable pageable, String token, boolean count, Sort keys,
+                             Function<Pageable, Page<OrderDtoPagination>> offset,
+                             Keyset.Query<OrderDtoPagination> scroll) {
+        int size = pageable.getPageSize();
+        if (token != null) {
+            return orderMapper.toPageableDto(scroll.scroll(Keyset.decode(token, keys), Limit.of(size), keys), size, token.isEmpty());
+        }
+        if (count) {
+            return orderMapper.toPageableDto(offset.apply(pageable));
+        }
+        ScrollPosition position = pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+        PageableDto dto = orderMapper.toPageableDto(scroll.scroll(position, Limit.of(size), pageable.getSortOr(keys)), size, pageable.getOffset() == 0);
+        dto.setNumber(pageable.getPageNumber());
+        return dto;
     }
 
-    private void verifyIfExistsClientAndProductAndConnection(String cpf, String sku) {
+    private Order.DeliveryStatus toDeliveryStatus(String status) {
         try {
-            clientClient.getClientByCpf(cpf);
-        } catch (FeignException.NotFound e) {
-            throw new EntityNotFoundException(e.getMessage());
-        } catch (FeignException.ServiceUnavailable e) {
-            throw new ConnectionException(e.getMessage());
+            return Order.DeliveryStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new EntityNotFoundException("Delivery status not found");
         }
+    }
+
+    private OrderContext loadContext(String cpf, String sku) {
+        CompletableFuture<Client> client = CompletableFuture.supplyAsync(() -> clientClient.getClientByCpf(cpf), lookupExecutor);
+        CompletableFuture<Product> product = productReplica.findBySku(sku)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> CompletableFuture.supplyAsync(() -> productClient.getProductBySku(sku), lookupExecutor));
+        return new OrderContext(join(client), join(product));
+    }
+
+    private Map<String, Client> toClientsByCpf(ClientBatch batch) {
+        if (!batch.getMissing().isEmpty()) {
+            throw new EntityNotFoundException("Customer not found by CPF: " + String.join(", ", batch.getMissing()));
+        }
+        return batch.getFound();
+    }
 
+    private Map<String, Product> toProductsBySku(ProductBatch batch) {
+        if (!batch.getMissing().isEmpty()) {
+            throw new EntityNotFoundException("Product not found by sku: " + String.join(", ", batch.getMissing()));
+        }
+        return batch.getFound().stream().collect(Collectors.toMap(Product::getSku, Function.identity()));
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
         try {
-            productClient.getProductBySku(sku);
-        } catch (FeignException.NotFound e) {
-            throw new EntityNotFoundException(e.getMessage());
-        } catch (FeignException.ServiceUnavailable e) {
-            throw new ConnectionException(e.getMessage());
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof FeignException.NotFound) {
+                throw new EntityNotFoundException(cause.getMessage());
+            }
+            if (cause instanceof FeignException.ServiceUnavailable) {
+                throw new ConnectionException(cause.getMessage());
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
         }
     }
 
-    private void verifyProduct(String sku, Integer quantity) {
-        Product product = productClient.getProductBySku(sku);
+    private void verifyProduct(Product product, Integer quantity) {
         if (quantity == null || quantity == 0) {
             throw new InvalidQuantityException("No quantity stated");
         }
@@ -174,4 +357,7 @@ public class OrderService {
             throw new UnavailableProductException("The product is not available");
         }
     }
+
+    private record OrderContext(Client client, Product product) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.esand.orders.service;
+
+import com.esand.orders.entity.Order;
+import com.esand.orders.exception.EntityNotFoundException;
+import com.esand.orders.exception.OrderAlreadySentException;
+import com.esand.orders.exception.SubmissionRejectedException;
+import com.esand.orders.repository.OrderRepository;
+import com.esand.orders.web.dto.SubmissionResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Runs order submissions on a bounded background pool so the HTTP thread only validates the order and hands
+ * out a handle. The submission status is stored on the order row, so any instance can answer for a handle and
+ * a second request for an order that is still being submitted gets the existing handle back. A submission left
+ * pending for longer than the timeout, e.g. by an instance that stopped, can be submitted again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSubmissionService {
+
+    private static final int MESSAGE_LENGTH = 255;
+
+    @Value("${submissions.timeout-minutes:15}")
+    private long timeoutMinutes;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ThreadPoolTaskExecutor submissionExecutor;
+
+    public SubmissionResponseDto submit(Long orderId) {
+        orderService.verifyUnsent(orderId);
+
+        String id = UUID.randomUUID().toString();
+        LocalDateTime date = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (orderRepository.claimSubmission(orderId, id, Order.SubmissionStatus.PENDING, date, date.minusMinutes(timeoutMinutes)) == 0) {
+            Order order = orderRepository.findById(orderId).orElseThrow(
+                    () -> new EntityNotFoundException("Order nº" + orderId + " does not exist")
+            );
+            if (order.getSubmissionId() == null) {
+                throw new OrderAlreadySentException("Already processing order");
+            }
+            return toDto(order);
+        }
+
+        try {
+            submissionExecutor.execute(() -> process(orderId, id));
+        } catch (TaskRejectedException e) {
+            finish(id, Order.SubmissionStatus.FAILED, "Too many orders being submitted, try again later");
+            throw new SubmissionRejectedException("Too many orders being submitted, try again later");
+        }
+        return new SubmissionResponseDto(id, orderId, Order.SubmissionStatus.PENDING.name(), null, date, null);
+    }
+
+    public SubmissionResponseDto findById(String id) {
+        Order order = orderRepository.findBySubmissionId(id).orElseThrow(
+                () -> new EntityNotFoundException("Submission not found")
+        );
+        return toDto(order);
+    }
+
+    private void process(Long orderId, String id) {
+        try {
+            finish(id, Order.SubmissionStatus.COMPLETED, orderService.sendOrder(orderId));
+        } catch (RuntimeException e) {
+            log.error("Error in order submission nº{}", orderId, e);
+            finish(id, Order.SubmissionStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(String id, Order.SubmissionStatus status, String message) {
+        if (message != null && message.length() > MESSAGE_LENGTH) {
+            message = message.substring(0, MESSAGE_LENGTH);
+        }
+        orderRepository.finishSubmission(id, status, message, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    private SubmissionResponseDto toDto(Order order) {
+        return new SubmissionResponseDto(
+                order.getSubmissionId(),
+                order.getId(),
+                order.getSubmissionStatus().name(),
+                order.getSubmissionMessage(),
+                order.getSubmissionDate(),
+                order.getSubmissionFinishedAt()
+        );
+    }
+}
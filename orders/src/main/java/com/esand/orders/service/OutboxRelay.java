@@ -0,0 +1,102 @@
+package com.esand.orders.service;
+
+import com.esand.orders.entity.OutboxEvent;
+import com.esand.orders.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains pending rows of the order outbox to Kafka. Payloads are stored already encoded, so they are sent as they
+ * are. Each batch is handed to the producer in one go so it can be grouped into few requests, and only rows whose
+ * send was acknowledged are marked as sent; the rest are retried on the next run, so delivery is at-least-once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+    @Value("${outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    @Value("${outbox.retention-minutes:1440}")
+    private long retentionMinutes;
+    @Value("${outbox.cleanup-chunk-size:1000}")
+    private int cleanupChunkSize;
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Scheduled(fixedDelayString = "${outbox.relay-interval-ms:500}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findBySentAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        } while (!batch.isEmpty() && relay(batch) == batch.size() && batch.size() == batchSize);
+    }
+
+    /**
+     * Deletes the rows sent more than {@code outbox.retention-minutes} ago, one bounded chunk per transaction,
+     * so the table only holds pending rows and the recent ones kept for troubleshooting.
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int deleted = 0;
+        List<Long> ids;
+        do {
+            ids = outboxEventRepository.findIdsBySentAtBefore(limit, PageRequest.of(0, cleanupChunkSize));
+            if (!ids.isEmpty()) {
+                deleted += outboxEventRepository.deleteAllByIdIn(ids);
+            }
+        } while (ids.size() == cleanupChunkSize);
+        if (deleted > 0) {
+            log.info("Deleted {} sent order events", deleted);
+        }
+    }
+
+    private int relay(List<OutboxEvent> batch) {
+        Map<Long, CompletableFuture<SendResult<String, byte[]>>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            try {
+                sends.put(event.getId(), kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()));
+            } catch (RuntimeException e) {
+                log.error("Error relaying outbox event nº{}", event.getId(), e);
+            }
+        }
+
+        List<Long> sent = new ArrayList<>(sends.size());
+        for (Map.Entry<Long, CompletableFuture<SendResult<String, byte[]>>> send : sends.entrySet()) {
+            try {
+                send.getValue().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sent.add(send.getKey());
+            } catch (ExecutionException | TimeoutException e) {
+                log.error("Error relaying outbox event nº{}", send.getKey(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            outboxEventRepository.markSent(sent, LocalDateTime.now());
+            log.info("Relayed {} order events", sent.size());
+        }
+        return sent.size();
+    }
+}
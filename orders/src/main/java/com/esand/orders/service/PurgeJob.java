@@ -0,0 +1,46 @@
+package com.esand.orders.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class PurgeJob {
+    private final String id = UUID.randomUUID().toString();
+    private final String target;
+    private final LocalDateTime createDate = LocalDateTime.now();
+    private final AtomicLong deleted = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    public PurgeJob(String target) {
+        this.target = target;
+    }
+
+    void progress(int chunk) {
+        deleted.addAndGet(chunk);
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, deleted.get() + " orders deleted");
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private void finish(Status status, String message) {
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -3,9 +3,12 @@ package com.esand.orders.springdoc;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
 import com.esand.orders.web.dto.PageableDto;
+import com.esand.orders.web.dto.PurgeResponseDto;
+import com.esand.orders.web.dto.SubmissionResponseDto;
 import com.esand.orders.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,6 +22,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 @Tag(name = "Orders", description = "Contains all operations related to order management, including creation, searching, updating, and deletion")
 public interface SpringDoc {
 
@@ -28,7 +33,7 @@ public interface SpringDoc {
             @ApiResponse(responseCode = "201", description = "Order created successfully!",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = OrderResponseDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request",
+            @ApiResponse(responseCode = "400", description = "Invalid request, empty order or batch too large",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "404", description = "Client or product not found",
@@ -40,6 +45,25 @@ public interface SpringDoc {
     })
     ResponseEntity<OrderResponseDto> create(@RequestBody @Valid OrderCreateDto dto);
 
+    @Operation(summary = "Create orders in batch",
+            description = "Endpoint that creates many orders at once, validating stock per SKU across the whole batch. " +
+                    "A batch holds up to 500 orders by default.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Orders created successfully!",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = OrderResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Client or product not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Service unavailable",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<List<OrderResponseDto>> createBatch(@RequestBody List<OrderCreateDto> dtos);
+
     @Operation(summary = "Search for all orders",
             description = "Endpoint to search for all orders.")
     @ApiResponses(value = {
@@ -47,10 +71,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No orders found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                        @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                        @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for orders by SKU",
             description = "Endpoint to search for orders by product SKU.")
@@ -59,10 +88,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No orders found by SKU",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findBySku(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String sku);
+    ResponseEntity<PageableDto> findBySku(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String sku,
+                                          @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                          @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for orders by customer CPF",
             description = "Endpoint to search for orders by customer CPF.")
@@ -71,10 +105,32 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No orders found by CPF",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<PageableDto> findByCpf(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String cpf,
+                                          @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                          @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
+
+    @Operation(summary = "Search for orders by delivery status",
+            description = "Endpoint to search for orders by the delivery status (PROCESSING, SHIPPED or CANCELED) last reported by the delivery service.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders found successfully by delivery status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PageableDto.class))),
+            @ApiResponse(responseCode = "404", description = "No orders found by delivery status or unknown status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findByCpf(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String cpf);
+    ResponseEntity<PageableDto> findByDeliveryStatus(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String status,
+                                                     @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                                     @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for orders by date",
             description = "Endpoint to search for orders by date range.")
@@ -83,27 +139,47 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No orders found by date",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
     ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                            @RequestParam(value = "afterDate", required = false) String afterDate,
-                                           @RequestParam(value = "beforeDate", required = false) String beforeDate);
+                                           @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                           @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                           @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Send an order",
-            description = "Endpoint to send an order by its ID.")
+            description = "Endpoint to send an order by its ID. The order is submitted in the background and the returned handle can be polled for the outcome.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Order sent successfully",
+            @ApiResponse(responseCode = "202", description = "Order accepted for submission",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = String.class))),
+                            schema = @Schema(implementation = SubmissionResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "Order not found by ID",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "409", description = "Order already processing",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Too many orders being submitted",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<String> sendOrder(@PathVariable Long id);
+    ResponseEntity<SubmissionResponseDto> sendOrder(@PathVariable Long id);
+
+    @Operation(summary = "Search for an order submission",
+            description = "Endpoint to poll the outcome of an order submission by its handle.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Submission found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SubmissionResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Submission not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<SubmissionResponseDto> findSubmission(@PathVariable String id);
 
     @Operation(summary = "Delete an order",
             description = "Endpoint to delete an order by its ID.")
@@ -117,13 +193,29 @@ public interface SpringDoc {
     ResponseEntity<Void> deleteById(@PathVariable Long id);
 
     @Operation(summary = "Delete all processing orders",
-            description = "Endpoint to delete all orders that have been processing.")
+            description = "Endpoint to delete all orders that have been processing. The orders are deleted in chunks in the background and the returned handle can be polled for the progress.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "All processing orders deleted successfully",
-                    content = @Content),
+            @ApiResponse(responseCode = "202", description = "Purge of processing orders started",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PurgeResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "No processing orders found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Purge could not be started",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<PurgeResponseDto> deleteAllProcessing();
+
+    @Operation(summary = "Search for a purge",
+            description = "Endpoint to poll the progress of a purge by its handle.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purge found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PurgeResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Purge not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<Void> deleteAllProcessing();
+    ResponseEntity<PurgeResponseDto> findPurge(@PathVariable String id);
 }
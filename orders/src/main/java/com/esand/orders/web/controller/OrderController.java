@@ -1,10 +1,14 @@
 package com.esand.orders.web.controller;
 
 import com.esand.orders.service.OrderService;
+import com.esand.orders.service.OrderSubmissionService;
+import com.esand.orders.service.PurgeService;
 import com.esand.orders.springdoc.SpringDoc;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
 import com.esand.orders.web.dto.PageableDto;
+import com.esand.orders.web.dto.PurgeResponseDto;
+import com.esand.orders.web.dto.SubmissionResponseDto;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -13,42 +17,75 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController implements SpringDoc {
     private final OrderService orderService;
+    private final OrderSubmissionService orderSubmissionService;
+    private final PurgeService purgeService;
 
     @PostMapping
     public ResponseEntity<OrderResponseDto> create(@RequestBody OrderCreateDto dto) {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.save(dto));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderResponseDto>> createBatch(@RequestBody List<OrderCreateDto> dtos) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.saveAll(dtos));
+    }
+
     @GetMapping
-    public ResponseEntity<PageableDto> findAll(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(orderService.findAll(pageable));
+    public ResponseEntity<PageableDto> findAll(@PageableDefault(size = 10) Pageable pageable,
+                                               @RequestParam(value = "token", required = false) String token,
+                                               @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(orderService.findAll(pageable, token, count));
     }
 
     @GetMapping("/sku/{sku}")
-    public ResponseEntity<PageableDto> findBySku(@PageableDefault(size = 10) Pageable pageable, @PathVariable String sku) {
-        return ResponseEntity.ok(orderService.findBySku(pageable, sku));
+    public ResponseEntity<PageableDto> findBySku(@PageableDefault(size = 10) Pageable pageable, @PathVariable String sku,
+                                                 @RequestParam(value = "token", required = false) String token,
+                                                 @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(orderService.findBySku(pageable, sku, token, count));
     }
 
     @GetMapping("/cpf/{cpf}")
-    public ResponseEntity<PageableDto> findByCpf(@PageableDefault(size = 10) Pageable pageable, @PathVariable String cpf) {
-        return ResponseEntity.ok(orderService.findByCpf(pageable, cpf));
+    public ResponseEntity<PageableDto> findByCpf(@PageableDefault(size = 10) Pageable pageable, @PathVariable String cpf,
+                                                 @RequestParam(value = "token", required = false) String token,
+                                                 @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(orderService.findByCpf(pageable, cpf, token, count));
+    }
+
+    @GetMapping("/delivery-status/{status}")
+    public ResponseEntity<PageableDto> findByDeliveryStatus(@PageableDefault(size = 10) Pageable pageable, @PathVariable String status,
+                                                            @RequestParam(value = "token", required = false) String token,
+                                                            @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(orderService.findByDeliveryStatus(pageable, status, token, count));
     }
 
     @GetMapping("/date")
     public ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                                   @RequestParam(value = "afterDate", required = false) String afterDate,
-                                                  @RequestParam(value = "beforeDate", required = false) String beforeDate) {
-        return ResponseEntity.ok(orderService.findOrdersByDate(afterDate, beforeDate, pageable));
+                                                  @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                                  @RequestParam(value = "token", required = false) String token,
+                                                  @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(orderService.findOrdersByDate(afterDate, beforeDate, pageable, token, count));
     }
 
     @PatchMapping("/processing/{id}")
-    public ResponseEntity<String> sendOrder(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.sendOrder(id));
+    public ResponseEntity<SubmissionResponseDto> sendOrder(@PathVariable Long id) {
+        SubmissionResponseDto dto = orderSubmissionService.submit(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/submissions/" + dto.getId()))
+                .body(dto);
+    }
+
+    @GetMapping("/submissions/{id}")
+    public ResponseEntity<SubmissionResponseDto> findSubmission(@PathVariable String id) {
+        return ResponseEntity.ok(orderSubmissionService.findById(id));
     }
 
     @DeleteMapping("/delete/{id}")
@@ -58,8 +95,15 @@ public class OrderController implements SpringDoc {
     }
 
     @DeleteMapping("/delete/processing")
-    public ResponseEntity<Void> deleteAllProcessing() {
-        orderService.deleteAllProcessing();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<PurgeResponseDto> deleteAllProcessing() {
+        PurgeResponseDto dto = purgeService.purgeProcessing();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/purges/" + dto.getId()))
+                .body(dto);
+    }
+
+    @GetMapping("/purges/{id}")
+    public ResponseEntity<PurgeResponseDto> findPurge(@PathVariable String id) {
+        return ResponseEntity.ok(purgeService.findById(id));
     }
 }
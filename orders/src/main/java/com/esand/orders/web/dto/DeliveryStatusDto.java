@@ -0,0 +1,19 @@
+package com.esand.orders.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeliveryStatusDto implements Serializable {
+    private Long orderId;
+    private String status;
+    private LocalDateTime date;
+}
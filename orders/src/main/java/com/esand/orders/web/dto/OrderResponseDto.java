@@ -24,4 +24,5 @@ public class OrderResponseDto implements Serializable {
     private Double total;
     private Boolean processing;
     private LocalDateTime date;
+    private String deliveryStatus;
 }
@@ -0,0 +1,22 @@
+package com.esand.orders.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurgeResponseDto {
+    private String id;
+    private String target;
+    private String status;
+    private Long deleted;
+    private String message;
+    private LocalDateTime createDate;
+    private LocalDateTime finishedAt;
+}
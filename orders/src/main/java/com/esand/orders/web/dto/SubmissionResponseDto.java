@@ -0,0 +1,21 @@
+package com.esand.orders.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubmissionResponseDto {
+    private String id;
+    private Long orderId;
+    private String status;
+    private String message;
+    private LocalDateTime createDate;
+    private LocalDateTime finishedAt;
+}
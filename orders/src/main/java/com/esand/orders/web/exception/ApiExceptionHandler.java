@@ -31,6 +31,15 @@ public class ApiExceptionHandler {
                 .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
+    @ExceptionHandler(InvalidTokenException.class)
+    public final ResponseEntity<ErrorMessage> invalidTokenException(InvalidTokenException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
     @ExceptionHandler(InvalidQuantityException.class)
     public final ResponseEntity<ErrorMessage> invalidQuantityException(InvalidQuantityException ex, HttpServletRequest request) {
         log.error("API Error", ex);
@@ -58,4 +67,22 @@ public class ApiExceptionHandler {
                 .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
     }
 
+    @ExceptionHandler(SubmissionRejectedException.class)
+    public final ResponseEntity<ErrorMessage> submissionRejectedException(SubmissionRejectedException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    @ExceptionHandler(PurgeRejectedException.class)
+    public final ResponseEntity<ErrorMessage> purgeRejectedException(PurgeRejectedException ex, HttpServletRequest request) {
+        log.error("API Error", ex);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
 }
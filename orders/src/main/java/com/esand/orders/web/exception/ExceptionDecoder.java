@@ -28,6 +28,14 @@ public class ExceptionDecoder implements ErrorDecoder {
             return new ConnectionException("Products API not available");
         }
 
+        if (method.contains("getClientsByCpf") && response.status() == 503) {
+            return new ConnectionException("Clients API not available");
+        }
+
+        if (method.contains("getProductsBySku") && response.status() == 503) {
+            return new ConnectionException("Products API not available");
+        }
+
         return new UnknownErrorException();
     }
 }
@@ -3,6 +3,7 @@ package com.esand.orders.web.mapper;
 import com.esand.orders.client.clients.Client;
 import com.esand.orders.client.products.Product;
 import com.esand.orders.entity.Order;
+import com.esand.orders.repository.pagination.Keyset;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
 import com.esand.orders.web.dto.PageableDto;
@@ -11,14 +12,34 @@ import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface OrderMapper {
     OrderMapper INSTANCE = Mappers.getMapper(OrderMapper.class);
 
+    @Mapping(target = "deliveryStatus", ignore = true)
+    @Mapping(target = "deliveryStatusDate", ignore = true)
+    @Mapping(target = "submissionId", ignore = true)
+    @Mapping(target = "submissionStatus", ignore = true)
+    @Mapping(target = "submissionMessage", ignore = true)
+    @Mapping(target = "submissionDate", ignore = true)
+    @Mapping(target = "submissionFinishedAt", ignore = true)
     Order toOrder(Client client, Product product);
 
     OrderResponseDto toDto(Order order);
 
+    @Mapping(target = "next", ignore = true)
     PageableDto toPageableDto(Page page);
+
+    default PageableDto toPageableDto(Window<?> window, int size, boolean first) {
+        PageableDto dto = new PageableDto();
+        dto.setContent(window.getContent());
+        dto.setFirst(first);
+        dto.setLast(!window.hasNext());
+        dto.setSize(size);
+        dto.setNumberOfElements(window.size());
+        dto.setNext(Keyset.encode(window));
+        return dto;
+    }
 }
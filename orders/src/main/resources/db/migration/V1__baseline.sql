@@ -0,0 +1,13 @@
+create table orders (
+    id bigint generated by default as identity,
+    product_name varchar(255),
+    product_sku varchar(255),
+    client_name varchar(255),
+    client_cpf varchar(255),
+    price float(53),
+    quantity integer,
+    total float(53),
+    processing boolean,
+    date timestamp(6) not null,
+    primary key (id)
+);
@@ -0,0 +1,3 @@
+create sequence orders_seq start with 1 increment by 50;
+alter sequence orders_seq restart with (select coalesce(max(id), 0) + 51 from orders);
+alter table orders alter column id drop identity;
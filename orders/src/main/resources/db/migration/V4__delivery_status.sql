@@ -0,0 +1,2 @@
+alter table orders add column delivery_status enum ('CANCELED','PROCESSING','SHIPPED');
+alter table orders add column delivery_status_date timestamp(6);
@@ -0,0 +1,5 @@
+create index idx_orders_product_sku on orders (product_sku, id);
+create index idx_orders_client_cpf on orders (client_cpf, id);
+create index idx_orders_date on orders (date, id);
+create index idx_orders_processing on orders (processing, id);
+create index idx_orders_delivery_status on orders (delivery_status, id);
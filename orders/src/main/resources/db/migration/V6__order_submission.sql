@@ -0,0 +1,7 @@
+alter table orders add column submission_id varchar(36);
+alter table orders add column submission_status enum ('COMPLETED','FAILED','PENDING');
+alter table orders add column submission_message varchar(255);
+alter table orders add column submission_date timestamp(6);
+alter table orders add column submission_finished_at timestamp(6);
+
+create unique index idx_orders_submission_id on orders (submission_id);
@@ -0,0 +1,5 @@
+alter table order_outbox add column payload_bytes varbinary(4000);
+update order_outbox set payload_bytes = stringtoutf8(payload);
+alter table order_outbox drop column payload;
+alter table order_outbox alter column payload_bytes rename to payload;
+alter table order_outbox alter column payload set not null;
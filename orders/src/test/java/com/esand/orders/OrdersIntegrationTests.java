@@ -1,13 +1,19 @@
 package com.esand.orders;
 
 import com.esand.orders.client.clients.Client;
+import com.esand.orders.config.DeliveryStatusListener;
+import com.esand.orders.config.OrderEventSerializer;
 import com.esand.orders.client.clients.ClientClient;
 import com.esand.orders.client.products.Product;
 import com.esand.orders.client.products.ProductClient;
 import com.esand.orders.entity.EntityMock;
 import com.esand.orders.entity.Order;
 import com.esand.orders.exception.OrderAlreadySentException;
+import com.esand.orders.entity.OutboxEvent;
 import com.esand.orders.repository.OrderRepository;
+import com.esand.orders.repository.OutboxEventRepository;
+import com.esand.orders.service.OutboxRelay;
+import com.esand.orders.web.dto.DeliveryStatusDto;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
 import feign.FeignException;
@@ -28,15 +34,23 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
-import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @ExtendWith(SpringExtension.class)
@@ -51,6 +65,15 @@ class OrdersIntegrationTests {
 	@Autowired
 	private OrderRepository orderRepository;
 
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private DeliveryStatusListener deliveryStatusListener;
+
 	@Autowired
 	private MockMvc mockMvc;
 
@@ -64,7 +87,7 @@ class OrdersIntegrationTests {
 	private ClientClient clientClient;
 
 	@MockBean
-	private KafkaTemplate<String, Serializable> kafkaTemplate;
+	private KafkaTemplate<String, byte[]> kafkaTemplate;
 
 	@MockBean
 	private KafkaAdmin kafkaAdmin;
@@ -72,6 +95,7 @@ class OrdersIntegrationTests {
 	@BeforeEach
 	public void setUp() {
 		orderRepository.deleteAll();
+		outboxEventRepository.deleteAll();
 	}
 
 	Order createOrder() {
@@ -96,6 +120,61 @@ class OrdersIntegrationTests {
 				);
 	}
 
+	@Test
+	void testCreateOrderBatchSuccess() throws Exception {
+		List<OrderCreateDto> dtos = List.of(EntityMock.createDto(), EntityMock.createDto());
+		dtos.get(0).setQuantity(5);
+		dtos.get(1).setQuantity(5);
+
+		when(clientClient.getClientsByCpf(any())).thenReturn(EntityMock.clientBatch());
+		when(productClient.getProductsBySku(any())).thenReturn(EntityMock.productBatch());
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(dtos)))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.length()").value(2));
+
+		assertEquals(2, orderRepository.count());
+	}
+
+	@Test
+	void testCreateOrderBatchInvalidQuantityException() throws Exception {
+		List<OrderCreateDto> dtos = List.of(EntityMock.createDto(), EntityMock.createDto());
+
+		when(clientClient.getClientsByCpf(any())).thenReturn(EntityMock.clientBatch());
+		when(productClient.getProductsBySku(any())).thenReturn(EntityMock.productBatch());
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(dtos)))
+				.andExpect(status().isBadRequest());
+
+		assertEquals(0, orderRepository.count());
+	}
+
+	@Test
+	void testCreateOrderBatchTooLargeException() throws Exception {
+		List<OrderCreateDto> dtos = List.of(EntityMock.createDto(), EntityMock.createDto(), EntityMock.createDto());
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(dtos)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("At most 2 orders can be created per batch"));
+
+		verify(clientClient, never()).getClientsByCpf(any());
+	}
+
+	@Test
+	void testCreateOrderBatchNullOrderException() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[" + objectMapper.writeValueAsString(EntityMock.createDto()) + ", null]"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Empty order in batch"));
+	}
+
 	@Test
 	void testCreateOrderClientNotFoundException() throws Exception {
 		OrderCreateDto orderCreateDto = EntityMock.createDto();
@@ -275,6 +354,97 @@ class OrdersIntegrationTests {
 				);
 	}
 
+	List<Long> scroll(String uri) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		String token = "";
+		boolean last = false;
+		while (!last) {
+			String body = mockMvc.perform(MockMvcRequestBuilders.get(uri)
+							.param("size", "2")
+							.param("token", token)
+							.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.totalElements").doesNotExist())
+					.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			JsonNode page = objectMapper.readTree(body);
+			page.get("content").forEach(order -> ids.add(order.get("order").asLong()));
+			last = page.get("last").asBoolean();
+			token = page.path("next").asText(null);
+			assertEquals(last, token == null);
+		}
+		return ids;
+	}
+
+	@Test
+	void testFindAllOrdersKeysetSuccess() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Order order = EntityMock.order();
+			order.setId(null);
+			ids.add(orderRepository.save(order).getId());
+		}
+
+		assertEquals(ids, scroll("/api/v1/orders"));
+	}
+
+	@Test
+	void testFindByDateKeysetSuccess() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Order order = EntityMock.order();
+			order.setId(null);
+			order.setDate(LocalDateTime.now().minusHours(5 - i));
+			ids.add(orderRepository.save(order).getId());
+		}
+
+		assertEquals(ids, scroll("/api/v1/orders/date?afterDate=" + LocalDate.now().minusDays(1)));
+	}
+
+	@Test
+	void testFindAllOrdersWithoutCount() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Order order = EntityMock.order();
+			order.setId(null);
+			ids.add(orderRepository.save(order).getId());
+		}
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders")
+						.param("count", "false")
+						.param("page", "1")
+						.param("size", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].order").value(ids.get(2)))
+				.andExpect(jsonPath("$.content[1].order").value(ids.get(3)))
+				.andExpect(jsonPath("$.page").value(1))
+				.andExpect(jsonPath("$.last").value(false))
+				.andExpect(jsonPath("$.totalElements").doesNotExist())
+				.andExpect(jsonPath("$.next").doesNotExist());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders")
+						.param("count", "false")
+						.param("page", "2")
+						.param("size", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].order").value(ids.get(4)))
+				.andExpect(jsonPath("$.pageElements").value(1))
+				.andExpect(jsonPath("$.last").value(true));
+	}
+
+	@Test
+	void testFindAllOrdersInvalidToken() throws Exception {
+		createOrder();
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders")
+						.param("token", "not-a-token")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid continuation token")
+				);
+	}
+
 	@Test
 	void testFindBySkuOrdersSuccess() throws Exception {
 		createOrder();
@@ -305,6 +475,41 @@ class OrdersIntegrationTests {
 				);
 	}
 
+	@Test
+	void testFindByDeliveryStatusSuccess() throws Exception {
+		Order order = createOrder();
+		LocalDateTime shippedAt = LocalDateTime.now();
+
+		deliveryStatusListener.consumer(new DeliveryStatusDto(order.getId(), "SHIPPED", shippedAt));
+		deliveryStatusListener.consumer(new DeliveryStatusDto(order.getId(), "PROCESSING", shippedAt.minusMinutes(5)));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/delivery-status/shipped")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].order").value(order.getId()))
+				.andExpect(jsonPath("$.content[0].deliveryStatus").value("SHIPPED"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/cpf/" + order.getCpf())
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].deliveryStatus").value("SHIPPED"));
+	}
+
+	@Test
+	void testFindByDeliveryStatusEntityNotFoundException() throws Exception {
+		createOrder();
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/delivery-status/canceled")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("No orders found by delivery status"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/delivery-status/lost")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("Delivery status not found"));
+	}
+
 	@Test
 	void testFindByCpfOrdersSuccess() throws Exception {
 		createOrder();
@@ -446,13 +651,33 @@ class OrdersIntegrationTests {
 
 	@Test
 	void testDeleteAllProcessingSuccess() throws Exception {
-		Order order = createOrder();
-		order.setProcessing(true);
-		orderRepository.save(order);
+		for (int i = 0; i < 5; i++) {
+			Order order = EntityMock.order();
+			order.setId(null);
+			order.setProcessing(true);
+			orderRepository.save(order);
+		}
+		Order pending = createOrder();
+
+		String response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/orders/delete/processing")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andExpect(jsonPath("$.target").value("processing"))
+				.andReturn().getResponse().getContentAsString();
 
-		mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/orders/delete/processing")
+		JsonNode purge = awaitPurge(objectMapper.readTree(response).get("id").asText());
+		assertEquals("COMPLETED", purge.get("status").asText());
+		assertEquals(5, purge.get("deleted").asLong());
+		assertEquals(List.of(pending.getId()), orderRepository.findAll().stream().map(Order::getId).toList());
+	}
+
+	@Test
+	void testFindPurgeEntityNotFoundException() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/purges/unknown")
 						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isNoContent()
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("Purge not found")
 				);
 	}
 
@@ -475,14 +700,40 @@ class OrdersIntegrationTests {
 		when(productClient.getProductBySku(any(String.class))).thenReturn(product);
 		doNothing().when(productClient).decreaseProductQuantityBySku(any(String.class), any(Integer.class));
 
-		CompletableFuture<SendResult<String, Serializable>> future = CompletableFuture.completedFuture(mock(SendResult.class));
-		when(kafkaTemplate.send(any(String.class), any(OrderResponseDto.class))).thenReturn(future);
+		CompletableFuture<SendResult<String, byte[]>> future = CompletableFuture.completedFuture(mock(SendResult.class));
+		when(kafkaTemplate.send(any(String.class), any(String.class), any(byte[].class))).thenReturn(future);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isOk())
-				.andExpect(jsonPath("$").value("Order nº" + order.getId() + " is processing successfully")
-				);
+		JsonNode submission = awaitSubmission(submitOrder(order.getId()));
+		assertEquals("COMPLETED", submission.get("status").asText());
+		assertEquals("Order nº" + order.getId() + " is processing successfully", submission.get("message").asText());
+		assertEquals(Order.SubmissionStatus.COMPLETED, orderRepository.findById(order.getId()).orElseThrow().getSubmissionStatus());
+
+		List<OutboxEvent> events = outboxEventRepository.findAll();
+		assertEquals(1, events.size());
+		assertNull(events.get(0).getSentAt());
+		verify(kafkaTemplate, never()).send(any(String.class), any(String.class), any(byte[].class));
+
+		outboxRelay.relay();
+
+		verify(kafkaTemplate).send(eq(topicName), eq(String.valueOf(order.getId())), argThat((byte[] payload) ->
+				payload[0] == OrderEventSerializer.MAGIC && ByteBuffer.wrap(payload, 2, Long.BYTES).getLong() == order.getId()));
+		assertNotNull(outboxEventRepository.findAll().get(0).getSentAt());
+	}
+
+	@Test
+	void testSendOrderByIdKeepsOutboxEventWhenSendFails() throws Exception {
+		Order order = createOrder();
+
+		when(clientClient.getClientByCpf(any(String.class))).thenReturn(EntityMock.client());
+		when(productClient.getProductBySku(any(String.class))).thenReturn(EntityMock.product());
+		when(kafkaTemplate.send(any(String.class), any(String.class), any(byte[].class)))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+		assertEquals("COMPLETED", awaitSubmission(submitOrder(order.getId())).get("status").asText());
+
+		outboxRelay.relay();
+
+		assertNull(outboxEventRepository.findAll().get(0).getSentAt());
 	}
 
 	@Test
@@ -514,10 +765,8 @@ class OrdersIntegrationTests {
 		FeignException.NotFound feignException = mock(FeignException.NotFound.class);
 		when(clientClient.getClientByCpf(anyString())).thenThrow(feignException);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isNotFound()
-				);
+		assertEquals("FAILED", awaitSubmission(submitOrder(order.getId())).get("status").asText());
+		assertEquals(false, orderRepository.findById(order.getId()).orElseThrow().getProcessing());
 	}
 
 	@Test
@@ -527,10 +776,7 @@ class OrdersIntegrationTests {
 		FeignException.ServiceUnavailable feignException = mock(FeignException.ServiceUnavailable.class);
 		when(clientClient.getClientByCpf(anyString())).thenThrow(feignException);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isServiceUnavailable()
-				);
+		assertEquals("FAILED", awaitSubmission(submitOrder(order.getId())).get("status").asText());
 	}
 
 	@Test
@@ -540,10 +786,7 @@ class OrdersIntegrationTests {
 		FeignException.NotFound feignException = mock(FeignException.NotFound.class);
 		when(productClient.getProductBySku(anyString())).thenThrow(feignException);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isNotFound()
-				);
+		assertEquals("FAILED", awaitSubmission(submitOrder(order.getId())).get("status").asText());
 	}
 
 	@Test
@@ -553,10 +796,7 @@ class OrdersIntegrationTests {
 		FeignException.ServiceUnavailable feignException = mock(FeignException.ServiceUnavailable.class);
 		when(productClient.getProductBySku(anyString())).thenThrow(feignException);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isServiceUnavailable()
-				);
+		assertEquals("FAILED", awaitSubmission(submitOrder(order.getId())).get("status").asText());
 	}
 
 	@Test
@@ -565,11 +805,12 @@ class OrdersIntegrationTests {
 		order.setQuantity(0);
 		orderRepository.save(order);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isBadRequest())
-				.andExpect(jsonPath("$.message").value("No quantity stated")
-				);
+		when(clientClient.getClientByCpf(any(String.class))).thenReturn(EntityMock.client());
+		when(productClient.getProductBySku(any(String.class))).thenReturn(EntityMock.product());
+
+		JsonNode submission = awaitSubmission(submitOrder(order.getId()));
+		assertEquals("FAILED", submission.get("status").asText());
+		assertEquals("No quantity stated", submission.get("message").asText());
 	}
 
 	@Test
@@ -583,11 +824,9 @@ class OrdersIntegrationTests {
 		when(clientClient.getClientByCpf(any(String.class))).thenReturn(client);
 		when(productClient.getProductBySku(any(String.class))).thenReturn(product);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
-						.contentType(MediaType.APPLICATION_JSON))
-				.andExpect(status().isBadRequest())
-				.andExpect(jsonPath("$.message").value("The quantity of available products is " + product.getQuantity())
-				);
+		JsonNode submission = awaitSubmission(submitOrder(order.getId()));
+		assertEquals("FAILED", submission.get("status").asText());
+		assertEquals("The quantity of available products is " + product.getQuantity(), submission.get("message").asText());
 	}
 
 	@Test
@@ -600,10 +839,59 @@ class OrdersIntegrationTests {
 		when(clientClient.getClientByCpf(any(String.class))).thenReturn(client);
 		when(productClient.getProductBySku(any(String.class))).thenReturn(product);
 
-		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + order.getId())
+		JsonNode submission = awaitSubmission(submitOrder(order.getId()));
+		assertEquals("FAILED", submission.get("status").asText());
+		assertEquals("The product is not available", submission.get("message").asText());
+	}
+
+	@Test
+	void testFindSubmissionEntityNotFoundException() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/submissions/unknown")
 						.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isNotFound())
-				.andExpect(jsonPath("$.message").value("The product is not available")
+				.andExpect(jsonPath("$.message").value("Submission not found")
 				);
 	}
+
+	String submitOrder(Long id) throws Exception {
+		String response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/orders/processing/" + id)
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andExpect(jsonPath("$.orderId").value(id))
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response).get("id").asText();
+	}
+
+	JsonNode awaitSubmission(String id) throws Exception {
+		JsonNode submission = null;
+		for (int i = 0; i < 100; i++) {
+			String response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/submissions/" + id)
+							.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			submission = objectMapper.readTree(response);
+			if (!"PENDING".equals(submission.get("status").asText())) {
+				return submission;
+			}
+			Thread.sleep(50);
+		}
+		return submission;
+	}
+
+	JsonNode awaitPurge(String id) throws Exception {
+		JsonNode purge = null;
+		for (int i = 0; i < 100; i++) {
+			String response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/purges/" + id)
+							.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			purge = objectMapper.readTree(response);
+			if (!"RUNNING".equals(purge.get("status").asText())) {
+				return purge;
+			}
+			Thread.sleep(50);
+		}
+		return purge;
+	}
 }
@@ -0,0 +1,79 @@
+package com.esand.orders.config;
+
+import com.esand.orders.web.dto.OrderResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderEventSerializerTest {
+
+    private final OrderEventSerializer serializer = new OrderEventSerializer();
+
+    private OrderResponseDto order() {
+        return new OrderResponseDto(1L, "João Silva", "07021050070", "Wireless Mouse", "MOUSE-2024-WL-0010",
+                29.99, 10, 299.9, true, LocalDateTime.of(2024, 7, 1, 10, 30, 15, 123456789), null);
+    }
+
+    @Test
+    void testSerializeLayout() throws IOException {
+        OrderResponseDto order = order();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(serializer.serialize("Orders", order)));
+
+        assertEquals(OrderEventSerializer.MAGIC, in.readByte());
+        assertEquals(OrderEventSerializer.VERSION, in.readByte());
+        assertEquals(order.getId(), in.readLong());
+        assertEquals(order.getName(), readString(in));
+        assertEquals(order.getCpf(), readString(in));
+        assertEquals(order.getTitle(), readString(in));
+        assertEquals(order.getSku(), readString(in));
+        assertTrue(in.readBoolean());
+        assertEquals(order.getPrice(), in.readDouble());
+        assertTrue(in.readBoolean());
+        assertEquals(order.getQuantity(), in.readInt());
+        assertTrue(in.readBoolean());
+        assertEquals(order.getTotal(), in.readDouble());
+        assertTrue(in.readBoolean());
+        assertEquals(order.getDate(), LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void testSerializeNullFields() throws IOException {
+        OrderResponseDto order = new OrderResponseDto();
+        order.setId(2L);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(serializer.serialize("Orders", order)));
+        in.skipBytes(10);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(-1, in.readInt());
+        }
+        for (int i = 0; i < 4; i++) {
+            assertFalse(in.readBoolean());
+        }
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void testSerializeSmallerThanJson() {
+        try (JsonSerializer<OrderResponseDto> json = new JsonSerializer<>()) {
+            json.setAddTypeInfo(false);
+            assertTrue(serializer.serialize("Orders", order()).length < json.serialize("Orders", order()).length);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] encoded = new byte[in.readInt()];
+        in.readFully(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,144 @@
+package com.esand.orders.config;
+
+import com.esand.orders.entity.EntityMock;
+import com.esand.orders.web.dto.OrderResponseDto;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Compares the plain producer the service used to build with the tuned profile from application-local.yml by
+ * sending order events to the Orders topic. Runs against an embedded broker unless
+ * {@code benchmark.bootstrap-servers} points to a real one:
+ * <pre>
+ * mvn test -Dtest=ProducerBenchmark -Dbenchmark=true [-Dbenchmark.records=50000]
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProducerBenchmark {
+
+    private static final String TOPIC = "Orders";
+    private static final int RECORDS = Integer.getInteger("benchmark.records", 50_000);
+    private static final int WARMUP = Math.min(RECORDS / 10, 5_000);
+
+    private static EmbeddedKafkaKraftBroker broker;
+    private static String bootstrapServers;
+
+    @BeforeAll
+    static void startBroker() {
+        bootstrapServers = System.getProperty("benchmark.bootstrap-servers");
+        if (bootstrapServers == null) {
+            broker = new EmbeddedKafkaKraftBroker(1, 2, TOPIC);
+            broker.afterPropertiesSet();
+            bootstrapServers = broker.getBrokersAsString();
+        }
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (broker != null) {
+            broker.destroy();
+        }
+    }
+
+    @Test
+    void compareProducerProfiles() throws Exception {
+        Map<String, Object> baseline = new HashMap<>();
+        baseline.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        baseline.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        baseline.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        KafkaProperties tunedProperties = localKafkaProperties();
+        tunedProperties.getProducer().setBootstrapServers(List.of(bootstrapServers));
+
+        OrderEventSerializer serializer = new OrderEventSerializer();
+        List<String> results = List.of(
+                run("baseline", new DefaultKafkaProducerFactory<>(baseline, new StringSerializer(), new JsonSerializer<>()), dto -> dto),
+                run("tuned", new ProducerFactoryConfig(tunedProperties).producerFactory(), dto -> serializer.serialize(TOPIC, dto))
+        );
+        results.forEach(System.out::println);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String run(String name, ProducerFactory producerFactory, Function<OrderResponseDto, Object> value) throws Exception {
+        KafkaTemplate<String, Object> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        try {
+            send(kafkaTemplate, value, WARMUP, new long[WARMUP]);
+
+            long[] latencies = new long[RECORDS];
+            Map<MetricName, ? extends Metric> before = kafkaTemplate.metrics();
+            double bytesBefore = metric(before, "outgoing-byte-total");
+            double requestsBefore = metric(before, "request-total");
+
+            long start = System.nanoTime();
+            send(kafkaTemplate, value, RECORDS, latencies);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<MetricName, ? extends Metric> after = kafkaTemplate.metrics();
+            Arrays.sort(latencies);
+            return String.format("%-8s %,10.0f msg/s  p50 %7.2f ms  p99 %7.2f ms  %,12.0f bytes sent  %,8.0f requests  compression %.2f",
+                    name,
+                    RECORDS / seconds,
+                    latencies[RECORDS / 2] / 1e6,
+                    latencies[(int) (RECORDS * 0.99)] / 1e6,
+                    metric(after, "outgoing-byte-total") - bytesBefore,
+                    metric(after, "request-total") - requestsBefore,
+                    metric(after, "compression-rate-avg"));
+        } finally {
+            kafkaTemplate.destroy();
+            ((DefaultKafkaProducerFactory<?, ?>) producerFactory).destroy();
+        }
+    }
+
+    private void send(KafkaTemplate<String, Object> kafkaTemplate, Function<OrderResponseDto, Object> value, int records, long[] latencies) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[records];
+        for (int i = 0; i < records; i++) {
+            OrderResponseDto dto = EntityMock.responseDto();
+            dto.setId((long) i);
+            int index = i;
+            long sentAt = System.nanoTime();
+            futures[i] = kafkaTemplate.send(TOPIC, String.valueOf(i), value.apply(dto))
+                    .whenComplete((result, e) -> latencies[index] = System.nanoTime() - sentAt);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private double metric(Map<MetricName, ? extends Metric> metrics, String name) {
+        return metrics.entrySet().stream()
+                .filter(entry -> entry.getKey().group().equals("producer-metrics") && entry.getKey().name().equals(name))
+                .mapToDouble(entry -> ((Number) entry.getValue().metricValue()).doubleValue())
+                .findFirst()
+                .orElse(Double.NaN);
+    }
+
+    private KafkaProperties localKafkaProperties() throws Exception {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application-local", new ClassPathResource("application-local.yml"));
+        return new Binder(ConfigurationPropertySources.from(sources))
+                .bind("spring.kafka", KafkaProperties.class)
+                .get();
+    }
+}
@@ -1,7 +1,9 @@
 package com.esand.orders.entity;
 
 import com.esand.orders.client.clients.Client;
+import com.esand.orders.client.clients.ClientBatch;
 import com.esand.orders.client.products.Product;
+import com.esand.orders.client.products.ProductBatch;
 import com.esand.orders.repository.pagination.OrderDtoPagination;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class EntityMock {
 
@@ -36,7 +39,8 @@ public class EntityMock {
                 10,
                 299.9,
                 false,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                null
         );
     }
 
@@ -54,6 +58,7 @@ public class EntityMock {
                     public Double getTotal() { return 299.9; }
                     public Boolean getProcessing() { return false; }
                     public LocalDateTime getDate() { return LocalDateTime.now(); }
+                    public Order.DeliveryStatus getDeliveryStatus() { return null; }
                 }
         );
         return new PageImpl<>(content, pageable, content.size());
@@ -78,6 +83,7 @@ public class EntityMock {
                     public Double getTotal() { return 299.9; }
                     public Boolean getProcessing() { return false; }
                     public LocalDateTime getDate() { return LocalDateTime.now(); }
+                    public Order.DeliveryStatus getDeliveryStatus() { return null; }
                 }
         );
         PageableDto pageableDto = new PageableDto();
@@ -103,7 +109,14 @@ public class EntityMock {
                 10,
                 299.9,
                 false,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
         );
     }
 
@@ -130,4 +143,12 @@ public class EntityMock {
                 true
         );
     }
+
+    public static ProductBatch productBatch() {
+        return new ProductBatch(List.of(product()), List.of());
+    }
+
+    public static ClientBatch clientBatch() {
+        return new ClientBatch(Map.of("07021050070", client()), List.of());
+    }
 }
@@ -0,0 +1,60 @@
+package com.esand.orders.repository.pagination;
+
+import com.esand.orders.exception.InvalidTokenException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetTest {
+
+    private static final Sort BY_DATE = Sort.by("date", "id");
+
+    private Window<String> window(Map<String, Object> keys, boolean hasNext) {
+        return Window.from(List.of("first", "last"), index -> ScrollPosition.forward(keys), hasNext);
+    }
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("date", LocalDateTime.of(2024, 7, 1, 10, 30, 15, 123456789));
+        keys.put("id", 42L);
+
+        String token = Keyset.encode(window(keys, true));
+        KeysetScrollPosition position = (KeysetScrollPosition) Keyset.decode(token, BY_DATE);
+
+        assertEquals(keys, position.getKeys());
+    }
+
+    @Test
+    void testEncodeLastPage() {
+        assertNull(Keyset.encode(window(Map.of("id", 42L), false)));
+    }
+
+    @Test
+    void testDecodeEmptyTokenStartsAtFirstRow() {
+        assertTrue(Keyset.decode("", BY_DATE).isInitial());
+    }
+
+    @Test
+    void testDecodeMalformedToken() {
+        assertThrows(InvalidTokenException.class, () -> Keyset.decode("not-a-token", BY_DATE));
+    }
+
+    @Test
+    void testDecodeTokenForOtherSort() {
+        String token = Base64.getUrlEncoder().encodeToString("id=L:42".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidTokenException.class, () -> Keyset.decode(token, BY_DATE));
+    }
+}
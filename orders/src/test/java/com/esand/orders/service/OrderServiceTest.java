@@ -1,17 +1,25 @@
 package com.esand.orders.service;
 
 import com.esand.orders.client.clients.Client;
+import com.esand.orders.client.clients.ClientBatch;
 import com.esand.orders.client.clients.ClientClient;
 import com.esand.orders.client.products.Product;
+import com.esand.orders.client.products.ProductBatch;
 import com.esand.orders.client.products.ProductClient;
+import com.esand.orders.client.products.ProductReplica;
+import com.esand.orders.config.OrderEventSerializer;
 import com.esand.orders.entity.EntityMock;
 import com.esand.orders.entity.Order;
+import com.esand.orders.entity.OutboxEvent;
 import com.esand.orders.exception.ConnectionException;
 import com.esand.orders.exception.EntityNotFoundException;
 import com.esand.orders.exception.InvalidQuantityException;
+import com.esand.orders.exception.OrderAlreadySentException;
 import com.esand.orders.exception.UnavailableProductException;
 import com.esand.orders.repository.OrderRepository;
+import com.esand.orders.repository.OutboxEventRepository;
 import com.esand.orders.repository.pagination.OrderDtoPagination;
+import com.esand.orders.web.dto.DeliveryStatusDto;
 import com.esand.orders.web.dto.OrderCreateDto;
 import com.esand.orders.web.dto.OrderResponseDto;
 import com.esand.orders.web.dto.PageableDto;
@@ -24,18 +32,21 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -53,11 +64,14 @@ public class OrderServiceTest {
     @Mock
     private ProductClient productClient;
 
+    @Mock
+    private ProductReplica productReplica;
+
     @Mock
     private ClientClient clientClient;
 
     @Mock
-    private KafkaTemplate<String, Serializable> kafkaTemplate;
+    private OutboxEventRepository outboxEventRepository;
 
     @InjectMocks
     private OrderService orderService;
@@ -65,6 +79,7 @@ public class OrderServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(orderService, "maxBatchSize", 2);
     }
 
     @Test
@@ -96,6 +111,37 @@ public class OrderServiceTest {
         assertNotNull(response.getDate());
     }
 
+    @Test
+    void testSaveOrderFetchesClientAndProductOnce() {
+        Order order = EntityMock.order();
+
+        when(clientClient.getClientByCpf(any(String.class))).thenReturn(EntityMock.client());
+        when(productClient.getProductBySku(any(String.class))).thenReturn(EntityMock.product());
+        when(orderMapper.toOrder(any(Client.class), any(Product.class))).thenReturn(order);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderMapper.toDto(any(Order.class))).thenReturn(EntityMock.responseDto());
+
+        orderService.save(EntityMock.createDto());
+
+        verify(clientClient, times(1)).getClientByCpf("07021050070");
+        verify(productClient, times(1)).getProductBySku("MOUSE-2024-WL-0010");
+    }
+
+    @Test
+    void testSaveOrderReadsProductFromReplica() {
+        Order order = EntityMock.order();
+
+        when(productReplica.findBySku("MOUSE-2024-WL-0010")).thenReturn(Optional.of(EntityMock.product()));
+        when(clientClient.getClientByCpf(any(String.class))).thenReturn(EntityMock.client());
+        when(orderMapper.toOrder(any(Client.class), any(Product.class))).thenReturn(order);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderMapper.toDto(any(Order.class))).thenReturn(EntityMock.responseDto());
+
+        orderService.save(EntityMock.createDto());
+
+        verify(productClient, never()).getProductBySku(anyString());
+    }
+
     @Test
     void testSaveOrderInvalidQuantityException() {
         Product product = EntityMock.product();
@@ -199,6 +245,116 @@ public class OrderServiceTest {
         assertEquals("Service unavailable", exception.getMessage());
     }
 
+    @Test
+    void testSaveAllOrdersSuccess() {
+        Order order = EntityMock.order();
+        OrderCreateDto first = EntityMock.createDto();
+        OrderCreateDto second = EntityMock.createDto();
+        first.setQuantity(4);
+        second.setQuantity(6);
+
+        when(clientClient.getClientsByCpf(any())).thenReturn(EntityMock.clientBatch());
+        when(productClient.getProductsBySku(any())).thenReturn(EntityMock.productBatch());
+        when(orderMapper.toOrder(any(Client.class), any(Product.class))).thenReturn(order);
+        when(orderRepository.saveAll(anyList())).thenReturn(List.of(order, order));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(EntityMock.responseDto());
+
+        List<OrderResponseDto> response = orderService.saveAll(List.of(first, second));
+
+        assertEquals(2, response.size());
+        verify(clientClient, times(1)).getClientsByCpf(Set.of("07021050070"));
+        verify(clientClient, never()).getClientByCpf(anyString());
+        verify(productClient, times(1)).getProductsBySku(Set.of("MOUSE-2024-WL-0010"));
+        verify(productClient, never()).getProductBySku(anyString());
+        verify(orderRepository).saveAll(anyList());
+    }
+
+    @Test
+    void testSaveAllOrdersReadsProductsFromReplica() {
+        Order order = EntityMock.order();
+
+        when(productReplica.findBySku("MOUSE-2024-WL-0010")).thenReturn(Optional.of(EntityMock.product()));
+        when(clientClient.getClientsByCpf(any())).thenReturn(EntityMock.clientBatch());
+        when(orderMapper.toOrder(any(Client.class), any(Product.class))).thenReturn(order);
+        when(orderRepository.saveAll(anyList())).thenReturn(List.of(order));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(EntityMock.responseDto());
+
+        orderService.saveAll(List.of(EntityMock.createDto()));
+
+        verify(productClient, never()).getProductsBySku(any());
+    }
+
+    @Test
+    void testSaveAllOrdersUnavailableQuantityAcrossBatchException() {
+        OrderCreateDto first = EntityMock.createDto();
+        OrderCreateDto second = EntityMock.createDto();
+        first.setQuantity(6);
+        second.setQuantity(6);
+
+        when(clientClient.getClientsByCpf(any())).thenReturn(EntityMock.clientBatch());
+        when(productClient.getProductsBySku(any())).thenReturn(EntityMock.productBatch());
+
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class, () -> {
+            orderService.saveAll(List.of(first, second));
+        });
+
+        assertEquals("The quantity of available products is 10", exception.getMessage());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testSaveAllOrdersNotFoundProductException() {
+        when(clientClient.getClientsByCpf(any())).thenReturn(EntityMock.clientBatch());
+        when(productClient.getProductsBySku(any())).thenReturn(new ProductBatch(List.of(), List.of("MOUSE-2024-WL-0010")));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
+            orderService.saveAll(List.of(EntityMock.createDto()));
+        });
+
+        assertEquals("Product not found by sku: MOUSE-2024-WL-0010", exception.getMessage());
+    }
+
+    @Test
+    void testSaveAllOrdersNotFoundClientException() {
+        when(clientClient.getClientsByCpf(any())).thenReturn(new ClientBatch(Map.of(), List.of("07021050070")));
+        when(productClient.getProductsBySku(any())).thenReturn(EntityMock.productBatch());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
+            orderService.saveAll(List.of(EntityMock.createDto()));
+        });
+
+        assertEquals("Customer not found by CPF: 07021050070", exception.getMessage());
+    }
+
+    @Test
+    void testSaveAllOrdersEmptyBatchException() {
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class, () -> {
+            orderService.saveAll(List.of());
+        });
+
+        assertEquals("No orders stated", exception.getMessage());
+    }
+
+    @Test
+    void testSaveAllOrdersBatchTooLargeException() {
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class, () -> {
+            orderService.saveAll(List.of(EntityMock.createDto(), EntityMock.createDto(), EntityMock.createDto()));
+        });
+
+        assertEquals("At most 2 orders can be created per batch", exception.getMessage());
+        verifyNoInteractions(clientClient, productClient, productReplica);
+    }
+
+    @Test
+    void testSaveAllOrdersNullOrderException() {
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class, () -> {
+            orderService.saveAll(Arrays.asList(EntityMock.createDto(), null));
+        });
+
+        assertEquals("Empty order in batch", exception.getMessage());
+        verifyNoInteractions(clientClient, productClient, productReplica);
+    }
+
     @Test
     void testFindAllSuccess() {
         Page<OrderDtoPagination> page = EntityMock.page();
@@ -207,7 +363,7 @@ public class OrderServiceTest {
         when(orderRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = orderService.findAll(page.getPageable());
+        PageableDto response = orderService.findAll(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -234,7 +390,7 @@ public class OrderServiceTest {
         when(orderRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> orderService.findAll(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> orderService.findAll(page.getPageable(), null, true));
     }
 
     @Test
@@ -245,7 +401,7 @@ public class OrderServiceTest {
         when(orderRepository.findBySku(any(Pageable.class), any(String.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = orderService.findBySku(page.getPageable(), page.getContent().get(0).getSku());
+        PageableDto response = orderService.findBySku(page.getPageable(), page.getContent().get(0).getSku(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -264,6 +420,44 @@ public class OrderServiceTest {
         assertNotNull(order.getDate());
     }
 
+    @Test
+    void testFindByDeliveryStatusSuccess() {
+        Page<OrderDtoPagination> page = EntityMock.page();
+        PageableDto pageableDto = EntityMock.pageableDto();
+
+        when(orderRepository.findByDeliveryStatus(any(Pageable.class), eq(Order.DeliveryStatus.SHIPPED))).thenReturn(page);
+        when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
+
+        PageableDto response = orderService.findByDeliveryStatus(page.getPageable(), "shipped", null, true);
+
+        assertEquals(1, response.getContent().size());
+    }
+
+    @Test
+    void testFindByDeliveryStatusUnknownStatus() {
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
+                orderService.findByDeliveryStatus(PageRequest.of(0, 10), "lost", null, true)
+        );
+
+        assertEquals("Delivery status not found", exception.getMessage());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testUpdateDeliveryStatusSuccess() {
+        LocalDateTime date = LocalDateTime.now();
+        when(orderRepository.updateDeliveryStatus(1L, Order.DeliveryStatus.CANCELED, date)).thenReturn(1);
+
+        assertTrue(orderService.updateDeliveryStatus(new DeliveryStatusDto(1L, "CANCELED", date)));
+    }
+
+    @Test
+    void testUpdateDeliveryStatusStale() {
+        when(orderRepository.updateDeliveryStatus(any(Long.class), any(Order.DeliveryStatus.class), any(LocalDateTime.class))).thenReturn(0);
+
+        assertFalse(orderService.updateDeliveryStatus(new DeliveryStatusDto(1L, "PROCESSING", LocalDateTime.now())));
+    }
+
     @Test
     void testFindBySkuEntityNotFoundException() {
         Page<OrderDtoPagination> page = EntityMock.pageEmpty();
@@ -273,7 +467,7 @@ public class OrderServiceTest {
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
-                orderService.findBySku(page.getPageable(), "MOUSE-2024-WL-0010")
+                orderService.findBySku(page.getPageable(), "MOUSE-2024-WL-0010", null, true)
         );
 
         assertEquals("No orders found by sku", exception.getMessage());
@@ -287,7 +481,7 @@ public class OrderServiceTest {
         when(orderRepository.findByCpf(any(Pageable.class), any(String.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = orderService.findByCpf(page.getPageable(), page.getContent().get(0).getCpf());
+        PageableDto response = orderService.findByCpf(page.getPageable(), page.getContent().get(0).getCpf(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -315,7 +509,7 @@ public class OrderServiceTest {
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
-                orderService.findByCpf(page.getPageable(), "MOUSE-2024-WL-0010")
+                orderService.findByCpf(page.getPageable(), "MOUSE-2024-WL-0010", null, true)
         );
 
         assertEquals("No orders found by cpf", exception.getMessage());
@@ -329,7 +523,7 @@ public class OrderServiceTest {
         when(orderRepository.findByDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = orderService.findOrdersByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = orderService.findOrdersByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -356,7 +550,7 @@ public class OrderServiceTest {
         when(orderRepository.findByDateAfter(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = orderService.findOrdersByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable());
+        PageableDto response = orderService.findOrdersByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -383,7 +577,7 @@ public class OrderServiceTest {
         when(orderRepository.findByDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = orderService.findOrdersByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = orderService.findOrdersByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -404,7 +598,7 @@ public class OrderServiceTest {
 
     @Test
     void testFindOrdersByDateNoDateParametersProvided() {
-        assertThrows(EntityNotFoundException.class, () -> orderService.findOrdersByDate(null, null, EntityMock.page().getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> orderService.findOrdersByDate(null, null, EntityMock.page().getPageable(), null, true));
     }
 
     @Test
@@ -415,7 +609,7 @@ public class OrderServiceTest {
         when(orderRepository.findByDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(orderMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> orderService.findOrdersByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> orderService.findOrdersByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true));
     }
 
     @Test
@@ -436,19 +630,82 @@ public class OrderServiceTest {
     }
 
     @Test
-    void testDeleteAllProcessingOrdersSuccess() {
+    void testVerifyProcessingExistsSuccess() {
         when(orderRepository.existsByProcessing(eq(true))).thenReturn(true);
-        doNothing().when(orderRepository).deleteAllByProcessing(eq(true));
-
-        orderService.deleteAllProcessing();
 
-        verify(orderRepository).deleteAllByProcessing(true);
+        assertDoesNotThrow(() -> orderService.verifyProcessingExists());
     }
 
     @Test
-    void testDeleteAllProcessingOrdersEntityNotFoundException() {
+    void testVerifyProcessingExistsEntityNotFoundException() {
         when(orderRepository.existsByProcessing(eq(true))).thenReturn(false);
 
-        assertThrows(EntityNotFoundException.class, () -> orderService.deleteAllProcessing());
+        assertThrows(EntityNotFoundException.class, () -> orderService.verifyProcessingExists());
+    }
+
+    @Test
+    void testDeleteProcessingChunkSuccess() {
+        when(orderRepository.findIdsByProcessing(eq(true), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(orderRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, orderService.deleteProcessingChunk(2));
+        verify(orderRepository).findIdsByProcessing(true, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void testDeleteProcessingChunkEmpty() {
+        when(orderRepository.findIdsByProcessing(eq(true), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, orderService.deleteProcessingChunk(2));
+        verify(orderRepository, never()).deleteAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void testSendOrderWritesOutboxEvent() {
+        Order order = EntityMock.order();
+        order.setProcessing(false);
+        OrderResponseDto dto = EntityMock.responseDto();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(clientClient.getClientByCpf(anyString())).thenReturn(EntityMock.client());
+        when(productReplica.findBySku(anyString())).thenReturn(Optional.of(EntityMock.product()));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderMapper.toDto(any(Order.class))).thenReturn(dto);
+        when(orderRepository.markProcessing(1L)).thenReturn(1);
+
+        String response = orderService.sendOrder(1L);
+
+        assertEquals("Order nº1 is processing successfully", response);
+        assertTrue(order.getProcessing());
+        verify(productClient).decreaseProductQuantityBySku(order.getSku(), order.getQuantity());
+        verify(outboxEventRepository).save(argThat((OutboxEvent event) ->
+                String.valueOf(dto.getId()).equals(event.getMessageKey())
+                        && Arrays.equals(new OrderEventSerializer().serialize(null, dto), event.getPayload())));
+    }
+
+    @Test
+    void testSendOrderClaimedConcurrently() {
+        Order order = EntityMock.order();
+        order.setProcessing(false);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(clientClient.getClientByCpf(anyString())).thenReturn(EntityMock.client());
+        when(productReplica.findBySku(anyString())).thenReturn(Optional.of(EntityMock.product()));
+        when(orderRepository.markProcessing(1L)).thenReturn(0);
+
+        assertThrows(OrderAlreadySentException.class, () -> orderService.sendOrder(1L));
+        verify(productClient, never()).decreaseProductQuantityBySku(anyString(), anyInt());
+        verify(outboxEventRepository, never()).save(any(OutboxEvent.class));
+    }
+
+    @Test
+    void testSendOrderAlreadySentException() {
+        Order order = EntityMock.order();
+        order.setProcessing(true);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        assertThrows(OrderAlreadySentException.class, () -> orderService.sendOrder(1L));
+        verify(outboxEventRepository, never()).save(any(OutboxEvent.class));
     }
 }
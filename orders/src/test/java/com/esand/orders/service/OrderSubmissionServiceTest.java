@@ -0,0 +1,164 @@
+package com.esand.orders.service;
+
+import com.esand.orders.entity.Order;
+import com.esand.orders.exception.EntityNotFoundException;
+import com.esand.orders.exception.InvalidQuantityException;
+import com.esand.orders.exception.OrderAlreadySentException;
+import com.esand.orders.exception.SubmissionRejectedException;
+import com.esand.orders.repository.OrderRepository;
+import com.esand.orders.web.dto.SubmissionResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderSubmissionServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor submissionExecutor;
+
+    @InjectMocks
+    private OrderSubmissionService orderSubmissionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(orderRepository.claimSubmission(eq(1L), anyString(), eq(Order.SubmissionStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+    }
+
+    private Runnable capturedTask() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(submissionExecutor).execute(captor.capture());
+        return captor.getValue();
+    }
+
+    private Order submittedOrder(String submissionId, Order.SubmissionStatus status) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setSubmissionId(submissionId);
+        order.setSubmissionStatus(status);
+        order.setSubmissionDate(LocalDateTime.now());
+        return order;
+    }
+
+    @Test
+    void testSubmitOrderSuccess() {
+        when(orderService.sendOrder(1L)).thenReturn("Order nº1 is processing successfully");
+
+        SubmissionResponseDto pending = orderSubmissionService.submit(1L);
+
+        assertEquals("PENDING", pending.getStatus());
+        assertEquals(1L, pending.getOrderId());
+        assertNotNull(pending.getId());
+
+        capturedTask().run();
+
+        verify(orderRepository).finishSubmission(eq(pending.getId()), eq(Order.SubmissionStatus.COMPLETED),
+                eq("Order nº1 is processing successfully"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testSubmitOrderFailed() {
+        when(orderService.sendOrder(1L)).thenThrow(new InvalidQuantityException("The quantity of available products is 10"));
+
+        SubmissionResponseDto pending = orderSubmissionService.submit(1L);
+        capturedTask().run();
+
+        verify(orderRepository).finishSubmission(eq(pending.getId()), eq(Order.SubmissionStatus.FAILED),
+                eq("The quantity of available products is 10"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testSubmitOrderFailedMessageTruncated() {
+        when(orderService.sendOrder(1L)).thenThrow(new InvalidQuantityException("x".repeat(300)));
+
+        SubmissionResponseDto pending = orderSubmissionService.submit(1L);
+        capturedTask().run();
+
+        verify(orderRepository).finishSubmission(eq(pending.getId()), eq(Order.SubmissionStatus.FAILED),
+                eq("x".repeat(255)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testSubmitOrderPendingReturnsExistingHandle() {
+        when(orderRepository.claimSubmission(eq(1L), anyString(), eq(Order.SubmissionStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(submittedOrder("existing", Order.SubmissionStatus.PENDING)));
+
+        SubmissionResponseDto dto = orderSubmissionService.submit(1L);
+
+        assertEquals("existing", dto.getId());
+        assertEquals("PENDING", dto.getStatus());
+        verify(submissionExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testSubmitOrderSentWithoutSubmissionOrderAlreadySentException() {
+        when(orderRepository.claimSubmission(eq(1L), anyString(), eq(Order.SubmissionStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(new Order()));
+
+        assertThrows(OrderAlreadySentException.class, () -> orderSubmissionService.submit(1L));
+        verify(submissionExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testSubmitOrderAlreadySentException() {
+        doThrow(new OrderAlreadySentException("Already processing order")).when(orderService).verifyUnsent(1L);
+
+        assertThrows(OrderAlreadySentException.class, () -> orderSubmissionService.submit(1L));
+        verify(submissionExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testSubmitOrderSubmissionRejectedException() {
+        doThrow(new TaskRejectedException("Queue full")).when(submissionExecutor).execute(any(Runnable.class));
+
+        assertThrows(SubmissionRejectedException.class, () -> orderSubmissionService.submit(1L));
+        verify(orderRepository).finishSubmission(anyString(), eq(Order.SubmissionStatus.FAILED),
+                eq("Too many orders being submitted, try again later"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testFindSubmissionSuccess() {
+        Order order = submittedOrder("handle", Order.SubmissionStatus.COMPLETED);
+        order.setSubmissionMessage("Order nº1 is processing successfully");
+        order.setSubmissionFinishedAt(LocalDateTime.now());
+        when(orderRepository.findBySubmissionId("handle")).thenReturn(Optional.of(order));
+
+        SubmissionResponseDto dto = orderSubmissionService.findById("handle");
+
+        assertEquals("handle", dto.getId());
+        assertEquals(1L, dto.getOrderId());
+        assertEquals("COMPLETED", dto.getStatus());
+        assertEquals("Order nº1 is processing successfully", dto.getMessage());
+        assertNotNull(dto.getFinishedAt());
+    }
+
+    @Test
+    void testFindSubmissionEntityNotFoundException() {
+        when(orderRepository.findBySubmissionId("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> orderSubmissionService.findById("unknown"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.esand.orders.service;
+
+import com.esand.orders.config.OrderEventSerializer;
+import com.esand.orders.entity.EntityMock;
+import com.esand.orders.entity.OutboxEvent;
+import com.esand.orders.repository.OutboxEventRepository;
+import com.esand.orders.web.dto.OrderResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(outboxRelay, "retentionMinutes", 60L);
+        ReflectionTestUtils.setField(outboxRelay, "cleanupChunkSize", 2);
+    }
+
+    private OutboxEvent event(Long id) {
+        OrderResponseDto dto = EntityMock.responseDto();
+        dto.setId(id);
+        byte[] payload = new OrderEventSerializer().serialize("Orders", dto);
+        return new OutboxEvent(id, "Orders", String.valueOf(id), payload, LocalDateTime.now(), null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRelayMarksAcknowledgedEventsSent() {
+        when(outboxEventRepository.findBySentAtIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+        when(kafkaTemplate.send(eq("Orders"), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        outboxRelay.relay();
+
+        verify(kafkaTemplate, times(3)).send(eq("Orders"), anyString(), any(byte[].class));
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markSent(eq(List.of(3L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRelayKeepsFailedEventsPending() {
+        when(outboxEventRepository.findBySentAtIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)));
+        when(kafkaTemplate.send(eq("Orders"), eq("1"), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(eq("Orders"), eq("2"), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, times(1)).findBySentAtIsNullOrderByIdAsc(any(Pageable.class));
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRelaySendsStoredPayload() {
+        OutboxEvent event = event(1L);
+        when(outboxEventRepository.findBySentAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(event));
+        when(kafkaTemplate.send(eq("Orders"), eq("1"), same(event.getPayload())))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        outboxRelay.relay();
+
+        verify(kafkaTemplate).send("Orders", "1", event.getPayload());
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRelayWithoutPendingEvents() {
+        when(outboxEventRepository.findBySentAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+        verify(outboxEventRepository, never()).markSent(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testCleanupDeletesSentEventsInChunks() {
+        when(outboxEventRepository.findIdsBySentAtBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(outboxEventRepository.deleteAllByIdIn(anyCollection())).thenReturn(2).thenReturn(1);
+
+        outboxRelay.cleanup();
+
+        verify(outboxEventRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdIn(List.of(3L));
+        verify(outboxEventRepository, times(2)).findIdsBySentAtBefore(argThat(limit ->
+                limit.isBefore(LocalDateTime.now().minusMinutes(59))), argThat(pageable -> pageable.getPageSize() == 2));
+    }
+
+    @Test
+    void testCleanupWithoutSentEvents() {
+        when(outboxEventRepository.findIdsBySentAtBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        outboxRelay.cleanup();
+
+        verify(outboxEventRepository, never()).deleteAllByIdIn(anyCollection());
+    }
+}
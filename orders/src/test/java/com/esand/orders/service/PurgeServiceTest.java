@@ -0,0 +1,113 @@
+package com.esand.orders.service;
+
+import com.esand.orders.exception.EntityNotFoundException;
+import com.esand.orders.exception.PurgeRejectedException;
+import com.esand.orders.web.dto.PurgeResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PurgeServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ThreadPoolTaskExecutor purgeExecutor;
+
+    @InjectMocks
+    private PurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(purgeService, "chunkSize", 2);
+    }
+
+    private Runnable capturedTask() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(purgeExecutor).execute(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void testPurgeProcessingSuccess() {
+        when(orderService.deleteProcessingChunk(2)).thenReturn(2, 2, 1, 0);
+
+        PurgeResponseDto running = purgeService.purgeProcessing();
+
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(0L, running.getDeleted());
+
+        capturedTask().run();
+
+        PurgeResponseDto completed = purgeService.findById(running.getId());
+        assertEquals("COMPLETED", completed.getStatus());
+        assertEquals(5L, completed.getDeleted());
+        assertEquals("5 orders deleted", completed.getMessage());
+        assertNotNull(completed.getFinishedAt());
+        verify(orderService, times(4)).deleteProcessingChunk(2);
+    }
+
+    @Test
+    void testPurgeProcessingFailed() {
+        when(orderService.deleteProcessingChunk(2)).thenReturn(2).thenThrow(new IllegalStateException("Lock timeout"));
+
+        PurgeResponseDto running = purgeService.purgeProcessing();
+        capturedTask().run();
+
+        PurgeResponseDto failed = purgeService.findById(running.getId());
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals(2L, failed.getDeleted());
+        assertEquals("Lock timeout", failed.getMessage());
+    }
+
+    @Test
+    void testPurgeProcessingWhileRunningReturnsSameJob() {
+        PurgeResponseDto first = purgeService.purgeProcessing();
+        PurgeResponseDto second = purgeService.purgeProcessing();
+
+        assertEquals(first.getId(), second.getId());
+        verify(purgeExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testPurgeProcessingAfterFinishedStartsNewJob() {
+        PurgeResponseDto first = purgeService.purgeProcessing();
+        capturedTask().run();
+
+        PurgeResponseDto second = purgeService.purgeProcessing();
+
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void testPurgeProcessingEntityNotFoundException() {
+        doThrow(new EntityNotFoundException("No orders processing found")).when(orderService).verifyProcessingExists();
+
+        assertThrows(EntityNotFoundException.class, () -> purgeService.purgeProcessing());
+        verifyNoInteractions(purgeExecutor);
+    }
+
+    @Test
+    void testPurgeProcessingRejected() {
+        doThrow(new TaskRejectedException("Executor busy")).when(purgeExecutor).execute(any(Runnable.class));
+
+        assertThrows(PurgeRejectedException.class, () -> purgeService.purgeProcessing());
+    }
+
+    @Test
+    void testFindPurgeEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class, () -> purgeService.findById("unknown"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.esand.products.config;
+
+import com.esand.products.web.dto.ProductResponseDto;
+import com.esand.products.web.dto.StockReleaseDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+
+@RequiredArgsConstructor
+@Configuration
+public class ConsumerFactoryConfig {
+
+    private final KafkaProperties properties;
+
+    @Bean
+    public ConsumerFactory<String, StockReleaseDto> stockReleaseConsumerFactory() {
+        var configs = new HashMap<String, Object>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configs, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(StockReleaseDto.class, false)));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, StockReleaseDto> stockReleaseContainerFactory(
+            ConsumerFactory<String, StockReleaseDto> stockReleaseConsumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, StockReleaseDto>();
+        factory.setConsumerFactory(stockReleaseConsumerFactory);
+        return factory;
+    }
+
+    @Bean
+    public ConsumerFactory<String, ProductResponseDto> productConsumerFactory() {
+        var configs = new HashMap<String, Object>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configs, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(ProductResponseDto.class, false)));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductResponseDto> productContainerFactory(
+            ConsumerFactory<String, ProductResponseDto> productConsumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, ProductResponseDto>();
+        factory.setConsumerFactory(productConsumerFactory);
+        return factory;
+    }
+}
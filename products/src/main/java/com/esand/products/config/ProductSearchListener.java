@@ -0,0 +1,31 @@
+package com.esand.products.config;
+
+import com.esand.products.service.ProductSearchIndex;
+import com.esand.products.web.dto.ProductResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link ProductSearchIndex} in sync with the product writes of every instance. Every instance joins its own
+ * consumer group and starts from the earliest offset, so it sees each product change published to the products
+ * topic. The record only says which SKU changed; the product is read back from the database and indexed, or dropped
+ * when it no longer exists, so tombstones, records that could not be decoded and records replayed out of date
+ * never leave the index behind the stored state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchListener {
+
+    private final ProductSearchIndex productSearchIndex;
+
+    @KafkaListener(topics = "${products_topic_name}", groupId = "products-search-index-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "productContainerFactory", autoStartup = "${search-index.enabled:true}")
+    public void consumer(ConsumerRecord<String, ProductResponseDto> record) {
+        productSearchIndex.refresh(record.key());
+        log.debug("Product {} refreshed in search index", record.key());
+    }
+}
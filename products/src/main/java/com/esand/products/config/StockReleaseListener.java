@@ -0,0 +1,40 @@
+package com.esand.products.config;
+
+import com.esand.products.exception.EntityNotFoundException;
+import com.esand.products.exception.InvalidQuantityException;
+import com.esand.products.service.StockReleaseService;
+import com.esand.products.web.dto.StockReleaseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the stock releases published by delivery when an order is canceled. Releases for products that no
+ * longer exist are dropped; any other failure is left to the container so the record is redelivered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReleaseListener {
+
+    private final StockReleaseService stockReleaseService;
+
+    @KafkaListener(topics = "${stock_release_topic_name}", groupId = "products-stock-release",
+            containerFactory = "stockReleaseContainerFactory")
+    public void consumer(StockReleaseDto dto) {
+        if (dto == null) {
+            log.error("Skipping stock release that could not be decoded");
+            return;
+        }
+        try {
+            if (stockReleaseService.release(dto)) {
+                log.info("{} units of {} released from order nº{}", dto.getQuantity(), dto.getSku(), dto.getOrderId());
+            } else {
+                log.info("Stock of order nº{} has already been released, skipping replay", dto.getOrderId());
+            }
+        } catch (EntityNotFoundException | InvalidQuantityException e) {
+            log.error("Dropping stock release of order nº{}: {}", dto.getOrderId(), e.getMessage());
+        }
+    }
+}
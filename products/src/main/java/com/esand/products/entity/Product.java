@@ -17,6 +17,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_category", columnList = "category, id"),
+        @Index(name = "idx_product_active", columnList = "active, id"),
+        @Index(name = "idx_product_create_date", columnList = "create_date, id")
+})
 public class Product implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
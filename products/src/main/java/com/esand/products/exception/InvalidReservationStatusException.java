@@ -0,0 +1,7 @@
+package com.esand.products.exception;
+
+public class InvalidReservationStatusException extends RuntimeException {
+    public InvalidReservationStatusException(String message) {
+        super(message);
+    }
+}
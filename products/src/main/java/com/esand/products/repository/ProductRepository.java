@@ -2,13 +2,21 @@ package com.esand.products.repository;
 
 import com.esand.products.entity.Product;
 import com.esand.products.repository.pagination.ProductDtoPagination;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -16,26 +24,61 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p")
     Page<ProductDtoPagination> findAllPageable(Pageable pageable);
 
+    Window<ProductDtoPagination> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     Optional<Product> findBySku(String sku);
 
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    List<ProductDtoPagination> findByIdIn(Collection<Long> ids);
+
     Page<ProductDtoPagination> findByTitleIgnoreCaseContaining(Pageable pageable, String title);
 
+    Window<ProductDtoPagination> findByTitleIgnoreCaseContaining(String title, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ProductDtoPagination> findBySupplierIgnoreCaseContaining(Pageable pageable, String supplier);
 
+    Window<ProductDtoPagination> findBySupplierIgnoreCaseContaining(String supplier, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ProductDtoPagination> findByCategory(Pageable pageable, Product.Category category);
 
+    Window<ProductDtoPagination> findByCategory(Product.Category category, ScrollPosition position, Limit limit, Sort sort);
+
     boolean existsByTitle(String title);
 
     boolean existsBySku(String sku);
 
     Page<ProductDtoPagination> findAllByStatus(Pageable pageable, boolean b);
 
+    Window<ProductDtoPagination> findAllByStatus(boolean status, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ProductDtoPagination> findByCreateDateAfter(LocalDateTime date, Pageable pageable);
 
+    Window<ProductDtoPagination> findByCreateDateAfter(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ProductDtoPagination> findByCreateDateBefore(LocalDateTime date, Pageable pageable);
 
+    Window<ProductDtoPagination> findByCreateDateBefore(LocalDateTime date, ScrollPosition position, Limit limit, Sort sort);
+
     Page<ProductDtoPagination> findByCreateDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, Pageable pageable);
 
+    Window<ProductDtoPagination> findByCreateDateBetween(LocalDateTime afterDate, LocalDateTime beforeDate, ScrollPosition position, Limit limit, Sort sort);
+
     void deleteBySku(String sku);
+
+    @Query("SELECT p.quantity FROM Product p WHERE p.sku = :sku")
+    Optional<Integer> findQuantityBySku(@Param("sku") String sku);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, " +
+            "p.status = CASE WHEN p.quantity = 0 THEN true ELSE p.status END " +
+            "WHERE p.sku = :sku")
+    int increaseQuantity(@Param("sku") String sku, @Param("quantity") Integer quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, " +
+            "p.status = CASE WHEN p.quantity > :quantity THEN true ELSE false END " +
+            "WHERE p.sku = :sku AND p.quantity >= :quantity + :reserved")
+    int decreaseQuantity(@Param("sku") String sku, @Param("quantity") Integer quantity, @Param("reserved") Integer reserved);
 }
 
@@ -0,0 +1,10 @@
+package com.esand.products.repository;
+
+import com.esand.products.entity.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReservationRepository extends JpaRepository<Reservation, String> {
+    List<Reservation> findAllByStatus(Reservation.Status status);
+}
@@ -0,0 +1,18 @@
+package com.esand.products.repository;
+
+import com.esand.products.entity.StockRelease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface StockReleaseRepository extends JpaRepository<StockRelease, Long> {
+    @Modifying
+    @Query(value = "MERGE INTO stock_release r USING (VALUES (:orderId)) AS s(order_id) ON r.order_id = s.order_id " +
+            "WHEN NOT MATCHED THEN INSERT (order_id, sku, quantity, create_date) VALUES (:orderId, :sku, :quantity, :createDate)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("orderId") Long orderId, @Param("sku") String sku,
+                       @Param("quantity") Integer quantity, @Param("createDate") LocalDateTime createDate);
+}
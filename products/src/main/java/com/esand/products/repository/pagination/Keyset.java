@@ -0,0 +1,78 @@
+package com.esand.products.repository.pagination;
+
+import com.esand.products.exception.InvalidTokenException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Continuation tokens for keyset pagination. A token carries the sort key values of the last row of a page, so the
+ * next page seeks straight past them instead of reading and discarding every earlier row, and is never counted.
+ * An empty token starts from the first row. Only {@link Long} and {@link LocalDateTime} keys are supported.
+ */
+public final class Keyset {
+
+    @FunctionalInterface
+    public interface Query<T> {
+        Window<T> scroll(ScrollPosition position, Limit limit, Sort sort);
+    }
+
+    private Keyset() {
+    }
+
+    public static ScrollPosition decode(String token, Sort sort) {
+        if (token.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            for (String entry : decoded.split("&")) {
+                String[] key = entry.split("=", 2);
+                keys.put(key[0], switch (key[1].substring(0, 2)) {
+                    case "L:" -> Long.valueOf(key[1].substring(2));
+                    case "T:" -> LocalDateTime.parse(key[1].substring(2));
+                    default -> throw new IllegalArgumentException(key[1]);
+                });
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidTokenException("Invalid continuation token");
+        }
+        Set<String> properties = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!keys.keySet().equals(properties)) {
+            throw new InvalidTokenException("Invalid continuation token");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static String encode(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()
+                || !(window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position)) {
+            return null;
+        }
+        String keys = position.getKeys().entrySet().stream()
+                .map(key -> key.getKey() + "=" + typed(key.getValue()))
+                .collect(Collectors.joining("&"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String typed(Object value) {
+        if (value instanceof Long) {
+            return "L:" + value;
+        }
+        if (value instanceof LocalDateTime) {
+            return "T:" + value;
+        }
+        throw new IllegalStateException("Unsupported keyset value " + value);
+    }
+}
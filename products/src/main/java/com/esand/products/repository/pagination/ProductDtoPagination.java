@@ -1,6 +1,10 @@
 package com.esand.products.repository.pagination;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public interface ProductDtoPagination {
+    @JsonIgnore
+    Long getId();
     String getTitle();
     String getDescription();
     Double getPrice();
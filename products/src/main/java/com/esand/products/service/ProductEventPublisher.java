@@ -0,0 +1,63 @@
+package com.esand.products.service;
+
+import com.esand.products.entity.Product;
+import com.esand.products.web.dto.ProductResponseDto;
+import com.esand.products.web.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+
+/**
+ * Publishes the current state of a product to the log-compacted products topic, keyed by SKU.
+ * Deletions are published as tombstones. Records are only sent once the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductEventPublisher {
+
+    @Value("${products_topic_name}")
+    private String productsTopicName;
+    private final KafkaTemplate<String, Serializable> kafkaTemplate;
+    private final ProductMapper productMapper;
+
+    public void publish(Product product) {
+        ProductResponseDto dto = productMapper.toDto(product);
+        afterCommit(() -> send(dto.getSku(), dto));
+    }
+
+    public void publishDeleted(String sku) {
+        afterCommit(() -> send(sku, null));
+    }
+
+    private void send(String sku, Serializable value) {
+        try {
+            kafkaTemplate.send(productsTopicName, sku, value).whenComplete((result, e) -> {
+                if (e != null) {
+                    log.error("Error publishing product {}", sku, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Error publishing product {}", sku, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
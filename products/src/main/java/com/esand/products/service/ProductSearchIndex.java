@@ -0,0 +1,303 @@
+package com.esand.products.service;
+
+import com.esand.products.entity.Product;
+import com.esand.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the title, supplier and description of every product.
+ * Each field maps every three-character slice of its lowercased text to the ids of the products containing it, so a
+ * substring lookup intersects the postings of the term's trigrams and only checks the few candidates left, instead
+ * of scanning the table with {@code LIKE '%term%'}. The index is loaded at startup and kept current by the product
+ * writes of this instance once their transaction commits. Writes made by other instances reach it through the
+ * products topic, see {@link com.esand.products.config.ProductSearchListener}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+
+    public enum Field {
+        TITLE(3),
+        SUPPLIER(2),
+        DESCRIPTION(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Document(Long id, String sku, String[] texts) {
+        String text(Field field) {
+            return texts[field.ordinal()];
+        }
+    }
+
+    private final ProductRepository productRepository;
+
+    @Value("${search-index.enabled:true}")
+    private boolean enabled;
+    private volatile boolean ready;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Long> skus = new HashMap<>();
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+
+    {
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            skus.clear();
+            postings.values().forEach(Map::clear);
+            for (Product product : productRepository.findAll()) {
+                put(document(product));
+            }
+            ready = true;
+            log.info("Product search index built with {} products", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Product product) {
+        if (!enabled) {
+            return;
+        }
+        Document document = document(product);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(document.id());
+                Long previous = skus.get(document.sku());
+                if (previous != null) {
+                    remove(previous);
+                }
+                put(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(String sku) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Long id = skus.get(sku);
+                if (id != null) {
+                    remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Reindexes the product with the given SKU from its stored state, or drops it when it no longer exists.
+     */
+    public void refresh(String sku) {
+        if (!enabled) {
+            return;
+        }
+        productRepository.findBySku(sku).ifPresentOrElse(this::index, () -> remove(sku));
+    }
+
+    /**
+     * Ids, in ascending order, of the products whose field contains the term, ignoring case.
+     */
+    public List<Long> find(Field field, String term) {
+        String value = normalize(term);
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (Long id : candidates(field, value)) {
+                if (documents.get(id).text(field).contains(value)) {
+                    ids.add(id);
+                }
+            }
+            ids.sort(Comparator.naturalOrder());
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the products matching any word of the query on any field, best match first. A word contained in a
+     * field scores twice the field weight and a word sharing at least half of its trigrams with a field scores
+     * the weight times the shared fraction, so misspelled words still match. Title outweighs supplier, which
+     * outweighs description.
+     */
+    public List<Long> search(String query) {
+        Set<String> words = new LinkedHashSet<>(Arrays.asList(normalize(query).trim().split("\\s+")));
+        words.remove("");
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String word : words) {
+                for (Field field : Field.values()) {
+                    score(field, word, scores);
+                }
+            }
+            List<Long> ids = new ArrayList<>(scores.keySet());
+            ids.sort(Comparator.<Long>comparingDouble(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(Field field, String word, Map<Long, Double> scores) {
+        Set<String> grams = grams(word);
+        if (grams.isEmpty()) {
+            for (Document document : documents.values()) {
+                if (document.text(field).contains(word)) {
+                    scores.merge(document.id(), 2.0 * field.weight, Double::sum);
+                }
+            }
+            return;
+        }
+
+        Map<Long, Integer> hits = new HashMap<>();
+        Map<String, Set<Long>> index = postings.get(field);
+        for (String gram : grams) {
+            for (Long id : index.getOrDefault(gram, Set.of())) {
+                hits.merge(id, 1, Integer::sum);
+            }
+        }
+        hits.forEach((id, count) -> {
+            if (documents.get(id).text(field).contains(word)) {
+                scores.merge(id, 2.0 * field.weight, Double::sum);
+            } else if (count * 2 >= grams.size()) {
+                scores.merge(id, (double) field.weight * count / grams.size(), Double::sum);
+            }
+        });
+    }
+
+    private Set<Long> candidates(Field field, String value) {
+        Set<String> grams = grams(value);
+        if (grams.isEmpty()) {
+            return documents.keySet();
+        }
+        Map<String, Set<Long>> index = postings.get(field);
+        List<Set<Long>> sets = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> ids = index.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            sets.add(ids);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(sets.get(i));
+        }
+        return candidates;
+    }
+
+    private void put(Document document) {
+        documents.put(document.id(), document);
+        skus.put(document.sku(), document.id());
+        for (Field field : Field.values()) {
+            Map<String, Set<Long>> index = postings.get(field);
+            for (String gram : grams(document.text(field))) {
+                index.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id());
+            }
+        }
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        skus.remove(document.sku(), id);
+        for (Field field : Field.values()) {
+            Map<String, Set<Long>> index = postings.get(field);
+            for (String gram : grams(document.text(field))) {
+                Set<Long> ids = index.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    index.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Document document(Product product) {
+        String[] texts = new String[Field.values().length];
+        texts[Field.TITLE.ordinal()] = normalize(product.getTitle());
+        texts[Field.SUPPLIER.ordinal()] = normalize(product.getSupplier());
+        texts[Field.DESCRIPTION.ordinal()] = normalize(product.getDescription());
+        return new Document(product.getId(), product.getSku(), texts);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -3,24 +3,50 @@ package com.esand.products.service;
 import com.esand.products.entity.Product;
 import com.esand.products.exception.*;
 import com.esand.products.repository.ProductRepository;
+import com.esand.products.repository.pagination.Keyset;
+import com.esand.products.repository.pagination.ProductDtoPagination;
 import com.esand.products.web.dto.PageableDto;
+import com.esand.products.web.dto.ProductBatchResponseDto;
 import com.esand.products.web.dto.ProductCreateDto;
 import com.esand.products.web.dto.ProductResponseDto;
 import com.esand.products.web.dto.ProductUpdateDto;
 import com.esand.products.web.mapper.ProductMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_DATE = Sort.by("createDate", "id");
+
     private final ProductMapper productMapper;
     private final ProductRepository productRepository;
+    private final ProductEventPublisher productEventPublisher;
+    private final ReservationLedger reservationLedger;
+    private final ProductSearchIndex productSearchIndex;
 
     @Transactional
     public ProductResponseDto save(ProductCreateDto dto) {
@@ -34,12 +60,14 @@ public class ProductService {
 
         Product product = productRepository.save(productMapper.toProduct(dto));
         updateProductStatus(product);
+        productEventPublisher.publish(product);
+        productSearchIndex.index(product);
         return productMapper.toDto(product);
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAll(Pageable pageable) {
-        PageableDto dto = productMapper.toPageableDto(productRepository.findAllPageable(pageable));
+    public PageableDto findAll(Pageable pageable, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, productRepository::findAllPageable, productRepository::findAllBy);
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No products found");
         }
@@ -47,8 +75,11 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findByTitle(Pageable pageable, String title) {
-        PageableDto dto = productMapper.toPageableDto(productRepository.findByTitleIgnoreCaseContaining(pageable, title));
+    public PageableDto findByTitle(Pageable pageable, String title, String token, boolean count) {
+        PageableDto dto = useIndex(pageable, token)
+                ? indexed(pageable, token, productSearchIndex.find(ProductSearchIndex.Field.TITLE, title))
+                : page(pageable, token, count, BY_ID, page -> productRepository.findByTitleIgnoreCaseContaining(page, title),
+                        (position, limit, sort) -> productRepository.findByTitleIgnoreCaseContaining(title, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No products found by title");
         }
@@ -56,8 +87,11 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findBySupplier(Pageable pageable, String supplier) {
-        PageableDto dto = productMapper.toPageableDto(productRepository.findBySupplierIgnoreCaseContaining(pageable, supplier));
+    public PageableDto findBySupplier(Pageable pageable, String supplier, String token, boolean count) {
+        PageableDto dto = useIndex(pageable, token)
+                ? indexed(pageable, token, productSearchIndex.find(ProductSearchIndex.Field.SUPPLIER, supplier))
+                : page(pageable, token, count, BY_ID, page -> productRepository.findBySupplierIgnoreCaseContaining(page, supplier),
+                        (position, limit, sort) -> productRepository.findBySupplierIgnoreCaseContaining(supplier, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No products found by supplier");
         }
@@ -65,9 +99,26 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findByCategory(Pageable pageable, String category) {
+    public PageableDto search(Pageable pageable, String query) {
+        if (!productSearchIndex.isReady()) {
+            return findByTitle(pageable, query, null, true);
+        }
+        List<Long> ids = productSearchIndex.search(query);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        List<Long> slice = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        PageableDto dto = productMapper.toPageableDto(new PageImpl<>(content(slice), pageable, ids.size()));
+        if (dto.getContent().isEmpty()) {
+            throw new EntityNotFoundException("No products found by search");
+        }
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public PageableDto findByCategory(Pageable pageable, String category, String token, boolean count) {
         try {
-            PageableDto dto = productMapper.toPageableDto(productRepository.findByCategory(pageable, Product.Category.valueOf(category.toUpperCase())));
+            Product.Category value = Product.Category.valueOf(category.toUpperCase());
+            PageableDto dto = page(pageable, token, count, BY_ID, page -> productRepository.findByCategory(page, value),
+                    (position, limit, sort) -> productRepository.findByCategory(value, position, limit, sort));
             if (dto.getContent().isEmpty()) {
                 throw new EntityNotFoundException("No products found by category");
             }
@@ -83,8 +134,30 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAllActived(Pageable pageable) {
-        PageableDto dto = productMapper.toPageableDto(productRepository.findAllByStatus(pageable, true));
+    public ProductBatchResponseDto findBySkus(Collection<String> skus) {
+        Set<String> requested = new LinkedHashSet<>(skus);
+        ProductBatchResponseDto dto = new ProductBatchResponseDto();
+        if (requested.isEmpty()) {
+            return dto;
+        }
+
+        Map<String, Product> products = productRepository.findBySkuIn(requested).stream()
+                .collect(Collectors.toMap(Product::getSku, Function.identity()));
+        for (String sku : requested) {
+            Product product = products.get(sku);
+            if (product == null) {
+                dto.getMissing().add(sku);
+            } else {
+                dto.getFound().add(productMapper.toDto(product));
+            }
+        }
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public PageableDto findAllActived(Pageable pageable, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, page -> productRepository.findAllByStatus(page, true),
+                (position, limit, sort) -> productRepository.findAllByStatus(true, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No active product found");
         }
@@ -92,8 +165,9 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findAllDisabled(Pageable pageable) {
-        PageableDto dto = productMapper.toPageableDto(productRepository.findAllByStatus(pageable, false));
+    public PageableDto findAllDisabled(Pageable pageable, String token, boolean count) {
+        PageableDto dto = page(pageable, token, count, BY_ID, page -> productRepository.findAllByStatus(page, false),
+                (position, limit, sort) -> productRepository.findAllByStatus(false, position, limit, sort));
         if (dto.getContent().isEmpty()) {
             throw new EntityNotFoundException("No disabled product found");
         }
@@ -101,14 +175,21 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public PageableDto findProductsByDate(String afterDate, String beforeDate, Pageable pageable) {
+    public PageableDto findProductsByDate(String afterDate, String beforeDate, Pageable pageable, String token, boolean count) {
         PageableDto dto;
         if (afterDate != null && beforeDate != null) {
-            dto = productMapper.toPageableDto(productRepository.findByCreateDateBetween(LocalDate.parse(afterDate).atStartOfDay(), LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> productRepository.findByCreateDateBetween(after, before, page),
+                    (position, limit, sort) -> productRepository.findByCreateDateBetween(after, before, position, limit, sort));
         } else if (afterDate != null) {
-            dto = productMapper.toPageableDto(productRepository.findByCreateDateAfter(LocalDate.parse(afterDate).atStartOfDay(), pageable));
+            LocalDateTime after = LocalDate.parse(afterDate).atStartOfDay();
+            dto = page(pageable, token, count, BY_DATE, page -> productRepository.findByCreateDateAfter(after, page),
+                    (position, limit, sort) -> productRepository.findByCreateDateAfter(after, position, limit, sort));
         } else if (beforeDate != null) {
-            dto = productMapper.toPageableDto(productRepository.findByCreateDateBefore(LocalDate.parse(beforeDate).atStartOfDay().plusDays(1), pageable));
+            LocalDateTime before = LocalDate.parse(beforeDate).atStartOfDay().plusDays(1);
+            dto = page(pageable, token, count, BY_DATE, page -> productRepository.findByCreateDateBefore(before, page),
+                    (position, limit, sort) -> productRepository.findByCreateDateBefore(before, position, limit, sort));
         } else {
             throw new EntityNotFoundException("No date parameters provided");
         }
@@ -125,6 +206,11 @@ public class ProductService {
         Product product = findProductBySku(sku);
         productMapper.updateProduct(dto, product);
         updateProductStatus(product);
+        if (!product.getSku().equals(sku)) {
+            productEventPublisher.publishDeleted(sku);
+        }
+        productEventPublisher.publish(product);
+        productSearchIndex.index(product);
     }
 
     @Transactional
@@ -134,34 +220,35 @@ public class ProductService {
             throw new InvalidProductStatusException("Cannot alter status when quantity is 0");
         }
         product.setStatus(!product.getStatus());
+        productEventPublisher.publish(product);
         return product.getStatus().toString();
     }
 
     @Transactional
     public String add(String sku, Integer quantity) {
-        Product product = findProductBySku(sku);
         if (quantity == null || quantity <= 0) {
             throw new InvalidQuantityException("No quantity stated");
         }
-        product.setQuantity(product.getQuantity() + quantity);
-        if (product.getQuantity() - quantity == 0 || product.getQuantity() > 0 && product.getStatus()) {
-            updateProductStatus(product);
+        if (productRepository.increaseQuantity(sku, quantity) == 0) {
+            throw new EntityNotFoundException("Product not found by sku");
         }
-        return product.getQuantity().toString();
+        return publishQuantity(sku);
     }
 
     @Transactional
     public String sub(String sku, Integer quantity) {
-        Product product = findProductBySku(sku);
         if (quantity == null || quantity <= 0) {
             throw new InvalidQuantityException("No quantity stated");
         }
-        if (product.getQuantity() < quantity) {
-            throw new InvalidQuantityException("The quantity of available products is " + product.getQuantity());
-        }
-        product.setQuantity(product.getQuantity() - quantity);
-        updateProductStatus(product);
-        return product.getQuantity().toString();
+        reservationLedger.consume(sku, reserved -> {
+            if (productRepository.decreaseQuantity(sku, quantity, reserved) == 0) {
+                Integer available = productRepository.findQuantityBySku(sku).orElseThrow(
+                        () -> new EntityNotFoundException("Product not found by sku")
+                );
+                throw new InvalidQuantityException("The quantity of available products is " + Math.max(available - reserved, 0));
+            }
+        });
+        return publishQuantity(sku);
     }
 
     @Transactional
@@ -170,6 +257,8 @@ public class ProductService {
             throw new EntityNotFoundException("Product not found by sku");
         }
         productRepository.deleteBySku(sku);
+        productEventPublisher.publishDeleted(sku);
+        productSearchIndex.remove(sku);
     }
 
     @Transactional(readOnly = true)
@@ -179,7 +268,70 @@ public class ProductService {
         );
     }
 
+    private String publishQuantity(String sku) {
+        Product product = findProductBySku(sku);
+        productEventPublisher.publish(product);
+        return product.getQuantity().toString();
+    }
+
     private void updateProductStatus(Product product) {
         product.setStatus(product.getQuantity() == 0 ? false : true);
     }
+
+    /**
+     * Reads one page of a listing. Without a token it is the usual offset page, with its total count unless
+     * {@code count} is false, in which case it only reports whether a next page exists. With a token it is a keyset
+     * page that seeks past the previous page on {@code keys} and returns the token of the next one.
+     */
+    private PageableDto page(Pageable pageable, String token, boolean count, Sort keys,
+                             Function<Pageable, Page<ProductDtoPagination>> offset,
+                             Keyset.Query<ProductDtoPagination> scroll) {
+        int size = pageable.getPageSize();
+        if (token != null) {
+            return productMapper.toPageableDto(scroll.scroll(Keyset.decode(token, keys), Limit.of(size), keys), size, token.isEmpty());
+        }
+        if (count) {
+            return productMapper.toPageableDto(offset.apply(pageable));
+        }
+        ScrollPosition position = pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+        PageableDto dto = productMapper.toPageableDto(scroll.scroll(position, Limit.of(size), pageable.getSortOr(keys)), size, pageable.getOffset() == 0);
+        dto.setNumber(pageable.getPageNumber());
+        return dto;
+    }
+
+    private boolean useIndex(Pageable pageable, String token) {
+        return productSearchIndex.isReady() && (token != null || pageable.getSort().isUnsorted());
+    }
+
+    /**
+     * Pages through the ids of an index lookup, which come sorted by id. The index already knows every match, so the
+     * offset page always carries its total, and a token page seeks on the id just like the database listing does.
+     */
+    private PageableDto indexed(Pageable pageable, String token, List<Long> ids) {
+        int size = pageable.getPageSize();
+        if (token == null) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            List<Long> slice = ids.subList(from, Math.min(from + size, ids.size()));
+            return productMapper.toPageableDto(new PageImpl<>(content(slice), pageable, ids.size()));
+        }
+
+        int from = 0;
+        if (Keyset.decode(token, BY_ID) instanceof KeysetScrollPosition position && !position.isInitial()) {
+            int at = Collections.binarySearch(ids, (Long) position.getKeys().get("id"));
+            from = at >= 0 ? at + 1 : -at - 1;
+        }
+        List<Long> slice = ids.subList(from, Math.min(from + size, ids.size()));
+        Window<ProductDtoPagination> window = Window.from(content(slice),
+                i -> ScrollPosition.forward(Map.of("id", slice.get(i))), from + size < ids.size());
+        return productMapper.toPageableDto(window, size, token.isEmpty());
+    }
+
+    private List<ProductDtoPagination> content(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductDtoPagination> products = productRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductDtoPagination::getId, Function.identity()));
+        return ids.stream().map(products::get).filter(Objects::nonNull).toList();
+    }
 }
@@ -0,0 +1,299 @@
+package com.esand.products.service;
+
+import com.esand.products.entity.Reservation;
+import com.esand.products.exception.EntityNotFoundException;
+import com.esand.products.exception.InvalidQuantityException;
+import com.esand.products.exception.InvalidReservationStatusException;
+import com.esand.products.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * In-memory ledger of stock reservations, sharded per SKU.
+ * Each shard holds the units claimed by active reservations, so availability is the persisted quantity minus
+ * the shard total, and every decision for a SKU is taken under that shard's lock. A stock write keeps the lock
+ * until its transaction completes. Reservations expire on a timer and are written to the database in batches
+ * behind the request path.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationLedger {
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> active = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> timers = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("reservation-expiry").daemon().factory()
+    );
+
+    public Reservation reserve(String sku, int quantity, Duration ttl, IntSupplier onHand) {
+        Shard shard = shard(sku);
+        shard.lock.lock();
+        try {
+            int available = onHand.getAsInt() - shard.reserved;
+            if (available < quantity) {
+                throw new InvalidQuantityException("The quantity of available products is " + Math.max(available, 0));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Reservation reservation = new Reservation(UUID.randomUUID().toString(), sku, quantity,
+                    Reservation.Status.RESERVED, now.plus(ttl), now, true);
+            shard.reserved += quantity;
+            active.put(reservation.getId(), reservation);
+            schedule(reservation, ttl);
+            stage(reservation);
+            return reservation.copy();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a stock write that bypasses reservations, handing it the units currently held for the SKU.
+     */
+    public void consume(String sku, IntConsumer write) {
+        Shard shard = shard(sku);
+        shard.lock.lock();
+        try {
+            write.accept(shard.reserved);
+        } finally {
+            unlockOnCompletion(shard);
+        }
+    }
+
+    /**
+     * Runs the stock write for a reservation, handing it the units held by the other reservations of the SKU,
+     * and marks the reservation as committed once the transaction of the write commits. Until then its units stay
+     * held, so a rollback leaves the reservation as it was.
+     */
+    public Reservation commit(String id, ObjIntConsumer<Reservation> write) {
+        Reservation reservation = findActive(id);
+        Shard shard = shard(reservation.getSku());
+        shard.lock.lock();
+        try {
+            verifyReserved(reservation);
+            write.accept(reservation.copy(), shard.reserved - reservation.getQuantity());
+            afterCommit(() -> finish(shard, reservation, Reservation.Status.COMMITTED));
+            Reservation committed = reservation.copy();
+            committed.setStatus(Reservation.Status.COMMITTED);
+            return committed;
+        } finally {
+            unlockOnCompletion(shard);
+        }
+    }
+
+    public Reservation release(String id) {
+        Reservation reservation = findActive(id);
+        Shard shard = shard(reservation.getSku());
+        shard.lock.lock();
+        try {
+            verifyReserved(reservation);
+            finish(shard, reservation, Reservation.Status.RELEASED);
+            return reservation.copy();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public Reservation findById(String id) {
+        Reservation reservation = active.get(id);
+        if (reservation == null) {
+            reservation = pending.get(id);
+        }
+        if (reservation != null) {
+            return reservation.copy();
+        }
+        return reservationRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("Reservation not found")
+        );
+    }
+
+    public int reserved(String sku) {
+        Shard shard = shards.get(sku);
+        if (shard == null) {
+            return 0;
+        }
+        shard.lock.lock();
+        try {
+            return shard.reserved;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservations.flush-interval-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Reservation> batch = new ArrayList<>();
+        for (String id : pending.keySet()) {
+            Reservation reservation = pending.remove(id);
+            if (reservation != null) {
+                batch.add(reservation);
+            }
+        }
+
+        try {
+            reservationRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            log.error("Error persisting {} reservations, retrying on next flush", batch.size(), e);
+            for (Reservation reservation : batch) {
+                pending.merge(reservation.getId(), reservation, (newer, failed) -> {
+                    newer.setNewEntity(newer.isNew() || failed.isNew());
+                    return newer;
+                });
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Reservation reservation : reservationRepository.findAllByStatus(Reservation.Status.RESERVED)) {
+            reservation.setNewEntity(false);
+            if (!reservation.getExpiresAt().isAfter(now)) {
+                reservation.setStatus(Reservation.Status.EXPIRED);
+                stage(reservation);
+                continue;
+            }
+
+            Shard shard = shard(reservation.getSku());
+            shard.lock.lock();
+            try {
+                shard.reserved += reservation.getQuantity();
+                active.put(reservation.getId(), reservation);
+                schedule(reservation, Duration.between(now, reservation.getExpiresAt()));
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        flush();
+    }
+
+    private void expire(String id) {
+        Reservation reservation = active.get(id);
+        if (reservation == null) {
+            return;
+        }
+        Shard shard = shard(reservation.getSku());
+        shard.lock.lock();
+        try {
+            if (reservation.getStatus() == Reservation.Status.RESERVED) {
+                finish(shard, reservation, Reservation.Status.EXPIRED);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private Reservation findActive(String id) {
+        Reservation reservation = active.get(id);
+        if (reservation == null) {
+            throw new InvalidReservationStatusException("Reservation is " + findById(id).getStatus());
+        }
+        return reservation;
+    }
+
+    private void verifyReserved(Reservation reservation) {
+        if (reservation.getStatus() != Reservation.Status.RESERVED) {
+            throw new InvalidReservationStatusException("Reservation is " + reservation.getStatus());
+        }
+    }
+
+    private void finish(Shard shard, Reservation reservation, Reservation.Status status) {
+        reservation.setStatus(status);
+        shard.reserved -= reservation.getQuantity();
+        active.remove(reservation.getId());
+        ScheduledFuture<?> expiry = timers.remove(reservation.getId());
+        if (expiry != null) {
+            expiry.cancel(false);
+        }
+        stage(reservation);
+    }
+
+    private void schedule(Reservation reservation, Duration delay) {
+        String id = reservation.getId();
+        timers.put(id, timer.schedule(() -> expire(id), delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void stage(Reservation reservation) {
+        pending.merge(reservation.getId(), reservation.copy(), (queued, next) -> {
+            next.setNewEntity(queued.isNew() || next.isNew());
+            return next;
+        });
+        reservation.setNewEntity(false);
+    }
+
+    /**
+     * Releases a shard lock taken for a stock write once the surrounding transaction completes. Releasing it
+     * earlier would let a reservation read the on-hand quantity before the write is visible, and oversell.
+     */
+    private void unlockOnCompletion(Shard shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            shard.lock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                shard.lock.unlock();
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Shard shard(String sku) {
+        return shards.computeIfAbsent(sku, key -> new Shard());
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int reserved;
+    }
+}
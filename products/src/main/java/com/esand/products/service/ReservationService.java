@@ -0,0 +1,70 @@
+package com.esand.products.service;
+
+import com.esand.products.entity.Reservation;
+import com.esand.products.exception.EntityNotFoundException;
+import com.esand.products.exception.InvalidQuantityException;
+import com.esand.products.repository.ProductRepository;
+import com.esand.products.web.dto.ReservationCreateDto;
+import com.esand.products.web.dto.ReservationResponseDto;
+import com.esand.products.web.mapper.ReservationMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationService {
+
+    @Value("${reservations.ttl-seconds:900}")
+    private long defaultTtlSeconds;
+    private final ReservationLedger reservationLedger;
+    private final ReservationMapper reservationMapper;
+    private final ProductRepository productRepository;
+    private final ProductEventPublisher productEventPublisher;
+
+    @Transactional(readOnly = true)
+    public ReservationResponseDto reserve(ReservationCreateDto dto) {
+        if (dto.getQuantity() == null || dto.getQuantity() <= 0) {
+            throw new InvalidQuantityException("No quantity stated");
+        }
+        long ttlSeconds = dto.getTtlSeconds() == null ? defaultTtlSeconds : dto.getTtlSeconds();
+        Reservation reservation = reservationLedger.reserve(dto.getSku(), dto.getQuantity(), Duration.ofSeconds(ttlSeconds),
+                () -> findQuantityBySku(dto.getSku()));
+        return reservationMapper.toDto(reservation);
+    }
+
+    @Transactional
+    public ReservationResponseDto commit(String id) {
+        Reservation reservation = reservationLedger.commit(id, (held, reserved) -> {
+            if (productRepository.decreaseQuantity(held.getSku(), held.getQuantity(), reserved) == 0) {
+                int available = findQuantityBySku(held.getSku()) - reserved;
+                throw new InvalidQuantityException("The quantity of available products is " + Math.max(available, 0));
+            }
+        });
+        productRepository.findBySku(reservation.getSku()).ifPresent(productEventPublisher::publish);
+        return reservationMapper.toDto(reservation);
+    }
+
+    public ReservationResponseDto release(String id) {
+        return reservationMapper.toDto(reservationLedger.release(id));
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationResponseDto findById(String id) {
+        return reservationMapper.toDto(reservationLedger.findById(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Integer available(String sku) {
+        return Math.max(findQuantityBySku(sku) - reservationLedger.reserved(sku), 0);
+    }
+
+    private int findQuantityBySku(String sku) {
+        return productRepository.findQuantityBySku(sku).orElseThrow(
+                () -> new EntityNotFoundException("Product not found by sku")
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.esand.products.service;
+
+import com.esand.products.repository.StockReleaseRepository;
+import com.esand.products.web.dto.StockReleaseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class StockReleaseService {
+
+    private final StockReleaseRepository stockReleaseRepository;
+    private final ProductService productService;
+
+    /**
+     * Returns the stock of a canceled order to its product, once per order. The marker and the quantity change
+     * commit together, so a release is either fully applied or retried as a whole.
+     */
+    @Transactional
+    public boolean release(StockReleaseDto dto) {
+        if (stockReleaseRepository.insertIfAbsent(dto.getOrderId(), dto.getSku(), dto.getQuantity(), LocalDateTime.now()) == 0) {
+            return false;
+        }
+        productService.add(dto.getSku(), dto.getQuantity());
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.esand.products.springdoc;
+
+import com.esand.products.web.dto.ReservationCreateDto;
+import com.esand.products.web.dto.ReservationResponseDto;
+import com.esand.products.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+
+@Tag(name = "Reservations", description = "Contains all operations related to holding product stock until an order is confirmed")
+public interface ReservationSpringDoc {
+    @Operation(summary = "Reserve product stock",
+            description = "Endpoint that holds a quantity of a product by SKU until it is committed, released or expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Stock reserved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservationResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity or not enough available stock",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found by SKU",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<ReservationResponseDto> reserve(@RequestBody @Valid ReservationCreateDto dto);
+
+    @Operation(summary = "Search for a reservation by id",
+            description = "Endpoint to search for a reservation by id.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservationResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<ReservationResponseDto> findById(@PathVariable String id);
+
+    @Operation(summary = "Commit a reservation",
+            description = "Endpoint that removes the reserved quantity from the product stock.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation committed successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservationResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "409", description = "Reservation was already committed, released or expired",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<ReservationResponseDto> commit(@PathVariable String id);
+
+    @Operation(summary = "Release a reservation",
+            description = "Endpoint that returns the reserved quantity to the available stock.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation released successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservationResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "409", description = "Reservation was already committed, released or expired",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<ReservationResponseDto> release(@PathVariable String id);
+
+    @Operation(summary = "Search for the available quantity of a product",
+            description = "Endpoint to search for the quantity of a product by SKU that is not held by reservations.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Available quantity found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Integer.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found by SKU",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<Integer> available(@PathVariable String sku);
+}
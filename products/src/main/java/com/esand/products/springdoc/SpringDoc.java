@@ -1,5 +1,6 @@
 package com.esand.products.springdoc;
 
+import com.esand.products.web.dto.ProductBatchResponseDto;
 import com.esand.products.web.dto.ProductCreateDto;
 import com.esand.products.web.dto.ProductResponseDto;
 import com.esand.products.web.dto.ProductUpdateDto;
@@ -20,6 +21,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 @Tag(name = "Products", description = "Contains all operations related to resources for registration, searching, correcting data, and updating status")
 public interface SpringDoc {
     @Operation(summary = "Register a new product",
@@ -44,10 +47,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No products found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAll(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                        @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                        @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for product by title",
             description = "Endpoint to search for a product by title.")
@@ -56,10 +64,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ProductResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "Product not found by title",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findByTitle(@PageableDefault(size = 10) Pageable pageable, @PathVariable String title);
+    ResponseEntity<PageableDto> findByTitle(@PageableDefault(size = 10) Pageable pageable, @PathVariable String title,
+                                            @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                            @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for products by supplier",
             description = "Endpoint to search for products by supplier.")
@@ -68,10 +81,28 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No products found by supplier",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findBySupplier(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String supplier);
+    ResponseEntity<PageableDto> findBySupplier(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String supplier,
+                                               @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                               @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
+
+    @Operation(summary = "Search for products by text",
+            description = "Endpoint to search for products whose title, supplier or description match the words of the query, best match first. Title matches rank above supplier matches, which rank above description matches, and slightly misspelled words still match.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products found successfully by search",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PageableDto.class))),
+            @ApiResponse(responseCode = "404", description = "No products found by search",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class)))
+    })
+    ResponseEntity<PageableDto> search(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
+                                       @Parameter(description = "Words to search for") @RequestParam("q") String query);
 
     @Operation(summary = "Search for products by category",
             description = "Endpoint to search for products by category.")
@@ -80,10 +111,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No products found by category",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findByCategory(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String category);
+    ResponseEntity<PageableDto> findByCategory(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable, @PathVariable String category,
+                                               @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                               @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for product by SKU",
             description = "Endpoint to search for a product by SKU.")
@@ -97,6 +133,24 @@ public interface SpringDoc {
     })
     ResponseEntity<ProductResponseDto> findBySku(@PathVariable String sku);
 
+    @Operation(summary = "Search for products by a list of SKUs",
+            description = "Endpoint to resolve many SKUs with a single query. Found products and missing SKUs are returned separately.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "SKUs resolved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBatchResponseDto.class)))
+    })
+    ResponseEntity<ProductBatchResponseDto> findBySkus(@RequestParam("skus") List<String> skus);
+
+    @Operation(summary = "Search for products by a list of SKUs sent in the body",
+            description = "Same as the GET variant, for SKU lists too long to fit in a query string.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "SKUs resolved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBatchResponseDto.class)))
+    })
+    ResponseEntity<ProductBatchResponseDto> searchBySkus(@RequestBody List<String> skus);
+
     @Operation(summary = "Search for active products",
             description = "Endpoint to search for active products.")
     @ApiResponses(value = {
@@ -104,10 +158,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "Active products not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAllActived(@PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAllActived(@PageableDefault(size = 10) Pageable pageable,
+                                               @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                               @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for disabled products",
             description = "Endpoint to search for disabled products.")
@@ -116,10 +175,15 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "Disabled products not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
-    ResponseEntity<PageableDto> findAllDisabled(@PageableDefault(size = 10) Pageable pageable);
+    ResponseEntity<PageableDto> findAllDisabled(@PageableDefault(size = 10) Pageable pageable,
+                                                @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                                @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Search for products by date",
             description = "Endpoint to search for products by date range.")
@@ -128,12 +192,17 @@ public interface SpringDoc {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PageableDto.class))),
             @ApiResponse(responseCode = "404", description = "No products found by date",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorMessage.class)))
     })
     ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                            @RequestParam(value = "afterDate", required = false) String afterDate,
-                                           @RequestParam(value = "beforeDate", required = false) String beforeDate);
+                                           @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                           @Parameter(description = "Continuation token for keyset pagination. Send it empty to start and then the 'next' value of the previous page; the page number and sort are ignored in this mode") @RequestParam(value = "token", required = false) String token,
+                                           @Parameter(description = "Set to false to skip the total count; the page then reports only whether a next page exists") @RequestParam(value = "count", defaultValue = "true") boolean count);
 
     @Operation(summary = "Update a product's data",
             description = "Endpoint to update a product's data by SKU. It's possible to update by specifying only the attribute you want to modify.")
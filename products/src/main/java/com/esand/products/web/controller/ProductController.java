@@ -3,6 +3,7 @@ package com.esand.products.web.controller;
 import com.esand.products.service.ProductService;
 import com.esand.products.springdoc.SpringDoc;
 import com.esand.products.web.dto.PageableDto;
+import com.esand.products.web.dto.ProductBatchResponseDto;
 import com.esand.products.web.dto.ProductCreateDto;
 import com.esand.products.web.dto.ProductResponseDto;
 import com.esand.products.web.dto.ProductUpdateDto;
@@ -15,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 
 @RequiredArgsConstructor
 @RestController
@@ -29,23 +32,36 @@ public class ProductController implements SpringDoc {
     }
 
     @GetMapping
-    public ResponseEntity<PageableDto> findAll(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(productService.findAll(pageable));
+    public ResponseEntity<PageableDto> findAll(@PageableDefault(size = 10) Pageable pageable,
+                                               @RequestParam(value = "token", required = false) String token,
+                                               @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findAll(pageable, token, count));
     }
 
     @GetMapping("/title/{title}")
-    public ResponseEntity<PageableDto> findByTitle(@PageableDefault(size = 10) Pageable pageable, @PathVariable String title) {
-        return ResponseEntity.ok(productService.findByTitle(pageable, title));
+    public ResponseEntity<PageableDto> findByTitle(@PageableDefault(size = 10) Pageable pageable, @PathVariable String title,
+                                                   @RequestParam(value = "token", required = false) String token,
+                                                   @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findByTitle(pageable, title, token, count));
     }
 
     @GetMapping("/supplier/{supplier}")
-    public ResponseEntity<PageableDto> findBySupplier(@PageableDefault(size = 10) Pageable pageable, @PathVariable String supplier) {
-        return ResponseEntity.ok(productService.findBySupplier(pageable, supplier));
+    public ResponseEntity<PageableDto> findBySupplier(@PageableDefault(size = 10) Pageable pageable, @PathVariable String supplier,
+                                                      @RequestParam(value = "token", required = false) String token,
+                                                      @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findBySupplier(pageable, supplier, token, count));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PageableDto> search(@PageableDefault(size = 10) Pageable pageable, @RequestParam("q") String query) {
+        return ResponseEntity.ok(productService.search(pageable, query));
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<PageableDto> findByCategory(@PageableDefault(size = 10) Pageable pageable, @PathVariable @Valid String category) {
-        return ResponseEntity.ok(productService.findByCategory(pageable, category));
+    public ResponseEntity<PageableDto> findByCategory(@PageableDefault(size = 10) Pageable pageable, @PathVariable @Valid String category,
+                                                      @RequestParam(value = "token", required = false) String token,
+                                                      @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findByCategory(pageable, category, token, count));
     }
 
     @GetMapping("/sku/{sku}")
@@ -53,21 +69,37 @@ public class ProductController implements SpringDoc {
         return ResponseEntity.ok(productService.findBySku(sku));
     }
 
+    @GetMapping("/sku/batch")
+    public ResponseEntity<ProductBatchResponseDto> findBySkus(@RequestParam("skus") List<String> skus) {
+        return ResponseEntity.ok(productService.findBySkus(skus));
+    }
+
+    @PostMapping("/sku/batch")
+    public ResponseEntity<ProductBatchResponseDto> searchBySkus(@RequestBody List<String> skus) {
+        return ResponseEntity.ok(productService.findBySkus(skus));
+    }
+
     @GetMapping("/actived")
-    public ResponseEntity<PageableDto> findAllActived(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(productService.findAllActived(pageable));
+    public ResponseEntity<PageableDto> findAllActived(@PageableDefault(size = 10) Pageable pageable,
+                                                      @RequestParam(value = "token", required = false) String token,
+                                                      @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findAllActived(pageable, token, count));
     }
 
     @GetMapping("/disabled")
-    public ResponseEntity<PageableDto> findAllDisabled(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(productService.findAllDisabled(pageable));
+    public ResponseEntity<PageableDto> findAllDisabled(@PageableDefault(size = 10) Pageable pageable,
+                                                       @RequestParam(value = "token", required = false) String token,
+                                                       @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findAllDisabled(pageable, token, count));
     }
 
     @GetMapping("/date")
     public ResponseEntity<PageableDto> findByDate(@Parameter(hidden = true) @PageableDefault(size = 10) Pageable pageable,
                                                   @RequestParam(value = "afterDate", required = false) String afterDate,
-                                                  @RequestParam(value = "beforeDate", required = false) String beforeDate) {
-        return ResponseEntity.ok(productService.findProductsByDate(afterDate, beforeDate, pageable));
+                                                  @RequestParam(value = "beforeDate", required = false) String beforeDate,
+                                                  @RequestParam(value = "token", required = false) String token,
+                                                  @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(productService.findProductsByDate(afterDate, beforeDate, pageable, token, count));
     }
 
     @PatchMapping("/edit/{sku}")
@@ -0,0 +1,44 @@
+package com.esand.products.web.controller;
+
+import com.esand.products.service.ReservationService;
+import com.esand.products.springdoc.ReservationSpringDoc;
+import com.esand.products.web.dto.ReservationCreateDto;
+import com.esand.products.web.dto.ReservationResponseDto;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/products/reservations")
+public class ReservationController implements ReservationSpringDoc {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    public ResponseEntity<ReservationResponseDto> reserve(@RequestBody @Valid ReservationCreateDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.reserve(dto));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponseDto> findById(@PathVariable String id) {
+        return ResponseEntity.ok(reservationService.findById(id));
+    }
+
+    @PatchMapping("/{id}/commit")
+    public ResponseEntity<ReservationResponseDto> commit(@PathVariable String id) {
+        return ResponseEntity.ok(reservationService.commit(id));
+    }
+
+    @PatchMapping("/{id}/release")
+    public ResponseEntity<ReservationResponseDto> release(@PathVariable String id) {
+        return ResponseEntity.ok(reservationService.release(id));
+    }
+
+    @GetMapping("/available/{sku}")
+    public ResponseEntity<Integer> available(@PathVariable String sku) {
+        return ResponseEntity.ok(reservationService.available(sku));
+    }
+}
@@ -0,0 +1,18 @@
+package com.esand.products.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponseDto {
+    private List<ProductResponseDto> found = new ArrayList<>();
+    private List<String> missing = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.esand.products.web.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationCreateDto {
+    @NotBlank
+    private String sku;
+
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    @Min(1)
+    private Long ttlSeconds;
+}
@@ -0,0 +1,20 @@
+package com.esand.products.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponseDto {
+    private String id;
+    private String sku;
+    private Integer quantity;
+    private String status;
+    private LocalDateTime expiresAt;
+}
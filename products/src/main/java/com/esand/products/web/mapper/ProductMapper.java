@@ -1,15 +1,18 @@
 package com.esand.products.web.mapper;
 
 import com.esand.products.entity.Product;
+import com.esand.products.repository.pagination.Keyset;
 import com.esand.products.web.dto.PageableDto;
 import com.esand.products.web.dto.ProductCreateDto;
 import com.esand.products.web.dto.ProductResponseDto;
 import com.esand.products.web.dto.ProductUpdateDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface ProductMapper {
@@ -21,5 +24,17 @@ public interface ProductMapper {
 
     void updateProduct(ProductUpdateDto dto, @MappingTarget Product product);
 
+    @Mapping(target = "next", ignore = true)
     PageableDto toPageableDto(Page page);
+
+    default PageableDto toPageableDto(Window<?> window, int size, boolean first) {
+        PageableDto dto = new PageableDto();
+        dto.setContent(window.getContent());
+        dto.setFirst(first);
+        dto.setLast(!window.hasNext());
+        dto.setSize(size);
+        dto.setNumberOfElements(window.size());
+        dto.setNext(Keyset.encode(window));
+        return dto;
+    }
 }
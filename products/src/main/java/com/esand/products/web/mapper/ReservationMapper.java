@@ -0,0 +1,10 @@
+package com.esand.products.web.mapper;
+
+import com.esand.products.entity.Reservation;
+import com.esand.products.web.dto.ReservationResponseDto;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ReservationMapper {
+    ReservationResponseDto toDto(Reservation reservation);
+}
@@ -0,0 +1,17 @@
+create table product (
+    id bigint generated by default as identity,
+    title varchar(200) not null unique,
+    description varchar(500),
+    price float(53) not null,
+    category enum ('COMPUTERS','HEADPHONES','KEYBOARDS','MOUSES','SCREENS','SMARTPHONES') not null,
+    quantity integer not null,
+    sku varchar(255) not null unique,
+    weight float(53),
+    length float(53),
+    width float(53),
+    height float(53),
+    supplier varchar(100),
+    create_date timestamp(6) not null,
+    active boolean not null,
+    primary key (id)
+);
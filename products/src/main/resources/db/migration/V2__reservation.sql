@@ -0,0 +1,9 @@
+create table reservation (
+    id varchar(36) not null,
+    sku varchar(255) not null,
+    quantity integer not null,
+    status enum ('COMMITTED','EXPIRED','RELEASED','RESERVED') not null,
+    create_date timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    primary key (id)
+);
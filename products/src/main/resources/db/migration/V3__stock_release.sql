@@ -0,0 +1,7 @@
+create table stock_release (
+    order_id bigint not null,
+    sku varchar(255) not null,
+    quantity integer not null,
+    create_date timestamp(6) not null,
+    primary key (order_id)
+);
@@ -0,0 +1,4 @@
+create index idx_product_category on product (category, id);
+create index idx_product_active on product (active, id);
+create index idx_product_create_date on product (create_date, id);
+create index idx_reservation_status on reservation (status);
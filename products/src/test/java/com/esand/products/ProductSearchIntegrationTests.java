@@ -0,0 +1,183 @@
+package com.esand.products;
+
+import com.esand.products.entity.EntityMock;
+import com.esand.products.repository.ProductRepository;
+import com.esand.products.service.ProductSearchIndex;
+import com.esand.products.service.ProductService;
+import com.esand.products.web.dto.ProductCreateDto;
+import com.esand.products.web.dto.ProductUpdateDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "search-index.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductSearchIntegrationTests {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductSearchIndex productSearchIndex;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@MockBean
+	private KafkaTemplate<String, Serializable> kafkaTemplate;
+
+	@MockBean
+	private KafkaAdmin kafkaAdmin;
+
+	@BeforeEach
+	public void setUp() {
+		productRepository.deleteAll();
+		productSearchIndex.rebuild();
+	}
+
+	String createProduct(String title, String supplier, String description, String sku) {
+		ProductCreateDto dto = EntityMock.createDto();
+		dto.setTitle(title);
+		dto.setSupplier(supplier);
+		dto.setDescription(description);
+		dto.setSku(sku);
+		productService.save(dto);
+		return sku;
+	}
+
+	List<String> scroll(String uri) throws Exception {
+		List<String> skus = new ArrayList<>();
+		String token = "";
+		boolean last = false;
+		while (!last) {
+			String body = mockMvc.perform(MockMvcRequestBuilders.get(uri)
+							.param("size", "2")
+							.param("token", token)
+							.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			JsonNode page = objectMapper.readTree(body);
+			page.get("content").forEach(product -> skus.add(product.get("sku").asText()));
+			last = page.get("last").asBoolean();
+			token = page.path("next").asText(null);
+			assertEquals(last, token == null);
+		}
+		return skus;
+	}
+
+	@Test
+	void testFindProductsByTitleFromIndex() throws Exception {
+		createProduct("Wireless MouseS", "Mach Supplies Inc.", "A high precision wireless m", "MOUSE-01");
+		createProduct("Gaming Keyboard", "Logitech", "Mechanical keyboard", "KEYBOARD-01");
+		createProduct("Office Mouse", "Wireless Co.", "Wired mouse for daily work", "MOUSE-02");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/title/MOUSE")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].sku").value("MOUSE-01"))
+				.andExpect(jsonPath("$.content[1].sku").value("MOUSE-02"))
+				.andExpect(jsonPath("$.totalElements").value(2))
+				.andExpect(jsonPath("$.content[0].id").doesNotExist());
+	}
+
+	@Test
+	void testFindProductsBySupplierFromIndexKeyset() throws Exception {
+		List<String> skus = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			skus.add(createProduct("Wireless MouseS " + i, "Mach Supplies Inc.", null, "MOUSE-0" + i));
+		}
+		createProduct("Gaming Keyboard", "Logitech", null, "KEYBOARD-01");
+
+		assertEquals(skus, scroll("/api/v1/products/supplier/supplies"));
+	}
+
+	@Test
+	void testIndexFollowsUpdateAndDelete() throws Exception {
+		createProduct("Wireless MouseS", "Mach Supplies Inc.", null, "MOUSE-01");
+		createProduct("Office Mouse", "Wireless Co.", null, "MOUSE-02");
+
+		ProductUpdateDto update = new ProductUpdateDto();
+		update.setTitle("Office Monitor");
+		productService.update("MOUSE-02", update);
+		productService.deleteBySku("MOUSE-01");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/title/mouse")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/title/monitor")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].sku").value("MOUSE-02"));
+	}
+
+	@Test
+	void testSearchProductsRanked() throws Exception {
+		createProduct("Gaming Keyboard", "Logitech", "Mechanical keyboard with wireless receiver", "KEYBOARD-01");
+		createProduct("Office Mouse", "Wireless Co.", "Wired mouse for daily work", "MOUSE-02");
+		createProduct("Wireless MouseS", "Mach Supplies Inc.", "A high precision wireless mouse", "MOUSE-01");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/search")
+						.param("q", "wireless")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].sku").value("MOUSE-01"))
+				.andExpect(jsonPath("$.content[1].sku").value("MOUSE-02"))
+				.andExpect(jsonPath("$.content[2].sku").value("KEYBOARD-01"))
+				.andExpect(jsonPath("$.totalElements").value(3));
+	}
+
+	@Test
+	void testSearchProductsMisspelled() throws Exception {
+		createProduct("Gaming Keyboard", "Logitech", null, "KEYBOARD-01");
+		createProduct("Office Mouse", "Wireless Co.", null, "MOUSE-02");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/search")
+						.param("q", "keyborad")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].sku").value("KEYBOARD-01"))
+				.andExpect(jsonPath("$.totalElements").value(1));
+	}
+
+	@Test
+	void testSearchProductsNotFound() throws Exception {
+		createProduct("Gaming Keyboard", "Logitech", null, "KEYBOARD-01");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/search")
+						.param("q", "monitor")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("No products found by search"));
+	}
+}
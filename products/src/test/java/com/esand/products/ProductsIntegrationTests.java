@@ -1,9 +1,19 @@
 package com.esand.products;
 
+import com.esand.products.config.StockReleaseListener;
 import com.esand.products.entity.EntityMock;
+import com.esand.products.exception.InvalidQuantityException;
+import com.esand.products.entity.Product;
 import com.esand.products.repository.ProductRepository;
+import com.esand.products.repository.ReservationRepository;
+import com.esand.products.repository.StockReleaseRepository;
+import com.esand.products.service.ReservationLedger;
+import com.esand.products.service.ProductService;
 import com.esand.products.web.dto.ProductCreateDto;
 import com.esand.products.web.dto.ProductUpdateDto;
+import com.esand.products.web.dto.ReservationCreateDto;
+import com.esand.products.web.dto.StockReleaseDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,15 +21,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,21 +56,57 @@ class ProductsIntegrationTests {
 	@Autowired
 	private ProductRepository productRepository;
 
+	@Autowired
+	private ProductService productService;
+
 	@Autowired
 	private MockMvc mockMvc;
 
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private ReservationLedger reservationLedger;
+
+	@Autowired
+	private StockReleaseRepository stockReleaseRepository;
+
+	@Autowired
+	private StockReleaseListener stockReleaseListener;
+
+	@MockBean
+	private KafkaTemplate<String, Serializable> kafkaTemplate;
+
+	@MockBean
+	private KafkaAdmin kafkaAdmin;
+
 	@BeforeEach
 	public void setUp() {
 		productRepository.deleteAll();
+		stockReleaseRepository.deleteAll();
 	}
 
 	void createClient() {
 		productRepository.save(EntityMock.product());
 	}
 
+	String createReservedProduct(String sku) throws Exception {
+		Product product = EntityMock.product();
+		product.setSku(sku);
+		productRepository.save(product);
+
+		String response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/products/reservations")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new ReservationCreateDto(sku, 4, null))))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.status").value("RESERVED"))
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response).get("id").asText();
+	}
+
 	@Test
 	void testCreateProductSuccess() throws Exception {
 		ProductCreateDto createDto = EntityMock.createDto();
@@ -120,6 +180,88 @@ class ProductsIntegrationTests {
 				.andExpect(jsonPath("$.message").value("No products found"));
 	}
 
+	List<String> scroll(String uri) throws Exception {
+		List<String> skus = new ArrayList<>();
+		String token = "";
+		boolean last = false;
+		while (!last) {
+			String body = mockMvc.perform(MockMvcRequestBuilders.get(uri)
+							.param("size", "2")
+							.param("token", token)
+							.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.totalElements").doesNotExist())
+					.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			JsonNode page = objectMapper.readTree(body);
+			page.get("content").forEach(product -> skus.add(product.get("sku").asText()));
+			last = page.get("last").asBoolean();
+			token = page.path("next").asText(null);
+			assertEquals(last, token == null);
+		}
+		return skus;
+	}
+
+	List<String> createProducts(int count) {
+		List<String> skus = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Product product = EntityMock.product();
+			product.setTitle(product.getTitle() + " " + i);
+			product.setSku(product.getSku() + "-" + i);
+			skus.add(productRepository.save(product).getSku());
+		}
+		return skus;
+	}
+
+	@Test
+	void testFindAllProductsKeysetSuccess() throws Exception {
+		List<String> skus = createProducts(5);
+
+		assertEquals(skus, scroll("/api/v1/products"));
+	}
+
+	@Test
+	void testFindProductsByDateKeysetSuccess() throws Exception {
+		List<String> skus = createProducts(5);
+
+		assertEquals(skus, scroll("/api/v1/products/date?afterDate=" + LocalDate.now().minusDays(1)));
+	}
+
+	@Test
+	void testFindAllProductsWithoutCount() throws Exception {
+		List<String> skus = createProducts(5);
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products")
+						.param("count", "false")
+						.param("page", "1")
+						.param("size", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].sku").value(skus.get(2)))
+				.andExpect(jsonPath("$.content[1].sku").value(skus.get(3)))
+				.andExpect(jsonPath("$.last").value(false))
+				.andExpect(jsonPath("$.totalElements").doesNotExist());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products")
+						.param("count", "false")
+						.param("page", "2")
+						.param("size", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].sku").value(skus.get(4)))
+				.andExpect(jsonPath("$.last").value(true));
+	}
+
+	@Test
+	void testFindAllProductsInvalidToken() throws Exception {
+		createClient();
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products")
+						.param("token", "not-a-token")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid continuation token"));
+	}
+
 	@Test
 	void testFindProductsByTitleSuccess() throws Exception {
 		createClient();
@@ -192,6 +334,28 @@ class ProductsIntegrationTests {
 				.andExpect(jsonPath("$.message").value("Product not found by sku"));
 	}
 
+	@Test
+	void testFindProductsBySkusSuccess() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/sku/batch")
+						.param("skus", "MOUSE-2024-WL-0010", "UNKNOWN-SKU")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.found[0].sku").value("MOUSE-2024-WL-0010"))
+				.andExpect(jsonPath("$.missing[0]").value("UNKNOWN-SKU"));
+	}
+
+	@Test
+	void testSearchProductsBySkusSuccess() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/products/sku/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(List.of("MOUSE-2024-WL-0010", "UNKNOWN-SKU"))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.found.length()").value(1))
+				.andExpect(jsonPath("$.missing[0]").value("UNKNOWN-SKU"));
+	}
+
 	@Test
 	void testFindAllActivedSuccess() throws Exception {
 		createClient();
@@ -385,6 +549,25 @@ class ProductsIntegrationTests {
 				.andExpect(jsonPath("$.message").value("Product not found by sku"));
 	}
 
+	@Test
+	void testStockReleaseAppliedOnce() {
+		createClient();
+		StockReleaseDto dto = new StockReleaseDto(1L, "MOUSE-2024-WL-0010", 3);
+
+		stockReleaseListener.consumer(dto);
+		stockReleaseListener.consumer(dto);
+
+		assertEquals(13, productRepository.findBySku("MOUSE-2024-WL-0010").orElseThrow().getQuantity());
+		assertTrue(stockReleaseRepository.existsById(1L));
+	}
+
+	@Test
+	void testStockReleaseProductNotFound() {
+		stockReleaseListener.consumer(new StockReleaseDto(2L, "MOUSE-2024-WL-0010", 3));
+
+		assertFalse(stockReleaseRepository.existsById(2L));
+	}
+
 	@Test
 	void testSubProductBySkuSuccess() throws Exception {
 		createClient();
@@ -394,6 +577,51 @@ class ProductsIntegrationTests {
 				.andExpect(jsonPath("$").value("updated quantity for: 9"));
 	}
 
+	@Test
+	void testSubProductBySkuToZeroDisablesProduct() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/products/sku/MOUSE-2024-WL-0010/sub/10")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$").value("updated quantity for: 0"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/sku/MOUSE-2024-WL-0010")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.status").value(false));
+
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/products/sku/MOUSE-2024-WL-0010/add/1")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/sku/MOUSE-2024-WL-0010")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.status").value(true));
+	}
+
+	@Test
+	void testSubProductBySkuConcurrentDecrementsDoNotOversell() throws Exception {
+		createClient();
+		AtomicInteger accepted = new AtomicInteger();
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 15; i++) {
+				futures.add(executor.submit(() -> {
+					try {
+						productService.sub("MOUSE-2024-WL-0010", 1);
+						accepted.incrementAndGet();
+					} catch (InvalidQuantityException ignored) {
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+
+		assertEquals(10, accepted.get());
+		assertEquals(0, productRepository.findBySku("MOUSE-2024-WL-0010").orElseThrow().getQuantity());
+	}
+
 	@Test
 	void testSubProductBySkuInvalidQuantityException() throws Exception {
 		createClient();
@@ -435,4 +663,89 @@ class ProductsIntegrationTests {
 				.andExpect(status().isNotFound())
 				.andExpect(jsonPath("$.message").value("Product not found by sku"));
 	}
+
+	@Test
+	void testReserveProductSuccess() throws Exception {
+		String id = createReservedProduct("RSV-RESERVE");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/reservations/available/RSV-RESERVE")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$").value(6));
+
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/products/sku/RSV-RESERVE/sub/7")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("The quantity of available products is 6"));
+
+		reservationLedger.flush();
+		assertEquals(4, reservationRepository.findById(id).orElseThrow().getQuantity());
+	}
+
+	@Test
+	void testReserveProductInvalidQuantityAvailableException() throws Exception {
+		createClient();
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/products/reservations")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new ReservationCreateDto("MOUSE-2024-WL-0010", 11, null))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("The quantity of available products is 10"));
+	}
+
+	@Test
+	void testReserveProductEntityNotFoundException() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/products/reservations")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new ReservationCreateDto("MOUSE-2024-WL-0010", 1, null))))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("Product not found by sku"));
+	}
+
+	@Test
+	void testCommitReservationSuccess() throws Exception {
+		String id = createReservedProduct("RSV-COMMIT");
+
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/products/reservations/" + id + "/commit")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("COMMITTED"));
+
+		assertEquals(6, productRepository.findBySku("RSV-COMMIT").orElseThrow().getQuantity());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/reservations/available/RSV-COMMIT")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$").value(6));
+
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/products/reservations/" + id + "/commit")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.message").value("Reservation is COMMITTED"));
+	}
+
+	@Test
+	void testReleaseReservationSuccess() throws Exception {
+		String id = createReservedProduct("RSV-RELEASE");
+
+		mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/products/reservations/" + id + "/release")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("RELEASED"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/reservations/available/RSV-RELEASE")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$").value(10));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/reservations/" + id)
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("RELEASED"));
+	}
+
+	@Test
+	void testFindReservationEntityNotFoundException() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/reservations/unknown")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("Reservation not found"));
+	}
 }
@@ -64,6 +64,7 @@ public class EntityMock {
         Pageable pageable = PageRequest.of(0, 10);
         List<ProductDtoPagination> content = List.of(
                 new ProductDtoPagination() {
+                    public Long getId() { return 1L; }
                     public String getTitle() { return "Wireless MouseS"; }
                     public String getDescription() { return "A high precision wireless m"; }
                     public Double getPrice() { return 29.99; }
@@ -79,6 +80,7 @@ public class EntityMock {
     public static PageableDto pageableDto() {
         List<ProductDtoPagination> content = List.of(
                 new ProductDtoPagination() {
+                    public Long getId() { return 1L; }
                     public String getTitle() { return "Wireless MouseS"; }
                     public String getDescription() { return "A high precision wireless m"; }
                     public Double getPrice() { return 29.99; }
@@ -0,0 +1,168 @@
+package com.esand.products.service;
+
+import com.esand.products.entity.EntityMock;
+import com.esand.products.entity.Product;
+import com.esand.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(productSearchIndex, "enabled", true);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Wireless MouseS", "Mach Supplies Inc.", "A high precision wireless mouse", "MOUSE-01"),
+                product(2L, "Gaming Keyboard", "Logitech", "Mechanical keyboard with wireless receiver", "KEYBOARD-01"),
+                product(3L, "Office Mouse", "Wireless Co.", "Wired mouse for daily work", "MOUSE-02")
+        ));
+        productSearchIndex.rebuild();
+    }
+
+    private Product product(Long id, String title, String supplier, String description, String sku) {
+        Product product = EntityMock.product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setSupplier(supplier);
+        product.setDescription(description);
+        product.setSku(sku);
+        return product;
+    }
+
+    @Test
+    void testRebuild() {
+        assertTrue(productSearchIndex.isReady());
+        assertEquals(List.of(1L, 3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+    }
+
+    @Test
+    void testRebuildDisabled() {
+        ProductSearchIndex disabled = new ProductSearchIndex(productRepository);
+
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+    }
+
+    @Test
+    void testFindSubstringIgnoringCase() {
+        assertEquals(List.of(1L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "LESS MOU"));
+        assertEquals(List.of(2L), productSearchIndex.find(ProductSearchIndex.Field.SUPPLIER, "gitec"));
+        assertEquals(List.of(1L, 2L), productSearchIndex.find(ProductSearchIndex.Field.DESCRIPTION, "wireless"));
+    }
+
+    @Test
+    void testFindShortTerm() {
+        assertEquals(List.of(1L, 3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "ou"));
+    }
+
+    @Test
+    void testFindTrigramsOutOfOrder() {
+        assertTrue(productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouseless").isEmpty());
+    }
+
+    @Test
+    void testFindNoMatch() {
+        assertTrue(productSearchIndex.find(ProductSearchIndex.Field.TITLE, "monitor").isEmpty());
+    }
+
+    @Test
+    void testSearchRanksTitleAboveSupplierAndDescription() {
+        assertEquals(List.of(1L, 3L, 2L), productSearchIndex.search("wireless"));
+    }
+
+    @Test
+    void testSearchMultipleWords() {
+        assertEquals(1L, productSearchIndex.search("wireless mouse").get(0));
+    }
+
+    @Test
+    void testSearchMisspelledWord() {
+        assertEquals(List.of(2L), productSearchIndex.search("keyborad"));
+    }
+
+    @Test
+    void testSearchNoMatch() {
+        assertTrue(productSearchIndex.search("monitor").isEmpty());
+        assertTrue(productSearchIndex.search("  ").isEmpty());
+    }
+
+    @Test
+    void testIndexUpdatesProduct() {
+        productSearchIndex.index(product(3L, "Office Monitor", "Wireless Co.", "Wide screen", "SCREEN-01"));
+
+        assertEquals(List.of(1L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+        assertEquals(List.of(3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "monitor"));
+        assertTrue(productSearchIndex.find(ProductSearchIndex.Field.DESCRIPTION, "daily").isEmpty());
+    }
+
+    @Test
+    void testIndexNewProduct() {
+        productSearchIndex.index(product(4L, "Bluetooth Headphones", null, null, "HEADPHONE-01"));
+
+        assertEquals(List.of(4L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "headphone"));
+        assertTrue(productSearchIndex.find(ProductSearchIndex.Field.SUPPLIER, "headphone").isEmpty());
+    }
+
+    @Test
+    void testRemoveBySku() {
+        productSearchIndex.remove("MOUSE-01");
+
+        assertEquals(List.of(3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+        assertEquals(List.of(2L), productSearchIndex.find(ProductSearchIndex.Field.DESCRIPTION, "wireless"));
+    }
+
+    @Test
+    void testRemoveUnknownSku() {
+        productSearchIndex.remove("UNKNOWN");
+
+        assertEquals(List.of(1L, 3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+    }
+
+    @Test
+    void testRefreshIndexesStoredProduct() {
+        when(productRepository.findBySku("MOUSE-02")).thenReturn(Optional.of(
+                product(3L, "Office Monitor", "Wireless Co.", null, "MOUSE-02")
+        ));
+
+        productSearchIndex.refresh("MOUSE-02");
+
+        assertEquals(List.of(1L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+        assertEquals(List.of(3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "monitor"));
+    }
+
+    @Test
+    void testRefreshRemovesMissingProduct() {
+        when(productRepository.findBySku("MOUSE-01")).thenReturn(Optional.empty());
+
+        productSearchIndex.refresh("MOUSE-01");
+
+        assertEquals(List.of(3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+    }
+
+    @Test
+    void testDisabledIgnoresWrites() {
+        ReflectionTestUtils.setField(productSearchIndex, "enabled", false);
+
+        productSearchIndex.remove("MOUSE-01");
+
+        assertEquals(List.of(1L, 3L), productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse"));
+    }
+}
@@ -6,6 +6,7 @@ import com.esand.products.exception.*;
 import com.esand.products.repository.ProductRepository;
 import com.esand.products.repository.pagination.ProductDtoPagination;
 import com.esand.products.web.dto.PageableDto;
+import com.esand.products.web.dto.ProductBatchResponseDto;
 import com.esand.products.web.dto.ProductCreateDto;
 import com.esand.products.web.dto.ProductResponseDto;
 import com.esand.products.web.dto.ProductUpdateDto;
@@ -18,15 +19,22 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.IntConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ProductServiceTest {
@@ -37,12 +45,25 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @Mock
+    private ReservationLedger reservationLedger;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private ProductService productService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.<IntConsumer>getArgument(1).accept(0);
+            return null;
+        }).when(reservationLedger).consume(any(String.class), any(IntConsumer.class));
     }
 
     @Test
@@ -65,6 +86,7 @@ class ProductServiceTest {
         assertEquals(10, response.getQuantity());
         assertEquals("MOUSE-2024-WL-0010", response.getSku());
         assertTrue(response.getStatus());
+        verify(productSearchIndex).index(product);
     }
 
     @Test
@@ -93,7 +115,7 @@ class ProductServiceTest {
         when(productRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findAll(page.getPageable());
+        PageableDto response = productService.findAll(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -109,7 +131,7 @@ class ProductServiceTest {
         when(productRepository.findAllPageable(any(Pageable.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findAll(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> productService.findAll(page.getPageable(), null, true));
     }
 
     @Test
@@ -120,7 +142,7 @@ class ProductServiceTest {
         when(productRepository.findByTitleIgnoreCaseContaining(any(Pageable.class), any(String.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findByTitle(page.getPageable(), "Wireless MouseS");
+        PageableDto response = productService.findByTitle(page.getPageable(), "Wireless MouseS", null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -136,7 +158,7 @@ class ProductServiceTest {
         when(productRepository.findByTitleIgnoreCaseContaining(any(Pageable.class), any(String.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findByTitle(page.getPageable(), "Wireless MouseS"));
+        assertThrows(EntityNotFoundException.class, () -> productService.findByTitle(page.getPageable(), "Wireless MouseS", null, true));
     }
 
     @Test
@@ -147,7 +169,7 @@ class ProductServiceTest {
         when(productRepository.findBySupplierIgnoreCaseContaining(any(Pageable.class), any(String.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findBySupplier(page.getPageable(), "Wireless MouseS");
+        PageableDto response = productService.findBySupplier(page.getPageable(), "Wireless MouseS", null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -163,7 +185,71 @@ class ProductServiceTest {
         when(productRepository.findBySupplierIgnoreCaseContaining(any(Pageable.class), any(String.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findBySupplier(page.getPageable(), "Wireless MouseS"));
+        assertThrows(EntityNotFoundException.class, () -> productService.findBySupplier(page.getPageable(), "Wireless MouseS", null, true));
+    }
+
+    @Test
+    void testFindByTitleFromIndex() {
+        ProductDtoPagination product = EntityMock.page().getContent().get(0);
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.find(ProductSearchIndex.Field.TITLE, "mouse")).thenReturn(List.of(1L));
+        when(productRepository.findByIdIn(List.of(1L))).thenReturn(List.of(product));
+        when(productMapper.toPageableDto(any(Page.class))).thenReturn(EntityMock.pageableDto());
+
+        PageableDto response = productService.findByTitle(PageRequest.of(0, 10), "mouse", null, true);
+
+        assertEquals(1, response.getContent().size());
+        verify(productRepository, never()).findByTitleIgnoreCaseContaining(any(Pageable.class), any(String.class));
+    }
+
+    @Test
+    void testFindBySupplierFromIndexWithToken() {
+        ProductDtoPagination product = EntityMock.page().getContent().get(0);
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.find(ProductSearchIndex.Field.SUPPLIER, "mach")).thenReturn(List.of(1L, 2L));
+        when(productRepository.findByIdIn(List.of(1L))).thenReturn(List.of(product));
+        when(productMapper.toPageableDto(any(Window.class), eq(1), eq(true))).thenCallRealMethod();
+
+        PageableDto response = productService.findBySupplier(PageRequest.of(0, 1), "mach", "", true);
+
+        assertEquals(1, response.getContent().size());
+        assertNotNull(response.getNext());
+        assertFalse(response.isLast());
+    }
+
+    @Test
+    void testFindByTitleSortedSkipsIndex() {
+        Page<ProductDtoPagination> page = EntityMock.page();
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productRepository.findByTitleIgnoreCaseContaining(any(Pageable.class), any(String.class))).thenReturn(page);
+        when(productMapper.toPageableDto(any(Page.class))).thenReturn(EntityMock.pageableDto());
+
+        productService.findByTitle(PageRequest.of(0, 10, Sort.by("price")), "mouse", null, true);
+
+        verify(productSearchIndex, never()).find(any(ProductSearchIndex.Field.class), any(String.class));
+    }
+
+    @Test
+    void testSearchSuccess() {
+        ProductDtoPagination product = EntityMock.page().getContent().get(0);
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("wireless mouse")).thenReturn(List.of(1L));
+        when(productRepository.findByIdIn(List.of(1L))).thenReturn(List.of(product));
+        when(productMapper.toPageableDto(any(Page.class))).thenReturn(EntityMock.pageableDto());
+
+        PageableDto response = productService.search(PageRequest.of(0, 10), "wireless mouse");
+
+        assertEquals(1, response.getContent().size());
+    }
+
+    @Test
+    void testSearchEntityNotFoundException() {
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("monitor")).thenReturn(List.of());
+        when(productMapper.toPageableDto(any(Page.class))).thenReturn(EntityMock.pageableDtoEmpty());
+
+        assertThrows(EntityNotFoundException.class, () -> productService.search(PageRequest.of(0, 10), "monitor"));
+        verify(productRepository, never()).findByIdIn(any());
     }
 
     @Test
@@ -174,7 +260,7 @@ class ProductServiceTest {
         when(productRepository.findByCategory(any(Pageable.class), any(Product.Category.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findByCategory(page.getPageable(), "MOUSES");
+        PageableDto response = productService.findByCategory(page.getPageable(), "MOUSES", null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -190,7 +276,7 @@ class ProductServiceTest {
         when(productRepository.findByCategory(any(Pageable.class), any(Product.Category.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findByCategory(page.getPageable(), "MOUSES"));
+        assertThrows(EntityNotFoundException.class, () -> productService.findByCategory(page.getPageable(), "MOUSES", null, true));
     }
 
     @Test
@@ -199,7 +285,7 @@ class ProductServiceTest {
 
         when(productRepository.findByCategory(any(Pageable.class), any(Product.Category.class))).thenThrow(InvalidCategoryException.class);
 
-        assertThrows(InvalidCategoryException.class, () -> productService.findByCategory(pageable, "MOUSE"));
+        assertThrows(InvalidCategoryException.class, () -> productService.findByCategory(pageable, "MOUSE", null, true));
     }
 
     @Test
@@ -229,6 +315,27 @@ class ProductServiceTest {
         assertThrows(EntityNotFoundException.class, () -> productService.findBySku("MOUSE-2024-WL-0010"));
     }
 
+    @Test
+    void testFindBySkusSuccess() {
+        when(productRepository.findBySkuIn(any())).thenReturn(List.of(EntityMock.product()));
+        when(productMapper.toDto(any(Product.class))).thenReturn(EntityMock.productResponseDto());
+
+        ProductBatchResponseDto response = productService.findBySkus(List.of("MOUSE-2024-WL-0010", "UNKNOWN-SKU", "MOUSE-2024-WL-0010"));
+
+        assertEquals(1, response.getFound().size());
+        assertEquals("MOUSE-2024-WL-0010", response.getFound().get(0).getSku());
+        assertEquals(List.of("UNKNOWN-SKU"), response.getMissing());
+    }
+
+    @Test
+    void testFindBySkusEmpty() {
+        ProductBatchResponseDto response = productService.findBySkus(List.of());
+
+        assertTrue(response.getFound().isEmpty());
+        assertTrue(response.getMissing().isEmpty());
+        verify(productRepository, never()).findBySkuIn(any());
+    }
+
     @Test
     void testFindAllActivedSuccess() {
         Page<ProductDtoPagination> page = EntityMock.page();
@@ -237,7 +344,7 @@ class ProductServiceTest {
         when(productRepository.findAllByStatus(any(Pageable.class), eq(true))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findAllActived(page.getPageable());
+        PageableDto response = productService.findAllActived(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -253,7 +360,7 @@ class ProductServiceTest {
         when(productRepository.findAllByStatus(any(Pageable.class), eq(true))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findAllActived(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> productService.findAllActived(page.getPageable(), null, true));
     }
 
     @Test
@@ -264,7 +371,7 @@ class ProductServiceTest {
         when(productRepository.findAllByStatus(any(Pageable.class), eq(false))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findAllDisabled(page.getPageable());
+        PageableDto response = productService.findAllDisabled(page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -280,7 +387,7 @@ class ProductServiceTest {
         when(productRepository.findAllByStatus(any(Pageable.class), eq(false))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findAllDisabled(page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> productService.findAllDisabled(page.getPageable(), null, true));
     }
 
     @Test
@@ -291,7 +398,7 @@ class ProductServiceTest {
         when(productRepository.findByCreateDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findProductsByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = productService.findProductsByDate(LocalDate.now().minusDays(1).toString(), LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -307,7 +414,7 @@ class ProductServiceTest {
         when(productRepository.findByCreateDateAfter(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findProductsByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable());
+        PageableDto response = productService.findProductsByDate(LocalDate.now().minusDays(1).toString(), null, page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -323,7 +430,7 @@ class ProductServiceTest {
         when(productRepository.findByCreateDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        PageableDto response = productService.findProductsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable());
+        PageableDto response = productService.findProductsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true);
 
         assertNotNull(response);
         assertNotNull(response.getContent());
@@ -335,7 +442,7 @@ class ProductServiceTest {
     void testFindProductsByDateNoDateParametersProvided() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findProductsByDate(null, null, pageable));
+        assertThrows(EntityNotFoundException.class, () -> productService.findProductsByDate(null, null, pageable, null, true));
     }
 
     @Test
@@ -346,7 +453,7 @@ class ProductServiceTest {
         when(productRepository.findByCreateDateBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
         when(productMapper.toPageableDto(any(Page.class))).thenReturn(pageableDto);
 
-        assertThrows(EntityNotFoundException.class, () -> productService.findProductsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable()));
+        assertThrows(EntityNotFoundException.class, () -> productService.findProductsByDate(null, LocalDate.now().plusDays(1).toString(), page.getPageable(), null, true));
     }
 
     @Test
@@ -394,18 +501,21 @@ class ProductServiceTest {
     @Test
     void testAddProductBySkuSuccess() {
         Product product = EntityMock.product();
+        product.setQuantity(11);
 
+        when(productRepository.increaseQuantity("MOUSE-2024-WL-0010", 1)).thenReturn(1);
         when(productRepository.findBySku(any(String.class))).thenReturn(Optional.of(product));
 
         String response = productService.add("MOUSE-2024-WL-0010", 1);
 
         assertNotNull(response);
         assertEquals("11", response);
+        verify(productRepository).increaseQuantity("MOUSE-2024-WL-0010", 1);
     }
 
     @Test
     void testAddProductBySkuEntityNotFoundException() {
-        when(productRepository.findBySku(any(String.class))).thenReturn(Optional.empty());
+        when(productRepository.increaseQuantity(any(String.class), any(Integer.class))).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> productService.add("MOUSE-2024-WL-0010", 1));
     }
@@ -422,18 +532,24 @@ class ProductServiceTest {
     @Test
     void testSubProductBySkuSuccess() {
         Product product = EntityMock.product();
+        product.setQuantity(9);
 
+        when(productRepository.decreaseQuantity("MOUSE-2024-WL-0010", 1, 0)).thenReturn(1);
         when(productRepository.findBySku(any(String.class))).thenReturn(Optional.of(product));
 
         String response = productService.sub("MOUSE-2024-WL-0010", 1);
 
         assertNotNull(response);
         assertEquals("9", response);
+        verify(productRepository).decreaseQuantity("MOUSE-2024-WL-0010", 1, 0);
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productEventPublisher).publish(product);
     }
 
     @Test
     void testSubProductBySkuEntityNotFoundException() {
-        when(productRepository.findBySku(any(String.class))).thenReturn(Optional.empty());
+        when(productRepository.decreaseQuantity(any(String.class), any(Integer.class), eq(0))).thenReturn(0);
+        when(productRepository.findQuantityBySku(any(String.class))).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> productService.sub("MOUSE-2024-WL-0010", 1));
     }
@@ -449,11 +565,26 @@ class ProductServiceTest {
 
     @Test
     void testSubProductBySkuInvalidQuantityAvailableException() {
-        Product product = EntityMock.product();
+        when(productRepository.decreaseQuantity(any(String.class), any(Integer.class), eq(0))).thenReturn(0);
+        when(productRepository.findQuantityBySku(any(String.class))).thenReturn(Optional.of(10));
 
-        when(productRepository.findBySku(any(String.class))).thenReturn(Optional.of(product));
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class, () -> productService.sub("MOUSE-2024-WL-0010", 11));
+        assertEquals("The quantity of available products is 10", exception.getMessage());
+        verify(productEventPublisher, never()).publish(any(Product.class));
+    }
 
-        assertThrows(InvalidQuantityException.class, () -> productService.sub("MOUSE-2024-WL-0010", 11));
+    @Test
+    void testSubProductBySkuReservedQuantityException() {
+        doAnswer(invocation -> {
+            invocation.<IntConsumer>getArgument(1).accept(4);
+            return null;
+        }).when(reservationLedger).consume(any(String.class), any(IntConsumer.class));
+        when(productRepository.decreaseQuantity("MOUSE-2024-WL-0010", 7, 4)).thenReturn(0);
+        when(productRepository.findQuantityBySku(any(String.class))).thenReturn(Optional.of(10));
+
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class, () -> productService.sub("MOUSE-2024-WL-0010", 7));
+        assertEquals("The quantity of available products is 6", exception.getMessage());
+        verify(productEventPublisher, never()).publish(any(Product.class));
     }
 
     @Test
@@ -461,6 +592,9 @@ class ProductServiceTest {
         when(productRepository.existsBySku(any(String.class))).thenReturn(true);
 
         productService.deleteBySku("MOUSE-2024-WL-0010");
+
+        verify(productEventPublisher).publishDeleted("MOUSE-2024-WL-0010");
+        verify(productSearchIndex).remove("MOUSE-2024-WL-0010");
     }
 
     @Test
@@ -0,0 +1,262 @@
+package com.esand.products.service;
+
+import com.esand.products.entity.Reservation;
+import com.esand.products.exception.EntityNotFoundException;
+import com.esand.products.exception.InvalidQuantityException;
+import com.esand.products.exception.InvalidReservationStatusException;
+import com.esand.products.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationLedgerTest {
+
+    private static final String SKU = "MOUSE-2024-WL-0010";
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @InjectMocks
+    private ReservationLedger reservationLedger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationLedger.shutdown();
+    }
+
+    @Test
+    void testReserveSuccess() {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+
+        assertNotNull(reservation.getId());
+        assertEquals(Reservation.Status.RESERVED, reservation.getStatus());
+        assertEquals(4, reservationLedger.reserved(SKU));
+    }
+
+    @Test
+    void testReserveInvalidQuantityAvailableException() {
+        reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+
+        InvalidQuantityException exception = assertThrows(InvalidQuantityException.class,
+                () -> reservationLedger.reserve(SKU, 7, TTL, () -> 10));
+        assertEquals("The quantity of available products is 6", exception.getMessage());
+        assertEquals(4, reservationLedger.reserved(SKU));
+    }
+
+    @Test
+    void testConcurrentReservationsDoNotOversell() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 15; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        reservationLedger.reserve(SKU, 1, TTL, () -> 10);
+                        accepted.incrementAndGet();
+                    } catch (InvalidQuantityException ignored) {
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(10, accepted.get());
+        assertEquals(10, reservationLedger.reserved(SKU));
+    }
+
+    @Test
+    void testCommitSuccess() {
+        reservationLedger.reserve(SKU, 3, TTL, () -> 10);
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+        AtomicInteger othersReserved = new AtomicInteger(-1);
+
+        Reservation committed = reservationLedger.commit(reservation.getId(), (held, reserved) -> othersReserved.set(reserved));
+
+        assertEquals(Reservation.Status.COMMITTED, committed.getStatus());
+        assertEquals(3, othersReserved.get());
+        assertEquals(3, reservationLedger.reserved(SKU));
+    }
+
+    @Test
+    void testCommitFailedWriteKeepsReservation() {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+
+        assertThrows(InvalidQuantityException.class, () -> reservationLedger.commit(reservation.getId(), (held, reserved) -> {
+            throw new InvalidQuantityException("The quantity of available products is 0");
+        }));
+        assertEquals(Reservation.Status.RESERVED, reservationLedger.findById(reservation.getId()).getStatus());
+        assertEquals(4, reservationLedger.reserved(SKU));
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    @Test
+    void testCommitHoldsUnitsUntilTransactionCommits() throws Exception {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Reservation committed = reservationLedger.commit(reservation.getId(), (held, reserved) -> { });
+
+            assertEquals(Reservation.Status.COMMITTED, committed.getStatus());
+            assertEquals(4, reservationLedger.reserved(SKU));
+            Future<Integer> concurrent = executor.submit(() -> reservationLedger.reserved(SKU));
+            assertThrows(TimeoutException.class, () -> concurrent.get(100, TimeUnit.MILLISECONDS));
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            assertEquals(0, concurrent.get(1, TimeUnit.SECONDS));
+            assertEquals(Reservation.Status.COMMITTED, reservationLedger.findById(reservation.getId()).getStatus());
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCommitRolledBackKeepsReservation() {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reservationLedger.commit(reservation.getId(), (held, reserved) -> { });
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        assertEquals(Reservation.Status.RESERVED, reservationLedger.findById(reservation.getId()).getStatus());
+        assertEquals(4, reservationLedger.reserved(SKU));
+    }
+
+    @Test
+    void testConsumeHoldsLockUntilTransactionCompletes() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reservationLedger.consume(SKU, reserved -> { });
+
+            Future<Reservation> concurrent = executor.submit(() -> reservationLedger.reserve(SKU, 4, TTL, () -> 10));
+            assertThrows(TimeoutException.class, () -> concurrent.get(100, TimeUnit.MILLISECONDS));
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            assertEquals(Reservation.Status.RESERVED, concurrent.get(1, TimeUnit.SECONDS).getStatus());
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testReleaseSuccess() {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+
+        Reservation released = reservationLedger.release(reservation.getId());
+
+        assertEquals(Reservation.Status.RELEASED, released.getStatus());
+        assertEquals(0, reservationLedger.reserved(SKU));
+        assertThrows(InvalidReservationStatusException.class, () -> reservationLedger.release(reservation.getId()));
+    }
+
+    @Test
+    void testReleaseEntityNotFoundException() {
+        when(reservationRepository.findById(any(String.class))).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> reservationLedger.release("unknown"));
+    }
+
+    @Test
+    void testReservationExpires() throws Exception {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, Duration.ofMillis(50), () -> 10);
+
+        for (int i = 0; i < 100 && reservationLedger.reserved(SKU) > 0; i++) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(0, reservationLedger.reserved(SKU));
+        assertEquals(Reservation.Status.EXPIRED, reservationLedger.findById(reservation.getId()).getStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesLatestStateOnce() {
+        Reservation reservation = reservationLedger.reserve(SKU, 4, TTL, () -> 10);
+        reservationLedger.release(reservation.getId());
+
+        reservationLedger.flush();
+
+        ArgumentCaptor<List<Reservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(Reservation.Status.RELEASED, captor.getValue().get(0).getStatus());
+        assertTrue(captor.getValue().get(0).isNew());
+    }
+
+    @Test
+    void testFlushWithoutChanges() {
+        reservationLedger.flush();
+
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testRecoverRestoresActiveReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        Reservation active = new Reservation("active", SKU, 4, Reservation.Status.RESERVED, now.plusMinutes(5), now, false);
+        Reservation stale = new Reservation("stale", SKU, 2, Reservation.Status.RESERVED, now.minusMinutes(1), now.minusMinutes(16), false);
+        when(reservationRepository.findAllByStatus(Reservation.Status.RESERVED)).thenReturn(List.of(active, stale));
+
+        reservationLedger.recover();
+
+        assertEquals(4, reservationLedger.reserved(SKU));
+        assertEquals(Reservation.Status.EXPIRED, reservationLedger.findById("stale").getStatus());
+    }
+}
@@ -0,0 +1,56 @@
+package com.esand.products.service;
+
+import com.esand.products.repository.StockReleaseRepository;
+import com.esand.products.web.dto.StockReleaseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockReleaseServiceTest {
+
+    @Mock
+    private StockReleaseRepository stockReleaseRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private StockReleaseService stockReleaseService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testReleaseSuccess() {
+        StockReleaseDto dto = new StockReleaseDto(1L, "MOUSE-2024-WL-0010", 3);
+        when(stockReleaseRepository.insertIfAbsent(eq(1L), eq("MOUSE-2024-WL-0010"), eq(3), any(LocalDateTime.class))).thenReturn(1);
+
+        assertTrue(stockReleaseService.release(dto));
+        verify(productService).add("MOUSE-2024-WL-0010", 3);
+    }
+
+    @Test
+    void testReleaseAlreadyApplied() {
+        StockReleaseDto dto = new StockReleaseDto(1L, "MOUSE-2024-WL-0010", 3);
+        when(stockReleaseRepository.insertIfAbsent(eq(1L), eq("MOUSE-2024-WL-0010"), eq(3), any(LocalDateTime.class))).thenReturn(0);
+
+        assertFalse(stockReleaseService.release(dto));
+        verify(productService, never()).add(anyString(), anyInt());
+    }
+}